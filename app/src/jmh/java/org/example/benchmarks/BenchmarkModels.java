@@ -0,0 +1,79 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.example.common.FeatureModelGenerator;
+import org.example.parsing.FeatureModelParser;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Shared fixtures of the benchmarks.
+ * <p>
+ * Models of a given size are generated deterministically, so results of
+ * different runs are comparable.
+ * </p>
+ */
+public class BenchmarkModels {
+
+    private static boolean featJARInitialized;
+
+    /**
+     * Initializes FeatJAR once per JVM.
+     */
+    public static synchronized void initializeFeatJAR() {
+        if (!featJARInitialized) {
+            FeatureModelParser.initializeFeatJAR();
+            featJARInitialized = true;
+        }
+    }
+
+    /**
+     * Writes a random feature model in FeatureIDE XML format to a temporary file,
+     * generated with the default parameters of {@link FeatureModelGenerator}.
+     *
+     * @param featureCount the number of features
+     * @param seed         the seed of the generator
+     * @return the model file, deleted on exit
+     * @throws IOException if the file cannot be written
+     */
+    public static Path createModel(int featureCount, long seed) throws IOException {
+        FeatureModelGenerator generator = new FeatureModelGenerator();
+        generator.setFeatureCount(featureCount);
+        generator.setSeed(seed);
+        Path file = Files.createTempFile("benchmark-model-" + featureCount + "-", ".xml");
+        file.toFile().deleteOnExit();
+        generator.writeXml(file);
+        return file;
+    }
+
+    /**
+     * Creates a random sample of complete configurations without checking their
+     * validity, for benchmarks that only process the configurations.
+     *
+     * @param variableMap the variables of the configurations
+     * @param size        the number of configurations
+     * @param seed        the seed of the generator
+     * @return the sample
+     */
+    public static BooleanAssignmentList createRandomSample(VariableMap variableMap, int size, long seed) {
+        Random random = new Random(seed);
+        int variableCount = variableMap.getVariableCount();
+        List<BooleanAssignment> configurations = new ArrayList<>(size);
+        for (int c = 0; c < size; c++) {
+            int[] literals = new int[variableCount];
+            for (int v = 1; v <= variableCount; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        return new BooleanAssignmentList(variableMap, configurations);
+    }
+}
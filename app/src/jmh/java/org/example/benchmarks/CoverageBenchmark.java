@@ -0,0 +1,60 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.CoverageEngine;
+import org.example.common.SamplingAlgorithm;
+import org.example.common.SamplingConfig;
+import org.example.common.SamplingProcessor;
+import org.example.common.TWiseCalculator;
+import org.example.parsing.FeatureModelParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Benchmarks of {@link TWiseCalculator#computeTWiseStatistics} with both
+ * coverage engines on a YASA sample of the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CoverageBenchmark {
+
+    @Param({ "50", "200" })
+    public int featureCount;
+
+    @Param({ "1", "2", "3" })
+    public int t;
+
+    @Param({ "FEATJAR", "PARALLEL" })
+    public CoverageEngine coverageEngine;
+
+    private BooleanAssignmentList computedCNF;
+    private BooleanAssignmentList sample;
+    private SamplingConfig samplingConfig;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkModels.initializeFeatJAR();
+        computedCNF = FeatureModelParser.computeCNF(BenchmarkModels.createModel(featureCount, 1).toString());
+        samplingConfig = new SamplingConfig(SamplingAlgorithm.YASA, t);
+        samplingConfig.setNumberOfConfigurations(1000);
+        samplingConfig.setCoverageEngine(coverageEngine);
+        sample = SamplingProcessor.process(samplingConfig, computedCNF, computedCNF.getVariableMap());
+    }
+
+    @Benchmark
+    public CoverageStatistic computeTWiseStatistics() {
+        return TWiseCalculator.computeTWiseStatistics(sample, computedCNF, samplingConfig);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.example.common.AssignmentUtils;
+import org.example.out.FeatureIdeIO;
+import org.example.parsing.FeatureModelParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.google.gson.Gson;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Benchmarks of the JSON exchange with the FeatureIDE JAR: writing the CNF and
+ * loading the resulting configurations.
+ * <p>
+ * {@link FeatureIdeIO#writeCnfJson} writes {@code cnf.json} into the working
+ * directory of the benchmark JVM.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FeatureIdeIOBenchmark {
+
+    @Param({ "100", "500" })
+    public int featureCount;
+
+    @Param({ "100", "1000" })
+    public int sampleSize;
+
+    private List<int[]> clauses;
+    private List<String> names;
+    private VariableMap variableMap;
+    private Path resultsFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkModels.initializeFeatJAR();
+        BooleanAssignmentList computedCNF = FeatureModelParser
+                .computeCNF(BenchmarkModels.createModel(featureCount, 1).toString());
+        clauses = AssignmentUtils.convertToIntArrays(computedCNF.getAll());
+        variableMap = computedCNF.getVariableMap();
+        names = variableMap.getVariableNames();
+
+        // results.json as written by the FeatureIDE JAR
+        BooleanAssignmentList sample = BenchmarkModels.createRandomSample(variableMap, sampleSize, 1);
+        resultsFile = Files.createTempFile("benchmark-results-", ".json");
+        try (Writer writer = Files.newBufferedWriter(resultsFile)) {
+            new Gson().toJson(sample.stream()
+                    .map(configuration -> new ResultEntry(configuration))
+                    .collect(Collectors.toList()), writer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(resultsFile);
+    }
+
+    @Benchmark
+    public void writeCnfJson() {
+        FeatureIdeIO.writeCnfJson(clauses, names);
+    }
+
+    @Benchmark
+    public BooleanAssignmentList loadAssignmentsFromJson() {
+        return FeatureIdeIO.loadAssignmentsFromJson(resultsFile.toString(), variableMap);
+    }
+
+    /**
+     * Entry of the FeatureIDE result format.
+     */
+    private static class ResultEntry {
+        @SuppressWarnings("unused")
+        private final int[] literals;
+
+        ResultEntry(BooleanAssignment configuration) {
+            this.literals = configuration.get();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.example.parsing.FeatureModelParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+
+/**
+ * Benchmarks of reading a feature model and transforming it into a clause
+ * list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParsingBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int featureCount;
+
+    private Path model;
+    private IFormula formula;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkModels.initializeFeatJAR();
+        model = BenchmarkModels.createModel(featureCount, 1);
+        formula = FeatureModelParser.convertXMLToFormula(model.toString());
+    }
+
+    /**
+     * XML parsing in {@link FeatureModelParser#convertXMLToFormula(String)}.
+     */
+    @Benchmark
+    public IFormula parseXml() {
+        return FeatureModelParser.convertXMLToFormula(model.toString());
+    }
+
+    /**
+     * The NNF, CNF and clause list transformations of a parsed model.
+     */
+    @Benchmark
+    public BooleanAssignmentList transformToClauseList() {
+        return Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
+    /**
+     * Parsing and transformation together, as done for every analyzed model.
+     */
+    @Benchmark
+    public BooleanAssignmentList computeCNF() {
+        return FeatureModelParser.computeCNF(model.toString());
+    }
+}
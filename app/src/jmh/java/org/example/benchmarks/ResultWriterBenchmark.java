@@ -0,0 +1,75 @@
+package org.example.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.example.common.PairwiseInteractionCounter;
+import org.example.common.SamplingAlgorithm;
+import org.example.out.ResultWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Benchmarks of the t=2 pair counting and the result report of
+ * {@link ResultWriter}, on random samples that do not need a solver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultWriterBenchmark {
+
+    @Param({ "100", "500" })
+    public int featureCount;
+
+    @Param({ "100", "1000" })
+    public int sampleSize;
+
+    private VariableMap variableMap;
+    private BooleanAssignmentList sample;
+    private CoverageStatistic statistic;
+    private File outputFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> names = IntStream.rangeClosed(1, featureCount).mapToObj(i -> "F" + i)
+                .collect(Collectors.toList());
+        variableMap = VariableMap.of(names);
+        sample = BenchmarkModels.createRandomSample(variableMap, sampleSize, 1);
+        statistic = new CoverageStatistic();
+        statistic.setNumberOfCoveredConditions(4L * featureCount * (featureCount - 1) / 2);
+        outputFile = Files.createTempFile("benchmark-result-", ".txt").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        outputFile.delete();
+    }
+
+    @Benchmark
+    public PairwiseInteractionCounter countPairs() {
+        return PairwiseInteractionCounter.of(sample);
+    }
+
+    @Benchmark
+    public boolean writeResultToFile() {
+        return ResultWriter.writeResultToFile(outputFile, new BooleanAssignment(), sample, 2,
+                SamplingAlgorithm.YASA, statistic, variableMap);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.SamplingAlgorithm;
+import org.example.common.SamplingConfig;
+import org.example.common.SamplingProcessor;
+import org.example.parsing.FeatureModelParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Benchmarks of every sampling algorithm in {@link SamplingProcessor}.
+ * <p>
+ * ICPL and CHVATAL need SPLCATool, either on the classpath or through the
+ * FeatureIDE JAR; UNIFORM needs the d-DNNF compiler of FeatJAR. Their
+ * benchmarks fail if these are not available.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SamplingBenchmark {
+
+    @Param({ "50", "200" })
+    public int featureCount;
+
+    @Param({ "YASA", "UNIFORM", "INCLING", "ICPL", "CHVATAL" })
+    public SamplingAlgorithm samplingAlgorithm;
+
+    @Param({ "2", "3" })
+    public int t;
+
+    @Param({ "1000" })
+    public int configurationLimit;
+
+    private BooleanAssignmentList computedCNF;
+    private SamplingConfig samplingConfig;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkModels.initializeFeatJAR();
+        computedCNF = FeatureModelParser.computeCNF(BenchmarkModels.createModel(featureCount, 1).toString());
+        samplingConfig = new SamplingConfig(samplingAlgorithm, t);
+        samplingConfig.setNumberOfConfigurations(configurationLimit);
+    }
+
+    @Benchmark
+    public BooleanAssignmentList sample() {
+        return SamplingProcessor.process(samplingConfig, computedCNF, computedCNF.getVariableMap());
+    }
+}
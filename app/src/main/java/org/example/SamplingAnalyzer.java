@@ -2,14 +2,34 @@ package org.example;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.example.commands.BatchExecutionCommand;
+import org.example.commands.CorpusExecutionCommand;
+import org.example.commands.CoverageExecutionCommand;
+import org.example.commands.DiffExecutionCommand;
+import org.example.commands.GenerateExecutionCommand;
 import org.example.commands.SamplingExecutionCommand;
+import org.example.commands.ServeExecutionCommand;
+import org.example.common.BudgetExceededException;
+import org.example.common.PhaseMetrics;
+import org.example.common.SampleReducer;
 import org.example.common.SamplingAlgorithm;
 import org.example.common.SamplingConfig;
 import org.example.common.SamplingProcessor;
 import org.example.common.TWiseCalculator;
+import org.example.common.TimeBudget;
 import org.example.out.ResultWriter;
+import org.example.out.SampleIO;
+import org.example.parsing.CnfCache;
 import org.example.parsing.FeatureModelParser;
 import de.featjar.analysis.sat4j.computation.ComputeCoreDeadMIG;
 import de.featjar.analysis.sat4j.twise.CoverageStatistic;
@@ -21,6 +41,8 @@ import de.featjar.formula.assignment.ComputeBooleanClauseList;
 import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.IFormula;
+import net.tascalate.concurrent.CompletableTask;
+import net.tascalate.concurrent.Promise;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 
@@ -34,6 +56,11 @@ import picocli.CommandLine.Command;
  * calculates the coverage statistics, and writes the result
  * to a file.
  * </p>
+ * <p>
+ * After the CNF is computed, the phases run as asynchronous stages that start
+ * as soon as their inputs are available, so that the core and dead features
+ * are computed concurrently with sampling and coverage.
+ * </p>
  */
 @Command(description = "Main application for sampling Analysis.")
 public class SamplingAnalyzer {
@@ -46,6 +73,20 @@ public class SamplingAnalyzer {
         public static File outputDir;
         // Flag indicating whether a CSV report should be generated
         public static boolean writeCsv = false;
+        // Directory of the CNF cache, or null if the CNF is always recomputed
+        public static File cnfCacheDir;
+        // Flag indicating whether the sampled configurations are written to the report
+        public static boolean includeSampleInReport = true;
+        // File for the sample in the binary sample format, or null if it is not saved
+        public static File sampleFile;
+        // Flag indicating whether the binary sample file is compressed
+        public static boolean compressSample = false;
+        // File for the per-phase metrics (JSON, or CSV for a .csv file), or null if they are not written
+        public static File metricsFile;
+        // Time budget of the core and dead feature computation, or null for no limit
+        public static Duration coreDeadTimeout;
+        // Flag indicating whether configurations that add no coverage are removed from the sample
+        public static boolean reduceSample = false;
 
         /**
          * Entry point of the application.
@@ -55,49 +96,284 @@ public class SamplingAnalyzer {
         public static void main(String[] args) {
                 CommandLine commandLine = new CommandLine(new SamplingAnalyzer());
                 commandLine.addSubcommand(new SamplingExecutionCommand());
+                commandLine.addSubcommand(new BatchExecutionCommand());
+                commandLine.addSubcommand(new CorpusExecutionCommand());
+                commandLine.addSubcommand(new CoverageExecutionCommand());
+                commandLine.addSubcommand(new DiffExecutionCommand());
+                commandLine.addSubcommand(new GenerateExecutionCommand());
+                commandLine.addSubcommand(new ServeExecutionCommand());
                 int exitCode = commandLine.execute(args);
 
-                // Parse feature model from XML
-                FeatureModelParser.initializeFeatJAR();
-                IFormula formula = FeatureModelParser.convertXMLToFormula(inputDir.toPath().toString());
+                // Only the process command configures the analysis below; other commands
+                // are complete once they return
+                if (exitCode != 0 || inputDir == null) {
+                        System.exit(exitCode);
+                }
 
-                // Compute CNF representation of the model
-                BooleanAssignmentList computedCNF = Computations.of(formula)
-                                .map(ComputeNNFFormula::new)
-                                .map(ComputeCNFFormula::new)
-                                .map(ComputeBooleanClauseList::new)
-                                .compute();
+                // Parse feature model from XML and compute its CNF representation, reusing a
+                // cached CNF of an unchanged model if a cache directory is configured. Every
+                // phase is measured, the metrics are written if a metrics file is configured
+                PhaseMetrics metrics = new PhaseMetrics();
+                FeatureModelParser.initializeFeatJAR();
+                BooleanAssignmentList computedCNF;
+                if (cnfCacheDir != null) {
+                        computedCNF = metrics.measure("cnf",
+                                        () -> new CnfCache(cnfCacheDir.toPath()).loadOrCompute(inputDir));
+                } else {
+                        IFormula formula = metrics.measure("parse",
+                                        () -> FeatureModelParser.convertXMLToFormula(inputDir.toPath().toString()));
+                        IFormula nnf = metrics.measure("nnf",
+                                        () -> Computations.of(formula).map(ComputeNNFFormula::new).compute());
+                        IFormula cnf = metrics.measure("cnf",
+                                        () -> Computations.of(nnf).map(ComputeCNFFormula::new).compute());
+                        computedCNF = metrics.measure("clauseList",
+                                        () -> Computations.of(cnf).map(ComputeBooleanClauseList::new).compute());
+                }
 
                 // Extract variable map
                 VariableMap variables = computedCNF.getVariableMap();
 
-                // Perform sampling using configured algorithm
-                BooleanAssignmentList sample = SamplingProcessor.process(samplingConfig, computedCNF, variables);
-                List<BooleanAssignment> assignments = sample.getAll();
+                // Phases that exceed their time budget continue with their partial result, or
+                // an empty one, and are reported as incomplete
+                List<String> incompletePhases = Collections.synchronizedList(new ArrayList<>());
+
+                // The remaining phases form a graph of asynchronous stages, each starting as
+                // soon as its inputs are available: core and dead features only depend on the
+                // CNF and are computed while sampling and coverage are running, and the sample
+                // file is written while the coverage is computed
+                ExecutorService executor = Executors.newCachedThreadPool();
+                try {
+                        Promise<BooleanAssignment> coreAndDead = CompletableTask.supplyAsync(
+                                        () -> metrics.measure("coreDead",
+                                                        () -> computeCoreDead(computedCNF, incompletePhases)),
+                                        executor);
+
+                        Promise<BooleanAssignmentList> sampled = CompletableTask.supplyAsync(
+                                        () -> metrics.measure("sampling",
+                                                        () -> computeSample(computedCNF, variables, incompletePhases)),
+                                        executor);
 
-                if (SamplingAnalyzer.writeCsv) {
+                        // Optionally remove configurations that add no t-wise coverage
+                        Promise<BooleanAssignmentList> sample = !reduceSample ? sampled
+                                        : sampled.thenApplyAsync(configurations -> metrics.measure("reduction",
+                                                        () -> reduce(configurations, computedCNF)), executor);
+
+                        Promise<Void> sampleWritten = sample.thenAcceptAsync(configurations -> {
+                                if (sampleFile != null) {
+                                        metrics.measure("sampleFile", () -> writeSampleFile(configurations));
+                                }
+                        }, executor);
+
+                        Promise<CoverageStatistic> statistic = sample.thenApplyAsync(
+                                        configurations -> metrics.measure("coverage",
+                                                        () -> computeCoverage(configurations, computedCNF,
+                                                                        incompletePhases)),
+                                        executor);
+
+                        Promise<Void> csvWritten = sample.thenAcceptBothAsync(statistic, (configurations, coverage) -> {
+                                if (writeCsv) {
+                                        metrics.measure("csvSummary",
+                                                        () -> writeCsvSummary(configurations, computedCNF, coverage));
+                                }
+                        }, executor);
+
+                        // Write results to output directory once all phases that may be incomplete
+                        // are finished; the sample is available as its coverage depends on it
+                        Promise<Void> resultWritten = statistic.thenAcceptBothAsync(coreAndDead,
+                                        (coverage, coreDead) -> metrics.measure("resultFile",
+                                                        () -> ResultWriter.writeResultToFile(outputDir,
+                                                                        coreDead, sample.getNow(null),
+                                                                        samplingConfig.getT(),
+                                                                        samplingConfig.getSamplingAlgorithm(), coverage,
+                                                                        variables, includeSampleInReport,
+                                                                        incompletePhases,
+                                                                        reduceSample ? sampled.getNow(null).size()
+                                                                                        : -1)),
+                                        executor);
+
+                        awaitStages(sampleWritten, csvWritten, resultWritten);
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                if (metricsFile != null) {
                         try {
-                                ResultWriter.writeBatchSummaries(assignments, variables, computedCNF, samplingConfig,
-                                                sample,
-                                                new File("results.csv"));
+                                ResultWriter.writeMetrics(metrics, metricsFile);
+                                System.out.println("Metrics written to: " + metricsFile.getAbsolutePath());
                         } catch (IOException e) {
                                 e.printStackTrace();
                         }
                 }
 
-                CoverageStatistic statistic = TWiseCalculator.computeTWiseStatistics(sample,
-                                computedCNF,
-                                samplingConfig);
+                // Exit code 3 marks results that are incomplete because of a time budget
+                System.exit(incompletePhases.isEmpty() ? exitCode : 3);
+        }
+
+        /**
+         * Waits for the final stages of the analysis in order and rethrows the
+         * original exception of the first stage that failed, so that e.g. a
+         * {@link BudgetExceededException} is not hidden behind the exceptions that
+         * wrap it on its way through dependent stages.
+         *
+         * @param stages the stages to wait for
+         * @throws RuntimeException the exception of the failed stage, or a
+         *                          {@link RuntimeException} wrapping a checked one
+         */
+        static void awaitStages(Future<?>... stages) {
+                try {
+                        for (Future<?> stage : stages) {
+                                stage.get();
+                        }
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Interrupted while waiting for the analysis", e);
+                } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                                        && cause.getCause() != null) {
+                                cause = cause.getCause();
+                        }
+                        if (cause instanceof RuntimeException) {
+                                throw (RuntimeException) cause;
+                        }
+                        if (cause instanceof Error) {
+                                throw (Error) cause;
+                        }
+                        throw new RuntimeException(cause);
+                }
+        }
+
+        /**
+         * Performs sampling using the configured algorithm.
+         *
+         * @param computedCNF      the CNF of the feature model
+         * @param variables        the variable map of the CNF
+         * @param incompletePhases the list to which the phase is added if it exceeds
+         *                         its time budget
+         * @return the sample, or the partial sample if the time budget is exceeded
+         */
+        private static BooleanAssignmentList computeSample(BooleanAssignmentList computedCNF, VariableMap variables,
+                        List<String> incompletePhases) {
+                BooleanAssignmentList configurations;
+                try {
+                        configurations = SamplingProcessor.process(samplingConfig, computedCNF, variables);
+                } catch (BudgetExceededException e) {
+                        configurations = e.getPartialResult();
+                        if (configurations == null) {
+                                configurations = new BooleanAssignmentList(variables, new ArrayList<>());
+                        }
+                        reportIncomplete(e, incompletePhases);
+                }
+                PhaseMetrics.addCounter("configurations", configurations != null ? configurations.size() : 0);
+                return configurations;
+        }
+
+        /**
+         * Removes the configurations that add no t-wise coverage from the sample.
+         *
+         * @param sample      the sample
+         * @param computedCNF the CNF of the feature model
+         * @return the reduced sample with the same covered interactions
+         */
+        private static BooleanAssignmentList reduce(BooleanAssignmentList sample, BooleanAssignmentList computedCNF) {
+                BooleanAssignmentList reduced = SampleReducer.reduce(sample, computedCNF, samplingConfig.getT());
+                System.out.println("Reduced sample from " + sample.size() + " to " + reduced.size()
+                                + " configurations");
+                PhaseMetrics.addCounter("configurationsBefore", sample.size());
+                PhaseMetrics.addCounter("configurationsAfter", reduced.size());
+                return reduced;
+        }
+
+        /**
+         * Writes the sample to the binary sample file.
+         *
+         * @param sample the sample
+         */
+        private static void writeSampleFile(BooleanAssignmentList sample) {
+                try {
+                        SampleIO.write(sample, sampleFile.toPath(), compressSample);
+                        System.out.println("Sample written to: " + sampleFile.getAbsolutePath());
+                } catch (IOException e) {
+                        e.printStackTrace();
+                }
+        }
+
+        /**
+         * Computes the t-wise coverage statistics of the sample.
+         *
+         * @param sample           the sample
+         * @param computedCNF      the CNF of the feature model
+         * @param incompletePhases the list to which the phase is added if it exceeds
+         *                         its time budget
+         * @return the coverage statistics, or the partial statistics if the time
+         *         budget is exceeded
+         */
+        private static CoverageStatistic computeCoverage(BooleanAssignmentList sample,
+                        BooleanAssignmentList computedCNF, List<String> incompletePhases) {
+                CoverageStatistic coverage;
+                try {
+                        coverage = TWiseCalculator.computeTWiseStatistics(sample,
+                                        computedCNF,
+                                        samplingConfig);
+                } catch (BudgetExceededException e) {
+                        coverage = e.getPartialResult();
+                        if (coverage == null) {
+                                coverage = new CoverageStatistic();
+                        }
+                        reportIncomplete(e, incompletePhases);
+                }
+                PhaseMetrics.addCounter("covered", coverage.covered());
+                PhaseMetrics.addCounter("uncovered", coverage.uncovered());
+                PhaseMetrics.addCounter("invalid", coverage.invalid());
+                return coverage;
+        }
 
-                // Compute core features
-                BooleanAssignment coreAndDead = Computations.of(computedCNF).map(ComputeCoreDeadMIG::new).compute();
+        /**
+         * Writes the CSV summaries of the sample to {@code results.csv}.
+         *
+         * @param sample      the sample
+         * @param computedCNF the CNF of the feature model
+         * @param statistic   the coverage statistics of the sample
+         */
+        private static void writeCsvSummary(BooleanAssignmentList sample, BooleanAssignmentList computedCNF,
+                        CoverageStatistic statistic) {
+                try {
+                        ResultWriter.writeBatchSummaries(sample, computedCNF, samplingConfig, statistic,
+                                        new File("results.csv"));
+                } catch (IOException e) {
+                        e.printStackTrace();
+                }
+        }
 
-                // Write results to output directory
-                ResultWriter.writeResultToFile(outputDir,
-                                coreAndDead, sample,
-                                samplingConfig.getT(),
-                                samplingConfig.getSamplingAlgorithm(), statistic, variables);
+        /**
+         * Computes the core and dead features.
+         *
+         * @param computedCNF      the CNF of the feature model
+         * @param incompletePhases the list to which the phase is added if it exceeds
+         *                         its time budget
+         * @return the core and dead features, or none if the time budget is exceeded
+         */
+        private static BooleanAssignment computeCoreDead(BooleanAssignmentList computedCNF,
+                        List<String> incompletePhases) {
+                try {
+                        return TimeBudget.compute(
+                                        Computations.of(computedCNF).map(ComputeCoreDeadMIG::new),
+                                        coreDeadTimeout, "core/dead");
+                } catch (BudgetExceededException e) {
+                        reportIncomplete(e, incompletePhases);
+                        return new BooleanAssignment();
+                }
+        }
 
-                System.exit(exitCode);
+        /**
+         * Reports a phase that exceeded its time budget.
+         *
+         * @param e                the exception of the phase
+         * @param incompletePhases the list the description of the phase is added to
+         */
+        private static void reportIncomplete(BudgetExceededException e, List<String> incompletePhases) {
+                System.err.println(e.getMessage());
+                PhaseMetrics.addCounter("incomplete", 1);
+                incompletePhases.add(e.getMessage());
         }
-}
\ No newline at end of file
+}
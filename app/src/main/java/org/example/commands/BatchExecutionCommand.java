@@ -0,0 +1,166 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.BatchCell;
+import org.example.common.BatchResult;
+import org.example.common.BatchRunner;
+import org.example.common.CoverageEngine;
+import org.example.common.SamplingAlgorithm;
+import org.example.out.ResultWriter;
+import org.example.parsing.CnfCache;
+import org.example.parsing.FeatureModelParser;
+
+import de.featjar.analysis.sat4j.computation.ComputeCoreDeadMIG;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Command-line interface for running a batch experiment on one feature model.
+ * <p>
+ * Every combination of the given sampling algorithms, t-values, configuration
+ * limits and repetitions is run as a separate cell within the same JVM. The
+ * feature model is parsed and its CNF and core and dead features are computed
+ * only once. The cells run concurrently on a bounded thread pool; each cell
+ * writes its own result file, and all cells are summarized in
+ * {@code batch.csv} in the output directory.
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar batch -i input.xml -s YASA,UNIFORM -t 2,3 -c 100,1000 -r 5 -o results}</pre>
+ * </p>
+ */
+@Command(name = "batch", mixinStandardHelpOptions = true, version = "1.0", description = "Runs all combinations of sampling algorithms, t-values, configuration limits and repetitions on one feature model.")
+public class BatchExecutionCommand implements Callable<Integer> {
+
+    // Input file option
+    @Option(names = { "-i", "--input-file" }, description = "The path to the input file.", required = true)
+    private File inputFile;
+
+    // Output directory option
+    @Option(names = { "-o",
+            "--output" }, description = "Directory for the result files and batch.csv.", required = true)
+    private File outputDir;
+
+    // Sampling algorithms option
+    @Option(names = { "-s",
+            "--sampling-algorithms" }, split = ",", description = "Comma-separated sampling algorithms (YASA, UNIFORM, INCLING, ICPL, CHVATAL).", required = true)
+    private List<SamplingAlgorithm> algorithms;
+
+    // t-values option
+    @Option(names = { "-t",
+            "--t-values" }, split = ",", description = "Comma-separated t-values (default is 2).", defaultValue = "2")
+    private List<Integer> tValues;
+
+    // Configuration limits option
+    @Option(names = { "-c",
+            "--configurations" }, split = ",", description = "Comma-separated maximum numbers of configurations (default is 10000).", defaultValue = "10000")
+    private List<Integer> configurationLimits;
+
+    // Number of repetitions per combination
+    @Option(names = { "-r",
+            "--repetitions" }, description = "The number of repetitions of each combination (default is 1).", defaultValue = "1")
+    private int repetitions;
+
+    // Number of concurrently running cells
+    @Option(names = {
+            "--threads" }, description = "The maximum number of cells running at the same time (default is the number of processors).", defaultValue = "0")
+    private int threads;
+
+    // Engine used to compute the t-wise coverage statistics
+    @Option(names = {
+            "--coverage-engine" }, description = "The engine for computing t-wise coverage (FEATJAR, PARALLEL; default is FEATJAR).", defaultValue = "FEATJAR")
+    private CoverageEngine coverageEngine;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is always recomputed.")
+    private File cnfCacheDir;
+
+    // Optional flag to leave the configurations out of the result report
+    @Option(names = {
+            "--omit-sample" }, description = "If set, the configurations of the sample are not written to the result report.")
+    private boolean omitSample;
+
+    /**
+     * Executes all cells of the batch experiment and writes the consolidated
+     * results.
+     *
+     * @return exit code: {@code 0} for success, {@code 1} for failure
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (!inputFile.isFile() || !inputFile.canRead()) {
+            System.err.println(
+                    "Error: The file " + inputFile.getAbsolutePath() + " does not exist or cannot be read.");
+            return 1;
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Error: Cannot create output directory " + outputDir.getAbsolutePath());
+            return 1;
+        }
+        if (repetitions < 1) {
+            System.err.println("Error: The number of repetitions must be at least 1.");
+            return 1;
+        }
+
+        // Parse the model and compute the CNF, core and dead features once for all
+        // cells
+        FeatureModelParser.initializeFeatJAR();
+        BooleanAssignmentList computedCNF = cnfCacheDir != null
+                ? new CnfCache(cnfCacheDir.toPath()).loadOrCompute(inputFile)
+                : FeatureModelParser.computeCNF(inputFile.getPath());
+        BooleanAssignment coreAndDead = Computations.of(computedCNF).map(ComputeCoreDeadMIG::new).compute();
+
+        List<BatchCell> cells = createCells();
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        System.out.println("Running " + cells.size() + " cells on " + poolSize + " threads");
+
+        BatchRunner runner = new BatchRunner(computedCNF, coreAndDead, outputDir, coverageEngine);
+        runner.setIncludeSampleInReport(!omitSample);
+        List<BatchResult> results = runner.run(cells, poolSize);
+
+        File csvFile = new File(outputDir, "batch.csv");
+        try {
+            ResultWriter.writeBatchResults(results, csvFile);
+            System.out.println("Batch results written to: " + csvFile.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error writing batch results: " + e.getMessage());
+            return 1;
+        }
+
+        return results.stream().allMatch(BatchResult::isSuccess) ? 0 : 1;
+    }
+
+    /**
+     * Creates the cells of the experiment matrix. INCLING only supports pairwise
+     * sampling, so its cells always use t = 2 and duplicates are removed.
+     *
+     * @return the cells in the order algorithm, t, limit, repetition
+     */
+    private List<BatchCell> createCells() {
+        Set<BatchCell> cells = new LinkedHashSet<>();
+        for (SamplingAlgorithm algorithm : algorithms) {
+            for (int t : tValues) {
+                int effectiveT = algorithm == SamplingAlgorithm.INCLING ? 2 : t;
+                for (int limit : configurationLimits) {
+                    for (int repetition = 1; repetition <= repetitions; repetition++) {
+                        cells.add(new BatchCell(algorithm, effectiveT, limit, repetition));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.CorpusRunner;
+import org.example.common.CoverageEngine;
+import org.example.common.SamplingAlgorithm;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Command-line interface for analyzing a corpus of feature models.
+ * <p>
+ * Every model found in the input directory or matching the input glob pattern
+ * is analyzed like by the {@code process} command, in a separate JVM with its
+ * own memory and time limit. Several models are analyzed concurrently.
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar corpus -i models -s YASA -t 2 -o results --jobs 4 --max-heap 4g --timeout 3600}</pre>
+ * </p>
+ */
+@Command(name = "corpus", mixinStandardHelpOptions = true, version = "1.0", description = "Analyzes all feature models of a directory or glob pattern in parallel, each in its own JVM.")
+public class CorpusExecutionCommand implements Callable<Integer> {
+
+    // Input directory or glob pattern option
+    @Option(names = { "-i",
+            "--input" }, description = "A directory that is searched recursively for XML models, or a glob pattern (e.g. 'models/**/*.xml').", required = true)
+    private String input;
+
+    // Output directory option
+    @Option(names = { "-o",
+            "--output" }, description = "Directory for the per-model results and the summary index.", required = true)
+    private File outputDir;
+
+    // Sampling algorithm option
+    @Option(names = { "-s",
+            "--sampling-algorithm" }, description = "The sampling algorithm to use (YASA, UNIFORM, INCLING, ICPL, CHVATAL).", required = true)
+    private SamplingAlgorithm algorithm;
+
+    // Number of configurations to generate
+    @Option(names = { "-c",
+            "--configurations" }, description = "The maximum number of configurations (default is 10000).", defaultValue = "10000")
+    private int numberOfConfigurations;
+
+    // Optional parameter for t-value (default value: 2)
+    @Option(names = { "-t",
+            "--t-value" }, description = "The t-value for t-wise sampling (default is 2).", defaultValue = "2")
+    private int tValue;
+
+    // Optional flag to write CSV summaries
+    @Option(names = { "-csv" }, description = "If set, writes a CSV summary 'results.csv' for each model.")
+    private boolean writeCsv;
+
+    // Number of concurrently analyzed models
+    @Option(names = {
+            "--jobs" }, description = "The maximum number of models analyzed at the same time (default is 1).", defaultValue = "1")
+    private int jobs;
+
+    // Maximum heap size per model
+    @Option(names = {
+            "--max-heap" }, description = "The maximum heap size of the JVM analyzing a model, e.g. '4g'. If not provided, the JVM default is used.")
+    private String maxHeap;
+
+    // Time limit per model
+    @Option(names = {
+            "--timeout" }, description = "The time limit per model in seconds (default is 3600).", defaultValue = "3600")
+    private long timeoutSeconds;
+
+    // Engine used to compute the t-wise coverage statistics
+    @Option(names = {
+            "--coverage-engine" }, description = "The engine for computing t-wise coverage (FEATJAR, PARALLEL; default is FEATJAR).", defaultValue = "FEATJAR")
+    private CoverageEngine coverageEngine;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is always recomputed.")
+    private File cnfCacheDir;
+
+    // Optional flag to leave the configurations out of the result report
+    @Option(names = {
+            "--omit-sample" }, description = "If set, the configurations of the sample are not written to the result report.")
+    private boolean omitSample;
+
+    // Optional flag to write per-phase metrics for each model
+    @Option(names = {
+            "--metrics" }, description = "If set, writes the per-phase metrics 'metrics.json' for each model.")
+    private boolean writeMetrics;
+
+    // Optional time budgets of the phases of each model in seconds
+    @Option(names = {
+            "--sampling-timeout" }, description = "Time budget of the sampling phase of each model in seconds (default is 0, no limit).", defaultValue = "0")
+    private long samplingTimeout;
+
+    @Option(names = {
+            "--coverage-timeout" }, description = "Time budget of the coverage computation of each model in seconds (default is 0, no limit).", defaultValue = "0")
+    private long coverageTimeout;
+
+    @Option(names = {
+            "--core-dead-timeout" }, description = "Time budget of the core and dead feature computation of each model in seconds (default is 0, no limit).", defaultValue = "0")
+    private long coreDeadTimeout;
+
+    /**
+     * Analyzes all models of the corpus.
+     *
+     * @return exit code: {@code 0} if all models were analyzed successfully,
+     *         {@code 1} otherwise
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (jobs < 1 || timeoutSeconds < 1) {
+            System.err.println("Error: --jobs and --timeout must be at least 1.");
+            return 1;
+        }
+
+        List<Path> models = CorpusRunner.findModels(input);
+        if (models.isEmpty()) {
+            System.err.println("Error: No feature models found for " + input);
+            return 1;
+        }
+        System.out.println("Found " + models.size() + " feature models");
+
+        List<String> processArguments = new ArrayList<>();
+        processArguments.add("-s");
+        processArguments.add(algorithm.toString());
+        processArguments.add("-t");
+        processArguments.add(Integer.toString(tValue));
+        processArguments.add("-c");
+        processArguments.add(Integer.toString(numberOfConfigurations));
+        processArguments.add("--coverage-engine");
+        processArguments.add(coverageEngine.toString());
+        if (writeCsv) {
+            processArguments.add("-csv");
+        }
+        if (cnfCacheDir != null) {
+            processArguments.add("--cnf-cache-dir");
+            processArguments.add(cnfCacheDir.getAbsolutePath());
+        }
+        if (omitSample) {
+            processArguments.add("--omit-sample");
+        }
+        if (writeMetrics) {
+            // resolved against the directory of each model
+            processArguments.add("--metrics");
+            processArguments.add("metrics.json");
+        }
+        processArguments.add("--sampling-timeout");
+        processArguments.add(Long.toString(samplingTimeout));
+        processArguments.add("--coverage-timeout");
+        processArguments.add(Long.toString(coverageTimeout));
+        processArguments.add("--core-dead-timeout");
+        processArguments.add(Long.toString(coreDeadTimeout));
+
+        int failures = new CorpusRunner(outputDir, processArguments, maxHeap, timeoutSeconds).run(models, jobs);
+        System.out.println("Analyzed " + models.size() + " models, " + failures + " failed or incomplete");
+        System.out.println("Summary index written to: " + new File(outputDir, "index.csv").getAbsolutePath());
+        return failures == 0 ? 0 : 1;
+    }
+}
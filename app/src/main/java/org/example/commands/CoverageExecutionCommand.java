@@ -0,0 +1,140 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.ChunkedCoverage;
+import org.example.common.PairwiseInteractionCounter;
+import org.example.out.ResultWriter;
+import org.example.parsing.CnfCache;
+import org.example.parsing.FeatureModelParser;
+import org.example.parsing.SampleReader;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+/**
+ * Command-line interface for computing the t-wise coverage of existing samples.
+ * <p>
+ * The configurations of all sample files are read as one sample and streamed
+ * in bounded chunks into a {@link ChunkedCoverage}: the first chunk is
+ * evaluated with the parallel coverage engine, and every further chunk is only
+ * tested against the interactions that are still uncovered and then
+ * discarded, so the sample is never held in memory as a whole. The memory is
+ * then dominated by the uncovered interactions of the first chunk, which can
+ * be far more than the chunk itself. The report
+ * contains the coverage statistics and, for t = 2, the frequency histogram of
+ * all pairwise interactions.
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar coverage -i input.xml -f ci-configs.csv,nightly.bin -t 2 -o coverage.txt}</pre>
+ * </p>
+ */
+@Command(name = "coverage", mixinStandardHelpOptions = true, version = "1.0", description = "Computes the t-wise coverage of existing samples (CSV, JSON or binary) for a feature model.")
+public class CoverageExecutionCommand implements Callable<Integer> {
+
+    // Input file option
+    @Option(names = { "-i", "--input-file" }, description = "The path to the input file.", required = true)
+    private File inputFile;
+
+    // Sample files option
+    @Option(names = { "-f",
+            "--sample-files" }, split = ",", description = "Comma-separated sample files in CSV, JSON (FeatureIDE results) or binary sample format.", required = true)
+    private List<File> sampleFiles;
+
+    // Output file option
+    @Option(names = { "-o", "--output" }, description = "Path to the output file.", required = true)
+    private File outputFile;
+
+    // Optional parameter for t-value (default value: 2)
+    @Option(names = { "-t",
+            "--t-value" }, description = "The t-value for t-wise coverage (default is 2).", defaultValue = "2")
+    private int tValue;
+
+    // Number of threads of the coverage computation
+    @Option(names = {
+            "--threads" }, description = "The number of threads for computing the coverage (default is the number of processors).", defaultValue = "0")
+    private int threads;
+
+    // Number of configurations that are held in memory at a time
+    @Option(names = {
+            "--chunk-size" }, description = "The number of configurations that are read and evaluated at a time (default is 4096). The memory is bounded by the interactions that the first chunk leaves uncovered, not by the chunk size.", defaultValue = "4096")
+    private int chunkSize;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is always recomputed.")
+    private File cnfCacheDir;
+
+    /**
+     * Reads the samples, computes their coverage and writes the report.
+     *
+     * @return exit code: {@code 0} for success, {@code 1} for failure
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (!inputFile.isFile() || !inputFile.canRead()) {
+            System.err.println(
+                    "Error: The file " + inputFile.getAbsolutePath() + " does not exist or cannot be read.");
+            return 1;
+        }
+        for (File sampleFile : sampleFiles) {
+            if (!sampleFile.isFile() || !sampleFile.canRead()) {
+                System.err.println(
+                        "Error: The file " + sampleFile.getAbsolutePath() + " does not exist or cannot be read.");
+                return 1;
+            }
+        }
+
+        FeatureModelParser.initializeFeatJAR();
+        BooleanAssignmentList computedCNF = cnfCacheDir != null
+                ? new CnfCache(cnfCacheDir.toPath()).loadOrCompute(inputFile)
+                : FeatureModelParser.computeCNF(inputFile.getPath());
+        VariableMap variables = computedCNF.getVariableMap();
+
+        PairwiseInteractionCounter counter = null;
+        if (tValue == 2) {
+            int[] features = IntStream.rangeClosed(1, variables.getVariableCount()).toArray();
+            counter = new PairwiseInteractionCounter(features);
+        }
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        // Stream all configurations in chunks into the coverage computation
+        ChunkedCoverage sample = new ChunkedCoverage(computedCNF, tValue, parallelism, chunkSize, counter);
+        SampleReader reader = new SampleReader(variables);
+        for (File sampleFile : sampleFiles) {
+            try {
+                int count = reader.read(sampleFile.toPath(), sample::addConfiguration);
+                System.out.println("Read " + count + " configurations from " + sampleFile);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error reading sample " + sampleFile + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        if (reader.getIgnoredVariables() > 0) {
+            System.out.println(
+                    "Ignored " + reader.getIgnoredVariables() + " sample variables that are not features of the model");
+        }
+
+        CoverageStatistic statistic = sample.finish();
+
+        try {
+            ResultWriter.writeCoverageReport(outputFile, sampleFiles, sample.size(), tValue, statistic, counter,
+                    variables);
+            System.out.println("Coverage report written to: " + outputFile.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error writing coverage report: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+}
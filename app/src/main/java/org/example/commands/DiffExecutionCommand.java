@@ -0,0 +1,176 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.ModelDiff;
+import org.example.common.ParallelCoverageCalculator;
+import org.example.common.SampleMatrix;
+import org.example.common.ValidityCache;
+import org.example.out.ResultWriter;
+import org.example.parsing.CnfCache;
+import org.example.parsing.FeatureModelParser;
+import org.example.parsing.SampleReader;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Command-line interface for re-evaluating the t-wise coverage of samples after
+ * a feature model has changed.
+ * <p>
+ * The clause lists of the old and the new version of the model are compared by
+ * feature names. The validity information of the old version is taken from the
+ * {@link ValidityCache} and carried over to the new version: solutions that
+ * still satisfy all clauses prove their interactions valid, and invalid
+ * interactions stay invalid as long as no clause was removed. Only the
+ * remaining interactions, i.e. those affected by the changed variables and
+ * clauses, need solver calls. The validity information of the new version is
+ * stored in the cache for the next version.
+ * </p>
+ * <p>
+ * If the cache has no entry for the old version, the coverage of the new
+ * version is computed from scratch and its entry is created.
+ * </p>
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar diff --old-model v1.xml -i v2.xml -f sample.csv -t 2 --validity-cache-dir .validity -o diff.txt}</pre>
+ * </p>
+ */
+@Command(name = "diff", mixinStandardHelpOptions = true, version = "1.0", description = "Diffs two versions of a feature model and recomputes the t-wise coverage of samples for the new version, reusing cached validity results of the old version.")
+public class DiffExecutionCommand implements Callable<Integer> {
+
+    // Old model version option
+    @Option(names = { "--old-model" }, description = "The path to the old version of the feature model.", required = true)
+    private File oldModelFile;
+
+    // New model version option
+    @Option(names = { "-i",
+            "--input-file" }, description = "The path to the new version of the feature model.", required = true)
+    private File inputFile;
+
+    // Sample files option
+    @Option(names = { "-f",
+            "--sample-files" }, split = ",", description = "Comma-separated sample files in CSV, JSON (FeatureIDE results) or binary sample format.", required = true)
+    private List<File> sampleFiles;
+
+    // Output file option
+    @Option(names = { "-o", "--output" }, description = "Path to the output file.", required = true)
+    private File outputFile;
+
+    // Optional parameter for t-value (default value: 2)
+    @Option(names = { "-t",
+            "--t-value" }, description = "The t-value for t-wise coverage (default is 2).", defaultValue = "2")
+    private int tValue;
+
+    // Number of threads of the coverage computation
+    @Option(names = {
+            "--threads" }, description = "The number of threads for computing the coverage (default is the number of processors).", defaultValue = "0")
+    private int threads;
+
+    // Directory of the validity information of model versions
+    @Option(names = {
+            "--validity-cache-dir" }, description = "Directory for caching the validity of interactions between model versions.", required = true)
+    private File validityCacheDir;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is always recomputed.")
+    private File cnfCacheDir;
+
+    /**
+     * Diffs the model versions, computes the coverage of the samples for the new
+     * version and writes the report.
+     *
+     * @return exit code: {@code 0} for success, {@code 1} for failure
+     */
+    @Override
+    public Integer call() throws Exception {
+        for (File file : List.of(oldModelFile, inputFile)) {
+            if (!file.isFile() || !file.canRead()) {
+                System.err.println("Error: The file " + file.getAbsolutePath() + " does not exist or cannot be read.");
+                return 1;
+            }
+        }
+        for (File sampleFile : sampleFiles) {
+            if (!sampleFile.isFile() || !sampleFile.canRead()) {
+                System.err.println(
+                        "Error: The file " + sampleFile.getAbsolutePath() + " does not exist or cannot be read.");
+                return 1;
+            }
+        }
+
+        FeatureModelParser.initializeFeatJAR();
+        BooleanAssignmentList oldCNF = computeCNF(oldModelFile);
+        BooleanAssignmentList newCNF = computeCNF(inputFile);
+        VariableMap variables = newCNF.getVariableMap();
+
+        long start = System.nanoTime();
+        ModelDiff diff = ModelDiff.of(oldCNF, newCNF);
+        System.out.println("Model diff: " + diff.getAddedVariables().size() + " added and "
+                + diff.getRemovedVariables().size() + " removed variables, " + diff.getAddedClauses().size()
+                + " added and " + diff.getRemovedClauses().size() + " removed clauses");
+
+        Path cacheDir = validityCacheDir.toPath();
+        Path newCacheFile = ValidityCache.getCacheFile(cacheDir, newCNF, tValue);
+        ValidityCache cache = ValidityCache.load(newCacheFile);
+        if (cache == null) {
+            ValidityCache oldCache = ValidityCache.load(ValidityCache.getCacheFile(cacheDir, oldCNF, tValue));
+            if (oldCache != null) {
+                cache = oldCache.adapt(newCNF, diff);
+                System.out.println("Reusing " + cache.getReusedSolutions() + " solutions and "
+                        + cache.getReusedInvalidInteractions() + " invalid interactions of the old version");
+            } else {
+                System.out.println("No validity cache entry for the old version, computing from scratch.");
+                cache = new ValidityCache(variables);
+            }
+        }
+
+        // Stream all configurations into the bitset view of the sample
+        SampleMatrix sample = new SampleMatrix(variables.getVariableCount());
+        SampleReader reader = new SampleReader(variables);
+        for (File sampleFile : sampleFiles) {
+            try {
+                int count = reader.read(sampleFile.toPath(), sample::addConfiguration);
+                System.out.println("Read " + count + " configurations from " + sampleFile);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error reading sample " + sampleFile + ": " + e.getMessage());
+                return 1;
+            }
+        }
+
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int knownSolutions = cache.getSolutionCount();
+        CoverageStatistic statistic = ParallelCoverageCalculator.computeTWiseStatistics(sample, newCNF, tValue,
+                parallelism, null, cache);
+        long timeMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Coverage of the new version computed in " + timeMs + " ms with "
+                + (cache.getSolutionCount() - knownSolutions) + " new solutions");
+        cache.save(newCacheFile);
+
+        try {
+            ResultWriter.writeDiffReport(outputFile, diff, sampleFiles, sample.size(), tValue, statistic, cache,
+                    timeMs);
+            System.out.println("Diff report written to: " + outputFile.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error writing diff report: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    private BooleanAssignmentList computeCNF(File modelFile) {
+        return cnfCacheDir != null
+                ? new CnfCache(cnfCacheDir.toPath()).loadOrCompute(modelFile)
+                : FeatureModelParser.computeCNF(modelFile.getPath());
+    }
+}
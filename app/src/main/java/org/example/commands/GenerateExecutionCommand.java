@@ -0,0 +1,110 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.FeatureModelGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Command-line interface for generating random feature models.
+ * <p>
+ * One model in FeatureIDE XML format is written for every given feature count,
+ * e.g. to sweep the size of the analyzed models in scaling experiments. The
+ * models are named {@code model_n<features>_s<seed>.xml} and are reproducible
+ * from their parameters.
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar generate -n 10,100,1000,10000 --seed 1 --constraint-density 0.2 -o models}</pre>
+ * </p>
+ */
+@Command(name = "generate", mixinStandardHelpOptions = true, version = "1.0", description = "Generates random feature models in FeatureIDE XML format for scaling and stress tests.")
+public class GenerateExecutionCommand implements Callable<Integer> {
+
+    // Output directory option
+    @Option(names = { "-o", "--output" }, description = "Directory for the generated models.", required = true)
+    private File outputDir;
+
+    // Feature counts of the generated models
+    @Option(names = { "-n",
+            "--features" }, split = ",", description = "Comma-separated numbers of features; one model is generated for each (default is 100).", defaultValue = "100")
+    private List<Integer> featureCounts;
+
+    // Seed of the generator
+    @Option(names = { "--seed" }, description = "The seed of the generator (default is 1).", defaultValue = "1")
+    private long seed;
+
+    // Maximum depth of the feature tree
+    @Option(names = {
+            "--max-depth" }, description = "The maximum depth of the feature tree, the root has depth 0. If not provided, the depth is not limited.")
+    private Integer maxDepth;
+
+    // Maximum number of children per feature
+    @Option(names = {
+            "--max-children" }, description = "The maximum number of children of a feature (default is 5).", defaultValue = "5")
+    private int maxChildren;
+
+    // Fraction of or groups
+    @Option(names = {
+            "--or-groups" }, description = "The fraction of features whose children form an or group (default is 0.2).", defaultValue = "0.2")
+    private double orGroupRatio;
+
+    // Fraction of alternative groups
+    @Option(names = {
+            "--alternative-groups" }, description = "The fraction of features whose children form an alternative group (default is 0.2).", defaultValue = "0.2")
+    private double alternativeGroupRatio;
+
+    // Fraction of mandatory features in and groups
+    @Option(names = {
+            "--mandatory" }, description = "The fraction of mandatory children in and groups (default is 0.25).", defaultValue = "0.25")
+    private double mandatoryRatio;
+
+    // Number of cross-tree constraints per feature
+    @Option(names = {
+            "--constraint-density" }, description = "The number of cross-tree constraints per feature (default is 0.1).", defaultValue = "0.1")
+    private double constraintDensity;
+
+    /**
+     * Generates and writes the models.
+     *
+     * @return exit code: {@code 0} for success, {@code 1} for failure
+     */
+    @Override
+    public Integer call() throws Exception {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("Error: Could not create output directory " + outputDir.getAbsolutePath());
+            return 1;
+        }
+
+        FeatureModelGenerator generator = new FeatureModelGenerator();
+        generator.setSeed(seed);
+        if (maxDepth != null) {
+            generator.setMaxDepth(maxDepth);
+        }
+        generator.setMaxChildren(maxChildren);
+        generator.setOrGroupRatio(orGroupRatio);
+        generator.setAlternativeGroupRatio(alternativeGroupRatio);
+        generator.setMandatoryRatio(mandatoryRatio);
+        generator.setConstraintDensity(constraintDensity);
+
+        for (int featureCount : featureCounts) {
+            generator.setFeatureCount(featureCount);
+            Path file = outputDir.toPath().resolve("model_n" + featureCount + "_s" + seed + ".xml");
+            try {
+                generator.writeXml(file);
+                System.out.println("Model written to: " + file.toAbsolutePath());
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error generating model " + file + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        return 0;
+    }
+}
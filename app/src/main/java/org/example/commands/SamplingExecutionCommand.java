@@ -3,12 +3,15 @@ package org.example.commands;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import org.example.SamplingAnalyzer;
+import org.example.common.CoverageEngine;
 import org.example.common.SamplingAlgorithm;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 /**
@@ -54,6 +57,91 @@ public class SamplingExecutionCommand implements Callable<Integer> {
     @Option(names = { "-csv" }, description = "If set, writes CSV summary output to 'results.csv'.")
     private boolean writeCsv;
 
+    // Engine used to compute the t-wise coverage statistics
+    @Option(names = {
+            "--coverage-engine" }, description = "The engine for computing t-wise coverage (FEATJAR, PARALLEL; default is FEATJAR).", defaultValue = "FEATJAR")
+    private CoverageEngine coverageEngine;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is always recomputed.")
+    private File cnfCacheDir;
+
+    // Optional flag to leave the configurations out of the result report
+    @Option(names = {
+            "--omit-sample" }, description = "If set, the configurations of the sample are not written to the result report.")
+    private boolean omitSample;
+
+    // Optional file for saving the sample in the binary sample format
+    @Option(names = {
+            "--sample-file" }, description = "If provided, the sample is saved to this file in the binary sample format.")
+    private File sampleFile;
+
+    // Optional flag to compress the binary sample file
+    @Option(names = {
+            "--compress-sample" }, description = "If set, the binary sample file is compressed.")
+    private boolean compressSample;
+
+    // Optional file for the per-phase metrics
+    @Option(names = {
+            "--metrics" }, description = "If provided, the wall time, CPU time, allocated bytes and peak heap of every phase are written to this file (CSV for a .csv file, JSON otherwise).")
+    private File metricsFile;
+
+    // Optional time budget of the sampling phase in seconds
+    @Option(names = {
+            "--sampling-timeout" }, description = "Time budget of the sampling phase in seconds; YASA keeps the configurations sampled so far (default is 0, no limit).", defaultValue = "0")
+    private long samplingTimeout;
+
+    // Optional time budget of the coverage computation in seconds
+    @Option(names = {
+            "--coverage-timeout" }, description = "Time budget of the coverage computation in seconds; the parallel engine keeps the interactions classified so far (default is 0, no limit).", defaultValue = "0")
+    private long coverageTimeout;
+
+    // Optional time budget of the core and dead feature computation in seconds
+    @Option(names = {
+            "--core-dead-timeout" }, description = "Time budget of the core and dead feature computation in seconds (default is 0, no limit).", defaultValue = "0")
+    private long coreDeadTimeout;
+
+    // Optional random seed for reproducible YASA and UNIFORM runs
+    @Option(names = {
+            "--seed" }, description = "The random seed of YASA and UNIFORM sampling. If not provided, a random seed is used and printed.")
+    private Long seed;
+
+    // Number of concurrent YASA runs with different seeds
+    @Option(names = {
+            "--yasa-runs" }, description = "The number of YASA runs with different seeds executed concurrently; the smallest sample with full coverage is kept (default is 1).", defaultValue = "1")
+    private int yasaRuns;
+
+    // Optional coverage at which UNIFORM sampling stops
+    @Option(names = {
+            "--target-coverage" }, description = "UNIFORM only: draws configurations in chunks and stops as soon as this t-wise coverage (between 0 and 1, e.g. 0.95) is reached.")
+    private Double targetCoverage;
+
+    // Optional minimum coverage gain per chunk for UNIFORM sampling
+    @Option(names = {
+            "--coverage-plateau" }, description = "UNIFORM only: draws configurations in chunks and stops as soon as a chunk newly covers less than this share of the valid interactions (e.g. 0.001).")
+    private Double coveragePlateau;
+
+    // Number of configurations per chunk for UNIFORM sampling with a coverage target or plateau
+    @Option(names = {
+            "--chunk-size" }, description = "The number of configurations drawn at a time with --target-coverage or --coverage-plateau (default is 100).", defaultValue = "100")
+    private int chunkSize;
+
+    // Optional flag to remove configurations that add no t-wise coverage
+    @Option(names = {
+            "--reduce" }, description = "If set, configurations that add no t-wise coverage are removed from the sample; the covered interactions stay the same.")
+    private boolean reduceSample;
+
+    // Optional previous sample that YASA extends instead of sampling from scratch
+    @Option(names = {
+            "--initial-sample" }, description = "YASA only: a previous sample (CSV, JSON or binary sample file) whose configurations that are still valid are kept; only the missing configurations are sampled.")
+    private File initialSample;
+
+    // Sample sizes for which CSV summary rows are written
+    @Option(names = {
+            "--csv-prefixes" }, description = "Comma-separated sample sizes for the CSV summary, or 'all' for every sample size (default is 2,5,10,25,50,75,100).", defaultValue = "2,5,10,25,50,75,100")
+    private String csvPrefixes;
+
     /**
      * Executes the sampling process and initializes the {@link SamplingAnalyzer}
      * with the provided configuration.
@@ -63,8 +151,9 @@ public class SamplingExecutionCommand implements Callable<Integer> {
     @Override
     public Integer call() throws Exception {
 
-        // Construct relevant path
-        File modifiedFile = new File(System.getProperty("user.dir"), inputFile.getName());
+        // Construct relevant path; absolute paths are used as given
+        File modifiedFile = inputFile.isAbsolute() ? inputFile
+                : new File(System.getProperty("user.dir"), inputFile.getName());
 
         // 1. Input File Processing
         if (!modifiedFile.exists() || !modifiedFile.canRead()) {
@@ -79,6 +168,49 @@ public class SamplingExecutionCommand implements Callable<Integer> {
         SamplingAnalyzer.samplingConfig.setSamplingAlgorithm(algorithm);
         SamplingAnalyzer.samplingConfig.setT(tValue);
         SamplingAnalyzer.writeCsv = writeCsv;
+        SamplingAnalyzer.samplingConfig.setCoverageEngine(coverageEngine);
+        SamplingAnalyzer.cnfCacheDir = cnfCacheDir;
+        SamplingAnalyzer.includeSampleInReport = !omitSample;
+        SamplingAnalyzer.sampleFile = sampleFile;
+        SamplingAnalyzer.compressSample = compressSample;
+        SamplingAnalyzer.metricsFile = metricsFile;
+        SamplingAnalyzer.samplingConfig.setSamplingTimeout(toBudget(samplingTimeout));
+        SamplingAnalyzer.samplingConfig.setCoverageTimeout(toBudget(coverageTimeout));
+        SamplingAnalyzer.coreDeadTimeout = toBudget(coreDeadTimeout);
+        SamplingAnalyzer.samplingConfig.setSeed(seed);
+
+        if (yasaRuns < 1) {
+            System.err.println("Error: --yasa-runs must be at least 1.");
+            return 1;
+        }
+        SamplingAnalyzer.samplingConfig.setYasaRuns(yasaRuns);
+
+        if ((targetCoverage != null && (targetCoverage <= 0 || targetCoverage > 1))
+                || (coveragePlateau != null && coveragePlateau < 0) || chunkSize < 1) {
+            System.err.println(
+                    "Error: --target-coverage must be in (0, 1], --coverage-plateau at least 0 and --chunk-size at least 1.");
+            return 1;
+        }
+        SamplingAnalyzer.samplingConfig.setTargetCoverage(targetCoverage);
+        SamplingAnalyzer.samplingConfig.setCoveragePlateau(coveragePlateau);
+        SamplingAnalyzer.samplingConfig.setChunkSize(chunkSize);
+        SamplingAnalyzer.reduceSample = reduceSample;
+
+        if (initialSample != null) {
+            if (!initialSample.canRead()) {
+                System.err.println("Error: The initial sample " + initialSample.getAbsolutePath()
+                        + " does not exist or cannot be read.");
+                return 1;
+            }
+            SamplingAnalyzer.samplingConfig.setInitialSample(initialSample.toPath());
+        }
+
+        try {
+            SamplingAnalyzer.samplingConfig.setCsvPrefixes(parseCsvPrefixes(csvPrefixes));
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Invalid value for --csv-prefixes: " + csvPrefixes);
+            return 1;
+        }
 
         // set specific values of sampling config for specific SamplingAlgorithm
         if (algorithm == SamplingAlgorithm.INCLING) {
@@ -106,6 +238,34 @@ public class SamplingExecutionCommand implements Callable<Integer> {
         return 0;
     }
 
+    /**
+     * Parses the sample sizes for the CSV summary.
+     *
+     * @param value comma-separated sample sizes or {@code all}
+     * @return the sample sizes, or {@code null} for every sample size
+     * @throws NumberFormatException if a sample size is not a number
+     */
+    private static int[] parseCsvPrefixes(String value) {
+        if (value.trim().equalsIgnoreCase("all")) {
+            return null;
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(size -> !size.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    /**
+     * Converts a time budget in seconds to a {@link Duration}.
+     *
+     * @param seconds the budget in seconds, {@code 0} or less for no limit
+     * @return the budget, or {@code null} for no limit
+     */
+    private static Duration toBudget(long seconds) {
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
     /**
      * Writes the sampling info to a specified file.
      *
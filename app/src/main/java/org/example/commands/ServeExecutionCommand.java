@@ -0,0 +1,122 @@
+package org.example.commands;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.example.common.AnalysisServer;
+import org.example.common.ModelCache;
+import org.example.parsing.CnfCache;
+import org.example.parsing.FeatureModelParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command-line interface for running the {@link AnalysisServer}.
+ * <p>
+ * The server keeps the JVM, FeatJAR and the caches of feature models and
+ * d-DNNF solvers alive between requests, so small models are analyzed without
+ * the startup costs of a new process per model. Requests are read from stdin,
+ * with the responses written to stdout and all log output redirected to
+ * stderr, or from TCP connections to a port on the loopback interface, each
+ * served by its own thread.
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>{@code java -jar app.jar serve --port 7070 --cache-memory 512}</pre>
+ * </p>
+ */
+@Command(name = "serve", mixinStandardHelpOptions = true, version = "1.0", description = "Runs a JSON-RPC server for sampling and coverage requests that keeps parsed models and compiled solvers between requests.")
+public class ServeExecutionCommand implements Callable<Integer> {
+
+    // Interval in which the accepting thread checks for a shutdown request
+    private static final int ACCEPT_TIMEOUT_MILLIS = 200;
+
+    // Optional port; requests are read from stdin if not provided
+    @Option(names = {
+            "--port" }, description = "Port on the loopback interface to listen on. If not provided, requests are read from stdin and responses written to stdout.")
+    private Integer port;
+
+    // Memory limit of the model and solver caches in megabytes
+    @Option(names = {
+            "--cache-memory" }, description = "Maximum estimated memory of the cached models and idle d-DNNF solvers in MB (default is a quarter of the maximum heap).")
+    private Long cacheMemory;
+
+    // Optional directory for caching computed CNFs between runs
+    @Option(names = {
+            "--cnf-cache-dir" }, description = "Directory for caching the CNF of feature models between runs. If not provided, the CNF is computed on the first request for a model.")
+    private File cnfCacheDir;
+
+    /**
+     * Runs the server until it receives a {@code shutdown} request or stdin is
+     * closed.
+     *
+     * @return exit code: {@code 0} for success, {@code 1} for failure
+     */
+    @Override
+    public Integer call() throws Exception {
+        // Responses go to the original stdout, everything else to stderr
+        PrintStream responses = System.out;
+        if (port == null) {
+            System.setOut(System.err);
+        }
+
+        FeatureModelParser.initializeFeatJAR();
+        long maxBytes = cacheMemory != null ? cacheMemory * 1024 * 1024 : Runtime.getRuntime().maxMemory() / 4;
+        ModelCache models = new ModelCache(maxBytes, cnfCacheDir != null ? new CnfCache(cnfCacheDir.toPath()) : null);
+        AnalysisServer server = new AnalysisServer(models);
+
+        if (port == null) {
+            System.err.println("Serving requests on stdin");
+            server.serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                    new BufferedWriter(new OutputStreamWriter(responses, StandardCharsets.UTF_8)));
+            return 0;
+        }
+
+        ExecutorService connections = Executors.newCachedThreadPool();
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.out.println("Serving requests on " + serverSocket.getLocalSocketAddress());
+            // accept() wakes up regularly to notice a shutdown request
+            serverSocket.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+            while (!server.isShutdown()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                connections.submit(() -> {
+                    try (Socket connection = socket) {
+                        server.serve(
+                                new BufferedReader(
+                                        new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)),
+                                new BufferedWriter(
+                                        new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)));
+                    } catch (IOException e) {
+                        System.err.println("Connection failed: " + e.getMessage());
+                    }
+                });
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Cannot listen on port " + port + ": " + e.getMessage());
+            return 1;
+        } finally {
+            connections.shutdownNow();
+        }
+        return 0;
+    }
+}
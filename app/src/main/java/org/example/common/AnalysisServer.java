@@ -0,0 +1,306 @@
+package org.example.common;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.out.SampleIO;
+import org.example.parsing.SampleReader;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Long-running server that answers sampling and coverage requests with a warm
+ * JVM.
+ * <p>
+ * Requests and responses are JSON-RPC 2.0 messages, one per line. Feature
+ * models are taken from a {@link ModelCache}, and UNIFORM sampling reuses the
+ * compiled d-DNNFs of the {@link DdnnifeSolverCache}, so repeated requests for
+ * a model neither parse nor compile it again. After every request, the caches
+ * are trimmed to their memory limit and release memory if the heap runs full.
+ * The methods are:
+ * <ul>
+ * <li><b>sample</b> – {@code model}, {@code algorithm}, optional {@code t}
+ * (default 2), {@code configurations} (default 10000), {@code seed},
+ * {@code timeout} in seconds, {@code sampleFile} and {@code coverage}. Returns
+ * the number of configurations and either writes them to the binary sample
+ * file or returns them with the feature names; with {@code coverage}, also the
+ * t-wise coverage.</li>
+ * <li><b>coverage</b> – {@code model}, {@code sampleFiles}, optional {@code t}
+ * (default 2) and {@code threads}. Returns the t-wise coverage of the
+ * samples.</li>
+ * <li><b>coreDead</b> – {@code model}, optional {@code timeout} in seconds.
+ * Returns the names of the core and dead features.</li>
+ * <li><b>stats</b> – Returns statistics of the caches and the heap.</li>
+ * <li><b>shutdown</b> – Stops the server after the response.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Example request:
+ *
+ * <pre>{@code {"jsonrpc": "2.0", "id": 1, "method": "sample", "params": {"model": "model.xml", "algorithm": "YASA", "t": 2}}}</pre>
+ * </p>
+ */
+public class AnalysisServer {
+
+    public static final int PARSE_ERROR = -32700;
+    public static final int INVALID_REQUEST = -32600;
+    public static final int METHOD_NOT_FOUND = -32601;
+    public static final int INVALID_PARAMS = -32602;
+    public static final int SERVER_ERROR = -32000;
+    public static final int BUDGET_EXCEEDED = -32001;
+
+    // JSON-RPC requires "id": null in responses to unparsable requests
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+    private final ModelCache models;
+    private final AtomicLong requests = new AtomicLong();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a server that takes the feature models from a cache.
+     *
+     * @param models the model cache
+     */
+    public AnalysisServer(ModelCache models) {
+        this.models = models;
+    }
+
+    /**
+     * Answers the requests of a connection until it is closed or the server is
+     * shut down.
+     *
+     * @param in  the request lines
+     * @param out the writer of the response lines, flushed after every response
+     * @throws IOException if reading or writing fails
+     */
+    public void serve(BufferedReader in, Writer out) throws IOException {
+        String line;
+        while (!shutdown && (line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String response = handle(line);
+            if (response != null) {
+                out.write(response);
+                out.write('\n');
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Answers a single request.
+     *
+     * @param line the JSON-RPC request
+     * @return the JSON-RPC response, or {@code null} for a notification, i.e. a
+     *         request without id
+     */
+    public String handle(String line) {
+        requests.incrementAndGet();
+        JsonObject request;
+        try {
+            request = JsonParser.parseString(line).getAsJsonObject();
+        } catch (RuntimeException e) {
+            return error(null, PARSE_ERROR, "Parse error: " + e.getMessage());
+        }
+        JsonElement id = request.get("id");
+        if (!request.has("method") || !request.get("method").isJsonPrimitive()) {
+            return error(id, INVALID_REQUEST, "Missing method");
+        }
+        JsonObject params = request.has("params") && request.get("params").isJsonObject()
+                ? request.getAsJsonObject("params")
+                : new JsonObject();
+
+        String response;
+        try {
+            JsonObject result = new JsonObject();
+            result.addProperty("jsonrpc", "2.0");
+            result.add("id", id);
+            result.add("result", dispatch(request.get("method").getAsString(), params));
+            response = GSON.toJson(result);
+        } catch (NoSuchMethodException e) {
+            response = error(id, METHOD_NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // missing or malformed parameters
+            response = error(id, INVALID_PARAMS, e.getMessage());
+        } catch (BudgetExceededException e) {
+            response = error(id, BUDGET_EXCEEDED, e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            response = error(id, SERVER_ERROR, e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            models.trim();
+        }
+        return id != null ? response : null;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private JsonElement dispatch(String method, JsonObject params) throws Exception {
+        switch (method) {
+            case "sample":
+                return sample(params);
+            case "coverage":
+                return coverage(params);
+            case "coreDead":
+                return coreDead(params);
+            case "stats":
+                return stats();
+            case "shutdown":
+                shutdown = true;
+                return new JsonObject();
+            default:
+                throw new NoSuchMethodException("Method not found: " + method);
+        }
+    }
+
+    private JsonObject sample(JsonObject params) throws IOException {
+        BooleanAssignmentList computedCNF = models.get(getModel(params)).getCNF();
+        VariableMap variables = computedCNF.getVariableMap();
+        SamplingAlgorithm algorithm = SamplingAlgorithm.valueOf(getString(params, "algorithm").toUpperCase());
+        int t = algorithm == SamplingAlgorithm.INCLING ? 2 : getInt(params, "t", 2);
+
+        SamplingConfig config = new SamplingConfig(algorithm, t);
+        config.setNumberOfConfigurations(getInt(params, "configurations", 10000));
+        config.setSeed(params.has("seed") ? params.get("seed").getAsLong() : null);
+        config.setSamplingTimeout(getTimeout(params));
+
+        long start = System.nanoTime();
+        BooleanAssignmentList sample = SamplingProcessor.process(config, computedCNF, variables);
+        if (sample == null) {
+            throw new RuntimeException("Sampling with " + algorithm + " failed");
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("configurations", sample.size());
+        result.addProperty("timeMs", (System.nanoTime() - start) / 1_000_000);
+
+        if (params.has("sampleFile")) {
+            SampleIO.write(sample, Path.of(params.get("sampleFile").getAsString()), false);
+            result.addProperty("sampleFile", params.get("sampleFile").getAsString());
+        } else {
+            result.add("features", GSON.toJsonTree(variables.getVariableNames()));
+            JsonArray configurations = new JsonArray();
+            for (BooleanAssignment configuration : sample) {
+                configurations.add(GSON.toJsonTree(configuration.get()));
+            }
+            result.add("sample", configurations);
+        }
+        if (params.has("coverage") && params.get("coverage").getAsBoolean()) {
+            result.add("coverage", toJson(ParallelCoverageCalculator.computeTWiseStatistics(sample, computedCNF, t)));
+        }
+        return result;
+    }
+
+    private JsonObject coverage(JsonObject params) throws IOException {
+        BooleanAssignmentList computedCNF = models.get(getModel(params)).getCNF();
+        VariableMap variables = computedCNF.getVariableMap();
+        if (!params.has("sampleFiles") || !params.get("sampleFiles").isJsonArray()) {
+            throw new IllegalArgumentException("Missing parameter: sampleFiles");
+        }
+
+        SampleMatrix sample = new SampleMatrix(variables.getVariableCount());
+        SampleReader reader = new SampleReader(variables);
+        for (JsonElement sampleFile : params.getAsJsonArray("sampleFiles")) {
+            reader.read(Path.of(sampleFile.getAsString()), sample::addConfiguration);
+        }
+        int threads = getInt(params, "threads", Runtime.getRuntime().availableProcessors());
+        CoverageStatistic statistic = ParallelCoverageCalculator.computeTWiseStatistics(sample, computedCNF,
+                getInt(params, "t", 2), threads);
+
+        JsonObject result = toJson(statistic);
+        result.addProperty("configurations", sample.size());
+        return result;
+    }
+
+    private JsonObject coreDead(JsonObject params) throws IOException {
+        ModelCache.Entry model = models.get(getModel(params));
+        VariableMap variables = model.getCNF().getVariableMap();
+        BooleanAssignment coreDead = model.getCoreDead(getTimeout(params));
+        JsonArray core = new JsonArray();
+        JsonArray dead = new JsonArray();
+        for (int literal : coreDead.get()) {
+            (literal > 0 ? core : dead).add(variables.get(Math.abs(literal)).orElseThrow());
+        }
+        JsonObject result = new JsonObject();
+        result.add("core", core);
+        result.add("dead", dead);
+        return result;
+    }
+
+    private JsonObject stats() {
+        Runtime runtime = Runtime.getRuntime();
+        JsonObject result = new JsonObject();
+        result.addProperty("requests", requests.get());
+        result.addProperty("models", models.size());
+        result.addProperty("modelCacheHits", models.getHits());
+        result.addProperty("modelCacheMisses", models.getMisses());
+        result.addProperty("modelCacheBytes", models.getUsedBytes());
+        result.addProperty("modelCacheMaxBytes", models.getMaxBytes());
+        result.addProperty("idleSolverBytes", DdnnifeSolverCache.getInstance().getIdleBytes());
+        result.addProperty("heapUsedBytes", runtime.totalMemory() - runtime.freeMemory());
+        result.addProperty("heapMaxBytes", runtime.maxMemory());
+        return result;
+    }
+
+    private static JsonObject toJson(CoverageStatistic statistic) {
+        JsonObject result = new JsonObject();
+        result.addProperty("covered", statistic.covered());
+        result.addProperty("uncovered", statistic.uncovered());
+        result.addProperty("invalid", statistic.invalid());
+        result.addProperty("coverage", statistic.coverage());
+        return result;
+    }
+
+    private static File getModel(JsonObject params) {
+        File model = new File(getString(params, "model"));
+        if (!model.isFile() || !model.canRead()) {
+            throw new IllegalArgumentException(
+                    "The file " + model.getAbsolutePath() + " does not exist or cannot be read.");
+        }
+        return model;
+    }
+
+    private static String getString(JsonObject params, String name) {
+        if (!params.has(name)) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return params.get(name).getAsString();
+    }
+
+    private static int getInt(JsonObject params, String name, int defaultValue) {
+        return params.has(name) ? params.get(name).getAsInt() : defaultValue;
+    }
+
+    private static Duration getTimeout(JsonObject params) {
+        return params.has("timeout") ? Duration.ofSeconds(params.get("timeout").getAsLong()) : null;
+    }
+
+    private static String error(JsonElement id, int code, String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("message", message);
+        JsonObject response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.add("id", id);
+        response.add("error", error);
+        return GSON.toJson(response);
+    }
+}
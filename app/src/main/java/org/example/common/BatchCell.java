@@ -0,0 +1,83 @@
+package org.example.common;
+
+/**
+ * A single cell of a batch experiment: one sampling run with a fixed
+ * algorithm, t-value, configuration limit and repetition number.
+ */
+public class BatchCell {
+    private final SamplingAlgorithm samplingAlgorithm;
+    private final int t;
+    private final int numberOfConfigurations;
+    private final int repetition;
+
+    /**
+     * Creates a new batch cell.
+     *
+     * @param samplingAlgorithm      the sampling algorithm to run
+     * @param t                      the t-value for sampling and coverage
+     * @param numberOfConfigurations the maximum number of configurations
+     * @param repetition             the number of the repetition, starting at 1
+     */
+    public BatchCell(SamplingAlgorithm samplingAlgorithm, int t, int numberOfConfigurations, int repetition) {
+        this.samplingAlgorithm = samplingAlgorithm;
+        this.t = t;
+        this.numberOfConfigurations = numberOfConfigurations;
+        this.repetition = repetition;
+    }
+
+    public SamplingAlgorithm getSamplingAlgorithm() {
+        return samplingAlgorithm;
+    }
+
+    public int getT() {
+        return t;
+    }
+
+    public int getNumberOfConfigurations() {
+        return numberOfConfigurations;
+    }
+
+    public int getRepetition() {
+        return repetition;
+    }
+
+    /**
+     * Creates the sampling configuration of this cell.
+     *
+     * @param coverageEngine the engine for computing coverage statistics
+     * @return a new {@link SamplingConfig}
+     */
+    public SamplingConfig toSamplingConfig(CoverageEngine coverageEngine) {
+        SamplingConfig config = new SamplingConfig(samplingAlgorithm, t);
+        config.setNumberOfConfigurations(numberOfConfigurations);
+        config.setCoverageEngine(coverageEngine);
+        return config;
+    }
+
+    /**
+     * @return a name that identifies this cell, usable as a file name
+     */
+    public String getName() {
+        return samplingAlgorithm + "_t" + t + "_c" + numberOfConfigurations + "_r" + repetition;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof BatchCell)) {
+            return false;
+        }
+        BatchCell other = (BatchCell) obj;
+        return samplingAlgorithm == other.samplingAlgorithm && t == other.t
+                && numberOfConfigurations == other.numberOfConfigurations && repetition == other.repetition;
+    }
+
+    @Override
+    public int hashCode() {
+        return getName().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
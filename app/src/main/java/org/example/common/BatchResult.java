@@ -0,0 +1,86 @@
+package org.example.common;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+
+/**
+ * Outcome of a single {@link BatchCell}.
+ * <p>
+ * Only the statistics of the sample are kept, so that the samples of all
+ * cells do not have to be held in memory at the same time. A failed cell has
+ * no statistic and carries the error message instead.
+ * </p>
+ */
+public class BatchResult {
+    private final BatchCell cell;
+    private final int numberOfSamples;
+    private final CoverageStatistic coverageStatistic;
+    private final int exactlyOnceCount;
+    private final long samplingTimeMillis;
+    private final String error;
+
+    private BatchResult(BatchCell cell, int numberOfSamples, CoverageStatistic coverageStatistic,
+            int exactlyOnceCount, long samplingTimeMillis, String error) {
+        this.cell = cell;
+        this.numberOfSamples = numberOfSamples;
+        this.coverageStatistic = coverageStatistic;
+        this.exactlyOnceCount = exactlyOnceCount;
+        this.samplingTimeMillis = samplingTimeMillis;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of a successful cell.
+     *
+     * @param cell               the executed cell
+     * @param numberOfSamples    the number of sampled configurations
+     * @param coverageStatistic  the t-wise coverage of the sample
+     * @param exactlyOnceCount   the number of pairwise interactions covered exactly
+     *                           once
+     * @param samplingTimeMillis the time spent sampling in milliseconds
+     * @return the result
+     */
+    public static BatchResult success(BatchCell cell, int numberOfSamples, CoverageStatistic coverageStatistic,
+            int exactlyOnceCount, long samplingTimeMillis) {
+        return new BatchResult(cell, numberOfSamples, coverageStatistic, exactlyOnceCount, samplingTimeMillis,
+                null);
+    }
+
+    /**
+     * Creates the result of a failed cell.
+     *
+     * @param cell  the executed cell
+     * @param error a description of the failure
+     * @return the result
+     */
+    public static BatchResult failure(BatchCell cell, String error) {
+        return new BatchResult(cell, 0, null, 0, 0, error);
+    }
+
+    public BatchCell getCell() {
+        return cell;
+    }
+
+    public int getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    public CoverageStatistic getCoverageStatistic() {
+        return coverageStatistic;
+    }
+
+    public int getExactlyOnceCount() {
+        return exactlyOnceCount;
+    }
+
+    public long getSamplingTimeMillis() {
+        return samplingTimeMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.example.out.ResultWriter;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Executes the cells of a batch experiment concurrently on a shared feature
+ * model.
+ * <p>
+ * The CNF and the core and dead features are computed once by the caller and
+ * shared read-only by all cells. Each cell samples, computes its coverage and
+ * writes its result file into the output directory. The cells run on a fixed
+ * size thread pool, so at most {@code threads} samples are held in memory at
+ * the same time.
+ * </p>
+ */
+public class BatchRunner {
+
+    private final BooleanAssignmentList computedCNF;
+    private final BooleanAssignment coreAndDeadFeatures;
+    private final File outputDir;
+    private final CoverageEngine coverageEngine;
+    private boolean includeSampleInReport = true;
+
+    /**
+     * Creates a runner for the given feature model.
+     *
+     * @param computedCNF         the CNF representation of the feature model
+     * @param coreAndDeadFeatures the core and dead features of the feature model
+     * @param outputDir           the directory for the result files of the cells
+     * @param coverageEngine      the engine for computing coverage statistics
+     */
+    public BatchRunner(BooleanAssignmentList computedCNF, BooleanAssignment coreAndDeadFeatures, File outputDir,
+            CoverageEngine coverageEngine) {
+        this.computedCNF = computedCNF;
+        this.coreAndDeadFeatures = coreAndDeadFeatures;
+        this.outputDir = outputDir;
+        this.coverageEngine = coverageEngine;
+    }
+
+    /**
+     * Sets whether the result files of the cells contain the sampled
+     * configurations. Enabled by default.
+     *
+     * @param includeSampleInReport {@code false} to leave the sample out
+     */
+    public void setIncludeSampleInReport(boolean includeSampleInReport) {
+        this.includeSampleInReport = includeSampleInReport;
+    }
+
+    /**
+     * Runs all cells and waits for their completion.
+     *
+     * @param cells   the cells to run
+     * @param threads the maximum number of cells running at the same time
+     * @return the results in the order of the cells
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public List<BatchResult> run(List<BatchCell> cells, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<BatchResult>> futures = new ArrayList<>();
+            for (BatchCell cell : cells) {
+                futures.add(executor.submit(() -> runCell(cell)));
+            }
+            List<BatchResult> results = new ArrayList<>();
+            for (int i = 0; i < cells.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(BatchResult.failure(cells.get(i), String.valueOf(e.getCause())));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Samples, evaluates and writes the result file of a single cell.
+     *
+     * @param cell the cell to run
+     * @return the result of the cell, a failure if sampling did not succeed
+     */
+    private BatchResult runCell(BatchCell cell) {
+        System.out.println("Running " + cell);
+        SamplingConfig config = cell.toSamplingConfig(coverageEngine);
+        VariableMap variables = computedCNF.getVariableMap();
+
+        long start = System.nanoTime();
+        BooleanAssignmentList sample;
+        try {
+            sample = SamplingProcessor.process(config, computedCNF, variables);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return BatchResult.failure(cell, String.valueOf(e.getMessage()));
+        }
+        long samplingTimeMillis = (System.nanoTime() - start) / 1_000_000;
+        if (sample == null) {
+            return BatchResult.failure(cell, "Sampling returned no result");
+        }
+
+        CoverageStatistic statistic = TWiseCalculator.computeTWiseStatistics(sample, computedCNF, config);
+        int exactlyOnceCount = PairwiseInteractionCounter.of(sample).countExactlyOnce();
+
+        File resultFile = new File(outputDir, cell.getName() + ".txt");
+        try {
+            resultFile.createNewFile();
+            ResultWriter.writeResultToFile(resultFile, coreAndDeadFeatures, sample, config.getT(),
+                    config.getSamplingAlgorithm(), statistic, variables, includeSampleInReport);
+        } catch (IOException e) {
+            System.err.println("Failed to create result file: " + e.getMessage());
+        }
+
+        System.out.println("Finished " + cell + " with " + sample.size() + " configurations");
+        return BatchResult.success(cell, sample.size(), statistic, exactlyOnceCount, samplingTimeMillis);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.common;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a phase of the analysis exceeds its time budget.
+ * <p>
+ * The work of the phase has been cancelled when this exception is thrown. If
+ * the phase produced a partial result before it was cancelled, e.g. the
+ * configurations sampled so far, it is attached to the exception.
+ * </p>
+ */
+public class BudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String phase;
+    private final Duration budget;
+    private final transient Object partialResult;
+
+    /**
+     * Creates an exception for a phase that exceeded its budget.
+     *
+     * @param phase         the name of the phase, e.g. {@code sampling}
+     * @param budget        the time budget of the phase
+     * @param partialResult the partial result of the phase, or {@code null} if
+     *                      there is none
+     */
+    public BudgetExceededException(String phase, Duration budget, Object partialResult) {
+        super("The " + phase + " phase exceeded its time budget of " + budget.toSeconds() + " s"
+                + (partialResult != null ? ", the result is partial." : " without a result."));
+        this.phase = phase;
+        this.budget = budget;
+        this.partialResult = partialResult;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the partial result of the phase.
+     *
+     * @param <T> the result type of the phase
+     * @return the partial result, or {@code null} if there is none
+     * @throws ClassCastException if the partial result is of another type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPartialResult() {
+        return (T) partialResult;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.common;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * T-wise coverage of a sample that is streamed in bounded chunks.
+ * <p>
+ * Configurations are collected in a {@link SampleMatrix} of at most the chunk
+ * size. The first chunk is evaluated with the
+ * {@link ParallelCoverageCalculator}, which determines the number of valid and
+ * invalid interactions and collects the valid interactions that the chunk does
+ * not cover as {@link UncoveredInteractions}. Every further chunk is only
+ * tested against the remaining interactions and then discarded, so the memory
+ * does not depend on the size of the sample. It is bounded by the valid
+ * interactions that the first chunk leaves uncovered, which for a small first
+ * chunk are nearly all valid interactions of the model, and not by the chunk
+ * size. The result equals the coverage of the whole sample.
+ * </p>
+ */
+public class ChunkedCoverage {
+
+    private final BooleanAssignmentList computedCNF;
+    private final int t;
+    private final int parallelism;
+    private final int chunkSize;
+    private final PairwiseInteractionCounter counter;
+    private final UncoveredInteractions uncovered;
+    private SampleMatrix chunk;
+    private CoverageStatistic firstStatistic;
+    private int size;
+
+    /**
+     * Creates an empty chunked coverage computation.
+     *
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads for the first chunk
+     * @param chunkSize   the maximum number of configurations per chunk
+     * @param counter     the counter to which the pairwise interactions of every
+     *                    chunk are added, or {@code null}
+     */
+    public ChunkedCoverage(BooleanAssignmentList computedCNF, int t, int parallelism, int chunkSize,
+            PairwiseInteractionCounter counter) {
+        this.computedCNF = computedCNF;
+        this.t = t;
+        this.parallelism = parallelism;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.counter = counter;
+        this.uncovered = new UncoveredInteractions(t);
+        this.chunk = new SampleMatrix(computedCNF.getVariableMap().getVariableCount());
+    }
+
+    /**
+     * Adds a configuration, evaluating the current chunk when it is full.
+     *
+     * @param literals the literals of the configuration, using the variable
+     *                 indices of the CNF
+     */
+    public void addConfiguration(int[] literals) {
+        chunk.addConfiguration(literals);
+        size++;
+        if (chunk.size() == chunkSize) {
+            evaluateChunk();
+        }
+    }
+
+    /**
+     * Evaluates the last chunk and returns the coverage of all configurations.
+     *
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     */
+    public CoverageStatistic finish() {
+        if (chunk.size() > 0 || firstStatistic == null) {
+            evaluateChunk();
+        }
+        CoverageStatistic statistic = new CoverageStatistic();
+        long valid = firstStatistic.covered() + firstStatistic.uncovered();
+        statistic.setNumberOfCoveredConditions(valid - uncovered.size());
+        statistic.setNumberOfUncoveredConditions(uncovered.size());
+        statistic.setNumberOfInvalidConditions(firstStatistic.invalid());
+        return statistic;
+    }
+
+    /**
+     * @return the number of configurations added so far
+     */
+    public int size() {
+        return size;
+    }
+
+    private void evaluateChunk() {
+        if (firstStatistic == null) {
+            firstStatistic = ParallelCoverageCalculator.computeTWiseStatistics(chunk, computedCNF, t, parallelism,
+                    null, null, uncovered);
+        } else {
+            uncovered.removeCovered(chunk);
+        }
+        if (counter != null) {
+            counter.addConfigurations(chunk);
+        }
+        chunk = new SampleMatrix(computedCNF.getVariableMap().getVariableCount());
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.common;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.example.SamplingAnalyzer;
+import org.example.out.FeatureIdeIO;
+
+/**
+ * Runs the analysis pipeline of {@link SamplingAnalyzer} for every feature
+ * model of a corpus.
+ * <p>
+ * Each model is analyzed by the {@code process} command in a separate JVM, so
+ * that a maximum heap size and a time limit can be enforced per model and a
+ * model that runs out of memory or time does not affect the others. At most
+ * {@code jobs} models are analyzed at the same time. The output of each model
+ * (result file, CSV summary and log) is written into its own directory, and a
+ * line is appended to the summary index {@code index.csv} as soon as a model
+ * finishes.
+ * </p>
+ */
+public class CorpusRunner {
+
+    private final File outputDir;
+    private final List<String> processArguments;
+    private final String maxHeap;
+    private final long timeoutSeconds;
+    private Writer index;
+
+    /**
+     * Creates a corpus runner.
+     *
+     * @param outputDir        the directory for the per-model directories and the
+     *                         summary index
+     * @param processArguments additional arguments for the {@code process}
+     *                         command, e.g. the sampling algorithm
+     * @param maxHeap          the maximum heap size of each model's JVM (e.g.
+     *                         {@code 4g}), or {@code null} for the JVM default
+     * @param timeoutSeconds   the time limit per model in seconds
+     */
+    public CorpusRunner(File outputDir, List<String> processArguments, String maxHeap, long timeoutSeconds) {
+        this.outputDir = outputDir;
+        this.processArguments = processArguments;
+        this.maxHeap = maxHeap;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Finds the feature models of a corpus.
+     *
+     * @param input a directory, which is searched recursively for XML files, or a
+     *              glob pattern such as {@code models/**}{@code /*.xml}
+     * @return the model files in lexicographic order
+     * @throws IOException if a directory cannot be read
+     */
+    public static List<Path> findModels(String input) throws IOException {
+        Path directory = Paths.get(input);
+        PathMatcher matcher;
+        if (Files.isDirectory(directory)) {
+            matcher = path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xml");
+        } else {
+            // search below the longest prefix without glob characters
+            Path pattern = Paths.get(input).toAbsolutePath();
+            directory = pattern.getRoot();
+            for (Path segment : pattern) {
+                if (segment.toString().matches(".*[*?\\[{].*")) {
+                    break;
+                }
+                directory = directory.resolve(segment);
+            }
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.toString().replace("\\", "\\\\"));
+            if (!Files.isDirectory(directory)) {
+                return new ArrayList<>();
+            }
+        }
+
+        PathMatcher modelMatcher = matcher;
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(Path::toAbsolutePath)
+                    .filter(modelMatcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Analyzes all models and waits for their completion.
+     *
+     * @param models the model files
+     * @param jobs   the maximum number of models analyzed at the same time
+     * @return the number of models whose analysis failed or timed out
+     * @throws IOException          if the summary index cannot be written
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public int run(List<Path> models, int jobs) throws IOException, InterruptedException {
+        Files.createDirectories(outputDir.toPath());
+        File indexFile = new File(outputDir, "index.csv");
+        List<String> names = uniqueNames(models);
+
+        ExecutorService executor = Executors.newFixedThreadPool(jobs);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (Writer writer = new BufferedWriter(new FileWriter(indexFile))) {
+            index = writer;
+            writeIndexLine("Model,Status,Exit_Code,Duration_ms,Output_Dir");
+            for (int i = 0; i < models.size(); i++) {
+                Path model = models.get(i);
+                File modelDir = new File(outputDir, names.get(i));
+                futures.add(executor.submit(() -> runModel(model, modelDir)));
+            }
+            executor.shutdown();
+            int failures = 0;
+            for (Future<Boolean> future : futures) {
+                try {
+                    if (!future.get()) {
+                        failures++;
+                    }
+                } catch (ExecutionException e) {
+                    e.printStackTrace();
+                    failures++;
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+            index = null;
+        }
+    }
+
+    /**
+     * Analyzes a single model in a child JVM.
+     *
+     * @return {@code true} if the analysis finished successfully in time
+     */
+    private boolean runModel(Path model, File modelDir) throws IOException, InterruptedException {
+        Files.createDirectories(modelDir.toPath());
+        File resultFile = new File(modelDir, "result.txt");
+        File logFile = new File(modelDir, "log.txt");
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (maxHeap != null) {
+            command.add("-Xmx" + maxHeap);
+        }
+        command.add("-D" + FeatureIdeIO.FEATURE_IDE_JAR_PROPERTY + "=" + getFeatureIdeJar());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SamplingAnalyzer.class.getName());
+        command.add("process");
+        command.add("-i");
+        command.add(model.toString());
+        command.add("-o");
+        command.add(resultFile.getAbsolutePath());
+        command.addAll(processArguments);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .directory(modelDir)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile);
+
+        System.out.println("Analyzing " + model);
+        long start = System.nanoTime();
+        Process process = processBuilder.start();
+        String status;
+        int exitCode;
+        try {
+            if (process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                exitCode = process.exitValue();
+                // Exit code 3 marks a result that is incomplete because of a time budget
+                status = exitCode == 0 ? "OK" : exitCode == 3 ? "INCOMPLETE" : "FAILED";
+            } else {
+                // descendants such as ddnnife or FeatureIDE workers would otherwise outlive the model
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly().waitFor();
+                exitCode = -1;
+                status = "TIMEOUT";
+            }
+        } catch (InterruptedException e) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+            throw e;
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Finished " + model + ": " + status);
+        writeIndexLine(String.format(Locale.US, "\"%s\",%s,%d,%d,\"%s\"", model, status, exitCode, durationMillis,
+                modelDir.getAbsolutePath()));
+        return exitCode == 0;
+    }
+
+    /**
+     * Appends a line to the summary index and flushes it, so the index is
+     * up to date while the corpus is still being analyzed.
+     */
+    private synchronized void writeIndexLine(String line) throws IOException {
+        index.write(line + "\n");
+        index.flush();
+    }
+
+    private static String getFeatureIdeJar() {
+        String configuredJar = System.getProperty(FeatureIdeIO.FEATURE_IDE_JAR_PROPERTY);
+        return configuredJar != null ? Paths.get(configuredJar).toAbsolutePath().toString()
+                : Paths.get(FeatureIdeIO.DEFAULT_FEATURE_IDE_JAR).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Derives a directory name for each model from its file name. Models with the
+     * same file name get a numeric suffix.
+     */
+    private static List<String> uniqueNames(List<Path> models) {
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Path model : models) {
+            String name = model.getFileName().toString().replaceFirst("(?i)\\.xml$", "");
+            int occurrence = occurrences.merge(name, 1, Integer::sum);
+            names.add(occurrence == 1 ? name : name + "_" + occurrence);
+        }
+        return names;
+    }
+}
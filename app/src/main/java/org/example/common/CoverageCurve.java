@@ -0,0 +1,207 @@
+package org.example.common;
+
+import java.util.Arrays;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Coverage statistics for every prefix of a sample, computed in a single pass.
+ * <p>
+ * For each t-wise interaction the index of the first configuration covering it
+ * is determined with a {@link SampleMatrix}. Prefix sums over these indices
+ * yield the number of covered interactions for every prefix size. Whether an
+ * interaction is invalid does not depend on the sample, so the invalid count is
+ * taken from a single {@link CoverageStatistic} of the full sample and the
+ * number of uncovered interactions of a prefix follows from the difference.
+ * In the same way the second covering configuration of each pairwise
+ * interaction yields the number of interactions covered exactly once.
+ * </p>
+ */
+public class CoverageCurve {
+
+    private final int size;
+    private final long[] covered;
+    private final long[] exactlyOnce;
+    private final long valid;
+    private final long invalid;
+
+    private CoverageCurve(int size, long[] covered, long[] exactlyOnce, CoverageStatistic fullStatistic) {
+        this.size = size;
+        this.covered = covered;
+        this.exactlyOnce = exactlyOnce;
+        this.valid = fullStatistic.covered() + fullStatistic.uncovered();
+        this.invalid = fullStatistic.invalid();
+    }
+
+    /**
+     * Computes the coverage curve of a sample.
+     *
+     * @param sample        the sampled configurations in sampling order
+     * @param computedCNF   the CNF representation of the feature model
+     * @param t             the t-value of the interactions
+     * @param fullStatistic the coverage statistic of the complete sample, e.g.
+     *                      computed by {@link TWiseCalculator}
+     * @return the coverage curve
+     */
+    public static CoverageCurve compute(BooleanAssignmentList sample, BooleanAssignmentList computedCNF, int t,
+            CoverageStatistic fullStatistic) {
+        int size = sample.size();
+
+        // interactions are enumerated over the variables of the CNF
+        VariableMap variableMap = computedCNF.getVariableMap();
+        BooleanAssignmentList adaptedSample = sample.getVariableMap().equals(variableMap) ? sample
+                : sample.adapt(variableMap);
+        SampleMatrix matrix = SampleMatrix.of(adaptedSample);
+        long[] firstCovered = new long[size + 1];
+        if (t > 0 && t <= variableMap.getVariableCount()) {
+            countFirstCovered(matrix, variableMap.getVariableCount(), t, firstCovered);
+        }
+
+        // exactly-once counts refer to the pairwise interactions of the features of
+        // the first configuration, as in the result file
+        SampleMatrix originalMatrix = adaptedSample == sample ? matrix : SampleMatrix.of(sample);
+        int[] features = sample.isEmpty() ? new int[0] : sample.get(0).getAbsoluteValues();
+        long[] firstPair = new long[size + 1];
+        long[] secondPair = new long[size + 1];
+        countPairOccurrences(originalMatrix, features, firstPair, secondPair);
+
+        long[] covered = new long[size + 1];
+        long[] exactlyOnce = new long[size + 1];
+        long coveredPairs = 0;
+        long coveredTwicePairs = 0;
+        for (int k = 1; k <= size; k++) {
+            covered[k] = covered[k - 1] + firstCovered[k - 1];
+            coveredPairs += firstPair[k - 1];
+            coveredTwicePairs += secondPair[k - 1];
+            exactlyOnce[k] = coveredPairs - coveredTwicePairs;
+        }
+        return new CoverageCurve(size, covered, exactlyOnce, fullStatistic);
+    }
+
+    /**
+     * Counts for every configuration of a sample the t-wise interactions that it
+     * covers first, i.e. that no earlier configuration covers. Invalid
+     * interactions are never covered, so the sum of the counts is the number of
+     * covered interactions. No solver calls are needed.
+     *
+     * @param sample      the sampled configurations in sampling order
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @return the number of interactions covered first by each configuration
+     */
+    public static long[] countFirstCovered(BooleanAssignmentList sample, BooleanAssignmentList computedCNF, int t) {
+        VariableMap variableMap = computedCNF.getVariableMap();
+        BooleanAssignmentList adaptedSample = sample.getVariableMap().equals(variableMap) ? sample
+                : sample.adapt(variableMap);
+        long[] firstCovered = new long[sample.size()];
+        if (t > 0 && t <= variableMap.getVariableCount()) {
+            countFirstCovered(SampleMatrix.of(adaptedSample), variableMap.getVariableCount(), t, firstCovered);
+        }
+        return firstCovered;
+    }
+
+    /**
+     * @return the number of configurations in the sample
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the coverage statistic of the first {@code prefixSize}
+     * configurations.
+     *
+     * @param prefixSize the number of configurations, between 0 and
+     *                   {@link #size()}
+     * @return the coverage statistic of the prefix
+     */
+    public CoverageStatistic getStatistic(int prefixSize) {
+        CoverageStatistic statistic = new CoverageStatistic();
+        statistic.setNumberOfCoveredConditions(covered[prefixSize]);
+        statistic.setNumberOfUncoveredConditions(valid - covered[prefixSize]);
+        statistic.setNumberOfInvalidConditions(invalid);
+        return statistic;
+    }
+
+    /**
+     * Returns the number of pairwise interactions covered exactly once by the
+     * first {@code prefixSize} configurations.
+     *
+     * @param prefixSize the number of configurations, between 0 and
+     *                   {@link #size()}
+     * @return the number of interactions covered exactly once
+     */
+    public int getExactlyOnceCount(int prefixSize) {
+        return (int) exactlyOnce[prefixSize];
+    }
+
+    /**
+     * Enumerates all t-wise interactions of the variables {@code 1..n} and counts
+     * for each configuration the interactions it covers first. The AND of the
+     * columns is built incrementally per depth, so subtrees of interactions that
+     * are not covered at all are skipped.
+     */
+    private static void countFirstCovered(SampleMatrix matrix, int n, int t, long[] firstCovered) {
+        int words = matrix.usedWords();
+        long[][] partial = new long[t + 1][words];
+        if (words > 0) {
+            Arrays.fill(partial[0], -1L);
+            int rest = matrix.size() & 63;
+            if (rest != 0) {
+                partial[0][words - 1] = (1L << rest) - 1;
+            }
+        }
+        countFirstCovered(matrix, n, t, 1, 0, partial, firstCovered);
+    }
+
+    private static void countFirstCovered(SampleMatrix matrix, int n, int t, int firstVariable, int depth,
+            long[][] partial, long[] firstCovered) {
+        long[] previous = partial[depth];
+        long[] current = partial[depth + 1];
+        for (int variable = firstVariable; variable <= n - (t - depth - 1); variable++) {
+            for (int sign = 1; sign >= -1; sign -= 2) {
+                long[] column = matrix.column(sign * variable);
+                int first = -1;
+                boolean any = false;
+                for (int w = 0; w < current.length; w++) {
+                    current[w] = previous[w] & column[w];
+                    if (!any && current[w] != 0) {
+                        any = true;
+                        first = (w << 6) + Long.numberOfTrailingZeros(current[w]);
+                    }
+                }
+                if (!any) {
+                    continue;
+                }
+                if (depth + 1 == t) {
+                    firstCovered[first]++;
+                } else {
+                    countFirstCovered(matrix, n, t, variable + 1, depth + 1, partial, firstCovered);
+                }
+            }
+        }
+    }
+
+    private static void countPairOccurrences(SampleMatrix matrix, int[] features, long[] firstPair,
+            long[] secondPair) {
+        for (int i = 0; i < features.length; i++) {
+            for (int j = i + 1; j < features.length; j++) {
+                for (int polarity = 0; polarity < 4; polarity++) {
+                    int first = (polarity & 2) == 0 ? features[i] : -features[i];
+                    int second = (polarity & 1) == 0 ? features[j] : -features[j];
+                    int firstIndex = matrix.nextCovering(0, first, second);
+                    if (firstIndex < 0) {
+                        continue;
+                    }
+                    firstPair[firstIndex]++;
+                    int secondIndex = matrix.nextCovering(firstIndex + 1, first, second);
+                    if (secondIndex >= 0) {
+                        secondPair[secondIndex]++;
+                    }
+                }
+            }
+        }
+    }
+}
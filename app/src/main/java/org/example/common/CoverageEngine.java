@@ -0,0 +1,18 @@
+package org.example.common;
+
+/**
+ * Enumeration of available engines for computing t-wise coverage statistics.
+ *
+ * <ul>
+ * <li>{@link #FEATJAR} – FeatJAR's single-threaded constrained coverage
+ * computation.</li>
+ * <li>{@link #PARALLEL} – Fork-join computation that evaluates ranges of
+ * t-wise combinations on all available cores.</li>
+ * </ul>
+ *
+ * @see org.example.common.TWiseCalculator
+ */
+public enum CoverageEngine {
+    FEATJAR,
+    PARALLEL
+}
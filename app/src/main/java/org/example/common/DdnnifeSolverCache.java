@@ -0,0 +1,132 @@
+package org.example.common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import de.featjar.analysis.ddnnife.solver.DdnnifeWrapper;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * In-process pool of d-DNNF solvers for UNIFORM sampling.
+ * <p>
+ * Creating a {@link DdnnifeWrapper} compiles the feature model to a d-DNNF,
+ * which dominates the run time of uniform sampling on large models. Solvers
+ * are therefore kept alive after use and handed out again for the same clause
+ * list, identified by the SHA-256 hash of its variable names and clauses. The
+ * compiled d-DNNFs live only as long as the JVM; they are not persisted, since
+ * the wrapper can neither export nor load a compiled d-DNNF, so every new
+ * process compiles its models again.
+ * </p>
+ * <p>
+ * A solver is used by one sampling at a time; concurrent samplings of the same
+ * model compile additional solvers. Up to {@value #DEFAULT_SIZE} idle solvers
+ * are kept, which can be changed with the system property
+ * {@value #CACHE_SIZE_PROPERTY}; the least recently used solver is closed
+ * first. All solvers are closed when the JVM exits.
+ * </p>
+ * <p>
+ * The d-DNNFs are held in native memory, which the heap usage of the JVM does
+ * not show. Each solver is therefore accounted with a size estimated from its
+ * clause list, so that long-running processes can bound the memory of the idle
+ * solvers together with their other caches. The estimate is a fixed multiple
+ * of the size of the clause list and is not measured: the size of a d-DNNF
+ * depends on the structure of the model and can differ from it by orders of
+ * magnitude in both directions, so the bound is only approximate.
+ * </p>
+ */
+public class DdnnifeSolverCache extends SolverPool<DdnnifeWrapper> {
+
+    /**
+     * System property that limits the number of idle solvers kept alive.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "ddnnife.solvers";
+
+    private static final int DEFAULT_SIZE = 4;
+
+    // Rough guess of the size of a compiled d-DNNF relative to the estimated
+    // size of its CNF; not measured, see the class documentation
+    private static final int DDNNF_SIZE_FACTOR = 16;
+
+    private static DdnnifeSolverCache instance;
+
+    /**
+     * Creates a cache that keeps up to {@code size} idle solvers.
+     *
+     * @param size the maximum number of idle solvers
+     */
+    public DdnnifeSolverCache(int size) {
+        super(size);
+    }
+
+    /**
+     * Returns the shared cache of the application, which is closed on shutdown.
+     *
+     * @return the shared cache
+     */
+    public static synchronized DdnnifeSolverCache getInstance() {
+        if (instance == null) {
+            DdnnifeSolverCache cache = new DdnnifeSolverCache(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_SIZE));
+            Runtime.getRuntime().addShutdownHook(new Thread(cache::close));
+            instance = cache;
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a solver for a clause list for exclusive use, reusing an idle
+     * solver of the same clause list if there is one.
+     *
+     * @param computedCNF the feature model in CNF form
+     * @return the lease of the solver, which must be closed after use
+     * @throws Exception if a new solver cannot be created
+     */
+    public Lease<DdnnifeWrapper> acquire(BooleanAssignmentList computedCNF) throws Exception {
+        return acquire(computeKey(computedCNF), estimateBytes(computedCNF),
+                () -> new DdnnifeWrapper(new BooleanAssignmentGroups(computedCNF)));
+    }
+
+    /**
+     * Estimates the memory of the compiled d-DNNF of a clause list as a fixed
+     * multiple of the estimated size of the clause list. This is a rough guess
+     * for bounding caches, not a measurement of the solver.
+     *
+     * @param computedCNF the feature model in CNF form
+     * @return the estimated size in bytes
+     * @see ModelCache#estimateBytes(BooleanAssignmentList)
+     */
+    public static long estimateBytes(BooleanAssignmentList computedCNF) {
+        return DDNNF_SIZE_FACTOR * ModelCache.estimateBytes(computedCNF);
+    }
+
+    /**
+     * Computes the cache key of a clause list.
+     *
+     * @param computedCNF the feature model in CNF form
+     * @return the hexadecimal SHA-256 hash of the variable names and clauses
+     */
+    public static String computeKey(BooleanAssignmentList computedCNF) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String name : computedCNF.getVariableMap().getVariableNames()) {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        for (BooleanAssignment clause : computedCNF) {
+            for (int literal : clause.get()) {
+                digest.update(buffer.putInt(0, literal).array());
+            }
+            digest.update(buffer.putInt(0, 0).array());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.PairWiseConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.SPLCAToolConfigurationGenerator;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * In-process sampling with the configuration generators of the FeatureIDE
+ * library.
+ * <p>
+ * The clause list is converted directly into a FeatureIDE {@link CNF} with the
+ * same variable order, so the literals of the generated configurations can be
+ * used without renumbering. INCLING is part of the FeatureIDE library. ICPL and
+ * CHVATAL are provided by SPLCATool, which is not part of the library; they are
+ * only available if SPLCATool is on the classpath.
+ * </p>
+ */
+public class FeatureIdeSampler {
+
+    private static final String SPLCATOOL_CLASS = "no.sintef.ict.splcatool.CoveringArray";
+
+    /**
+     * Checks whether the given algorithm can be run in-process.
+     *
+     * @param samplingAlgorithm the sampling algorithm
+     * @return {@code true} if {@link #sample} supports the algorithm
+     */
+    public static boolean isAvailable(SamplingAlgorithm samplingAlgorithm) {
+        switch (samplingAlgorithm) {
+            case INCLING:
+                return true;
+            case ICPL:
+            case CHVATAL:
+                return isSplcaToolAvailable();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Samples configurations with a FeatureIDE configuration generator.
+     *
+     * @param computedCNF       the feature model in CNF form
+     * @param samplingAlgorithm the sampling algorithm (INCLING, ICPL or CHVATAL)
+     * @param tValue            the t-value, ignored by INCLING which is always
+     *                          pairwise
+     * @param configLimit       the maximum number of configurations
+     * @return the sampled configurations
+     * @throws UnsupportedOperationException if the algorithm is not available
+     *                                       in-process
+     * @throws RuntimeException              if the generator fails
+     */
+    public static BooleanAssignmentList sample(BooleanAssignmentList computedCNF,
+            SamplingAlgorithm samplingAlgorithm, int tValue, int configLimit) {
+        return sample(computedCNF, samplingAlgorithm, tValue, configLimit, new NullMonitor<>());
+    }
+
+    /**
+     * Samples configurations with a FeatureIDE configuration generator that can
+     * be cancelled through its monitor. The generators check the monitor
+     * regularly and stop with an exception once it is cancelled.
+     *
+     * @param computedCNF       the feature model in CNF form
+     * @param samplingAlgorithm the sampling algorithm (INCLING, ICPL or CHVATAL)
+     * @param tValue            the t-value, ignored by INCLING which is always
+     *                          pairwise
+     * @param configLimit       the maximum number of configurations
+     * @param monitor           the monitor of the generator
+     * @return the sampled configurations
+     * @throws UnsupportedOperationException if the algorithm is not available
+     *                                       in-process
+     * @throws RuntimeException              if the generator fails or is
+     *                                       cancelled
+     */
+    public static BooleanAssignmentList sample(BooleanAssignmentList computedCNF,
+            SamplingAlgorithm samplingAlgorithm, int tValue, int configLimit, IMonitor<List<LiteralSet>> monitor) {
+        if (!isAvailable(samplingAlgorithm)) {
+            throw new UnsupportedOperationException(samplingAlgorithm + " is not available in-process.");
+        }
+        CNF cnf = toFeatureIdeCNF(computedCNF);
+
+        AConfigurationGenerator generator;
+        switch (samplingAlgorithm) {
+            case INCLING:
+                generator = new PairWiseConfigurationGenerator(cnf, configLimit);
+                break;
+            case ICPL:
+                generator = new SPLCAToolConfigurationGenerator(cnf, "ICPL", tValue, configLimit);
+                break;
+            case CHVATAL:
+                generator = new SPLCAToolConfigurationGenerator(cnf, "Chvatal", tValue, configLimit);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported sampling algorithm.");
+        }
+
+        List<LiteralSet> solutions;
+        try {
+            solutions = generator.execute(monitor);
+        } catch (Exception e) {
+            throw new RuntimeException(samplingAlgorithm + " sampling failed", e);
+        }
+        if (solutions == null) {
+            throw new RuntimeException(samplingAlgorithm + " sampling returned no result");
+        }
+
+        List<BooleanAssignment> configurations = new ArrayList<>(solutions.size());
+        for (LiteralSet solution : solutions) {
+            configurations.add(new BooleanAssignment(solution.getLiterals()));
+        }
+        return new BooleanAssignmentList(computedCNF.getVariableMap(), configurations);
+    }
+
+    /**
+     * Converts a clause list into a FeatureIDE CNF. Variable {@code i} of the
+     * variable map becomes variable {@code i} of the CNF.
+     *
+     * @param computedCNF the clause list
+     * @return the equivalent FeatureIDE CNF
+     */
+    static CNF toFeatureIdeCNF(BooleanAssignmentList computedCNF) {
+        Variables variables = new Variables(computedCNF.getVariableMap().getVariableNames());
+        List<LiteralSet> clauses = new ArrayList<>(computedCNF.size());
+        for (int[] clause : AssignmentUtils.convertToIntArrays(computedCNF.getAll())) {
+            clauses.add(new LiteralSet(clause));
+        }
+        return new CNF(variables, clauses);
+    }
+
+    private static boolean isSplcaToolAvailable() {
+        try {
+            Class.forName(SPLCATOOL_CLASS, false, FeatureIdeSampler.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
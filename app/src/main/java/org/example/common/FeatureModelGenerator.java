@@ -0,0 +1,339 @@
+package org.example.common;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Generator of random feature models for scaling and stress tests.
+ * <p>
+ * A model is determined by the following parameters, so the same parameters
+ * always yield the same model:
+ * <ul>
+ * <li><b>seed</b> – The seed of the random generator.</li>
+ * <li><b>featureCount</b> – The number of features, including the root.</li>
+ * <li><b>maxDepth</b> – The maximum depth of the feature tree, the root has
+ * depth 0.</li>
+ * <li><b>maxChildren</b> – The maximum number of children of a feature.</li>
+ * <li><b>orGroupRatio</b>, <b>alternativeGroupRatio</b> – The fraction of
+ * features with children whose children form an or group or an alternative
+ * group; all others form and groups.</li>
+ * <li><b>mandatoryRatio</b> – The fraction of children of and groups that are
+ * mandatory.</li>
+ * <li><b>constraintDensity</b> – The number of cross-tree constraints per
+ * feature.</li>
+ * </ul>
+ * The features are named {@code F0} (the root) to {@code F<featureCount - 1>}.
+ * Every cross-tree constraint is a clause with the negation of an optional
+ * feature of an and group (the premise) and either one or two features that
+ * are never premises (an implication) or the negation of a second premise (an
+ * exclusion). Deselecting all premises therefore satisfies every constraint,
+ * so every generated model has at least one valid configuration.
+ * </p>
+ * <p>
+ * A model can be written in FeatureIDE XML format, which can be read with
+ * {@link org.example.parsing.FeatureModelParser}, or generated directly as
+ * clause list, which skips the CNF transformation for very large models.
+ * </p>
+ */
+public class FeatureModelGenerator {
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int ALTERNATIVE = 2;
+
+    private long seed = 1;
+    private int featureCount = 100;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxChildren = 5;
+    private double orGroupRatio = 0.2;
+    private double alternativeGroupRatio = 0.2;
+    private double mandatoryRatio = 0.25;
+    private double constraintDensity = 0.1;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    public void setFeatureCount(int featureCount) {
+        this.featureCount = featureCount;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxChildren() {
+        return maxChildren;
+    }
+
+    public void setMaxChildren(int maxChildren) {
+        this.maxChildren = maxChildren;
+    }
+
+    public double getOrGroupRatio() {
+        return orGroupRatio;
+    }
+
+    public void setOrGroupRatio(double orGroupRatio) {
+        this.orGroupRatio = orGroupRatio;
+    }
+
+    public double getAlternativeGroupRatio() {
+        return alternativeGroupRatio;
+    }
+
+    public void setAlternativeGroupRatio(double alternativeGroupRatio) {
+        this.alternativeGroupRatio = alternativeGroupRatio;
+    }
+
+    public double getMandatoryRatio() {
+        return mandatoryRatio;
+    }
+
+    public void setMandatoryRatio(double mandatoryRatio) {
+        this.mandatoryRatio = mandatoryRatio;
+    }
+
+    public double getConstraintDensity() {
+        return constraintDensity;
+    }
+
+    public void setConstraintDensity(double constraintDensity) {
+        this.constraintDensity = constraintDensity;
+    }
+
+    /**
+     * Writes the model in FeatureIDE XML format to a file.
+     *
+     * @param file the file to write to
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    public void writeXml(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writeXml(writer);
+        }
+    }
+
+    /**
+     * Writes the model in FeatureIDE XML format.
+     *
+     * @param writer the writer to write to
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    public void writeXml(Writer writer) throws IOException {
+        Model model = generate();
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<featureModel>\n<struct>\n");
+        writeFeature(writer, model, 0, 1);
+        writer.write("</struct>\n<constraints>\n");
+        for (int[] constraint : model.constraints) {
+            int premise = -constraint[0] - 1;
+            if (constraint[1] < 0) {
+                writer.write("<rule><not><conj><var>F" + premise + "</var><var>F" + (-constraint[1] - 1)
+                        + "</var></conj></not></rule>\n");
+            } else if (constraint.length == 2) {
+                writer.write("<rule><imp><var>F" + premise + "</var><var>F" + (constraint[1] - 1)
+                        + "</var></imp></rule>\n");
+            } else {
+                writer.write("<rule><imp><var>F" + premise + "</var><disj><var>F" + (constraint[1] - 1)
+                        + "</var><var>F" + (constraint[2] - 1) + "</var></disj></imp></rule>\n");
+            }
+        }
+        writer.write("</constraints>\n</featureModel>\n");
+    }
+
+    /**
+     * Generates the CNF of the model directly as clause list.
+     * <p>
+     * The clauses are equivalent to the CNF computed from the XML model, but
+     * variable {@code i + 1} is always feature {@code Fi}, whereas the variable
+     * order of a parsed model follows the feature tree.
+     * </p>
+     *
+     * @return the clauses of the CNF together with their {@link VariableMap}
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    public BooleanAssignmentList generateCNF() {
+        Model model = generate();
+        List<String> names = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            names.add("F" + i);
+        }
+        List<BooleanAssignment> clauses = new ArrayList<>();
+        clauses.add(new BooleanAssignment(1));
+        for (int feature = 0; feature < featureCount; feature++) {
+            int variable = feature + 1;
+            List<Integer> children = model.children.get(feature);
+            for (int child : children) {
+                clauses.add(new BooleanAssignment(-(child + 1), variable));
+                if (model.mandatory[child]) {
+                    clauses.add(new BooleanAssignment(-variable, child + 1));
+                }
+            }
+            if (!children.isEmpty() && model.groupType[feature] != AND) {
+                int[] group = new int[children.size() + 1];
+                group[0] = -variable;
+                for (int i = 0; i < children.size(); i++) {
+                    group[i + 1] = children.get(i) + 1;
+                }
+                clauses.add(new BooleanAssignment(group));
+            }
+            if (model.groupType[feature] == ALTERNATIVE) {
+                for (int i = 0; i < children.size(); i++) {
+                    for (int j = i + 1; j < children.size(); j++) {
+                        clauses.add(new BooleanAssignment(-(children.get(i) + 1), -(children.get(j) + 1)));
+                    }
+                }
+            }
+        }
+        for (int[] constraint : model.constraints) {
+            clauses.add(new BooleanAssignment(constraint));
+        }
+        return new BooleanAssignmentList(VariableMap.of(names), clauses);
+    }
+
+    /**
+     * Generates the feature tree and the cross-tree constraints.
+     * <p>
+     * The tree is built breadth-first: each feature receives between one and
+     * {@code maxChildren} children before the next feature is expanded. Features
+     * at the maximum depth are skipped; if no feature remains to be expanded, the
+     * parent is chosen at random among all features above the maximum depth.
+     * </p>
+     */
+    private Model generate() {
+        if (featureCount < 1) {
+            throw new IllegalArgumentException("The feature count must be positive.");
+        }
+        if (maxDepth < 1 || maxChildren < 1) {
+            throw new IllegalArgumentException("The maximum depth and number of children must be positive.");
+        }
+        if (orGroupRatio < 0 || alternativeGroupRatio < 0 || orGroupRatio + alternativeGroupRatio > 1) {
+            throw new IllegalArgumentException("The group ratios must be non-negative and sum up to at most 1.");
+        }
+        Random random = new Random(seed);
+        Model model = new Model(featureCount);
+        int[] depth = new int[featureCount];
+        List<Integer> expandable = new ArrayList<>();
+        expandable.add(0);
+        model.groupType[0] = nextGroupType(random);
+
+        int nextParent = 0;
+        int childCount = 1 + random.nextInt(maxChildren);
+        for (int i = 1; i < featureCount; i++) {
+            while (nextParent < i && (depth[nextParent] >= maxDepth
+                    || model.children.get(nextParent).size() >= childCount)) {
+                nextParent++;
+                childCount = 1 + random.nextInt(maxChildren);
+            }
+            int parent = nextParent < i ? nextParent : expandable.get(random.nextInt(expandable.size()));
+            depth[i] = depth[parent] + 1;
+            model.children.get(parent).add(i);
+            model.groupType[i] = nextGroupType(random);
+            model.mandatory[i] = model.groupType[parent] == AND && random.nextDouble() < mandatoryRatio;
+            model.optional[i] = model.groupType[parent] == AND && !model.mandatory[i];
+            if (depth[i] < maxDepth) {
+                expandable.add(i);
+            }
+        }
+
+        List<Integer> premises = new ArrayList<>();
+        List<Integer> conclusions = new ArrayList<>();
+        for (int i = 1; i < featureCount; i++) {
+            (model.optional[i] && random.nextBoolean() ? premises : conclusions).add(i);
+        }
+        if (premises.isEmpty() || conclusions.isEmpty()) {
+            return model;
+        }
+        long constraintCount = Math.round(constraintDensity * featureCount);
+        for (long c = 0; c < constraintCount; c++) {
+            int premise = premises.get(random.nextInt(premises.size())) + 1;
+            int kind = random.nextInt(4);
+            if (kind == 0 && premises.size() > 1) {
+                int excluded;
+                do {
+                    excluded = premises.get(random.nextInt(premises.size())) + 1;
+                } while (excluded == premise);
+                model.constraints.add(new int[] { -premise, -excluded });
+            } else if (kind == 1 && conclusions.size() > 1) {
+                int first = conclusions.get(random.nextInt(conclusions.size())) + 1;
+                int second;
+                do {
+                    second = conclusions.get(random.nextInt(conclusions.size())) + 1;
+                } while (second == first);
+                model.constraints.add(new int[] { -premise, first, second });
+            } else {
+                int conclusion = conclusions.get(random.nextInt(conclusions.size())) + 1;
+                model.constraints.add(new int[] { -premise, conclusion });
+            }
+        }
+        return model;
+    }
+
+    private int nextGroupType(Random random) {
+        double value = random.nextDouble();
+        return value < orGroupRatio ? OR : value < orGroupRatio + alternativeGroupRatio ? ALTERNATIVE : AND;
+    }
+
+    private static void writeFeature(Writer writer, Model model, int feature, int indent) throws IOException {
+        String prefix = "\t".repeat(indent);
+        String attributes = (feature == 0 || model.mandatory[feature] ? " mandatory=\"true\"" : "") + " name=\"F"
+                + feature + "\"";
+        List<Integer> children = model.children.get(feature);
+        if (children.isEmpty()) {
+            writer.write(prefix + "<feature" + attributes + "/>\n");
+            return;
+        }
+        String element = model.groupType[feature] == OR ? "or"
+                : model.groupType[feature] == ALTERNATIVE ? "alt" : "and";
+        writer.write(prefix + "<" + element + attributes + ">\n");
+        for (int child : children) {
+            writeFeature(writer, model, child, indent + 1);
+        }
+        writer.write(prefix + "</" + element + ">\n");
+    }
+
+    /**
+     * Feature tree and cross-tree constraints of a generated model. Constraints
+     * are clauses over the variables {@code feature + 1}.
+     */
+    private static class Model {
+        private final List<List<Integer>> children;
+        private final int[] groupType;
+        private final boolean[] mandatory;
+        private final boolean[] optional;
+        private final List<int[]> constraints = new ArrayList<>();
+
+        Model(int featureCount) {
+            children = new ArrayList<>(featureCount);
+            for (int i = 0; i < featureCount; i++) {
+                children.add(new ArrayList<>());
+            }
+            groupType = new int[featureCount];
+            mandatory = new boolean[featureCount];
+            optional = new boolean[featureCount];
+        }
+    }
+}
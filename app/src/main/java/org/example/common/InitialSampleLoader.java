@@ -0,0 +1,172 @@
+package org.example.common;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.example.parsing.SampleReader;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Loads a previous sample as the initial sample of a sampling run on a
+ * possibly changed feature model.
+ * <p>
+ * The configurations are read with a {@link SampleReader}, so features are
+ * matched by name and features that no longer exist are ignored. A
+ * configuration that assigns every feature of the model and satisfies all
+ * clauses is kept as it is. A configuration that does not assign every
+ * feature, e.g. because features were added, is completed by a SAT solver if
+ * it is consistent with the model. All other configurations and duplicates are
+ * dropped.
+ * </p>
+ */
+public class InitialSampleLoader {
+
+    /**
+     * Loads the configurations of a sample file that are valid for a feature
+     * model.
+     *
+     * @param file        the sample file in CSV, JSON (FeatureIDE results) or
+     *                    binary sample format
+     * @param computedCNF the CNF representation of the feature model
+     * @return the valid configurations with the variable map of the CNF
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static BooleanAssignmentList load(Path file, BooleanAssignmentList computedCNF) throws IOException {
+        List<int[]> configurations = new ArrayList<>();
+        new SampleReader(computedCNF.getVariableMap()).read(file, configurations::add);
+
+        List<BooleanAssignment> sample = new ArrayList<>();
+        int completed = validate(configurations, computedCNF, sample);
+        int unchanged = sample.size() - completed;
+        int dropped = configurations.size() - sample.size();
+        System.out.println("Initial sample " + file + ": " + unchanged + " configurations kept, " + completed
+                + " completed, " + dropped + " dropped");
+        PhaseMetrics.addCounter("initialKept", unchanged);
+        PhaseMetrics.addCounter("initialCompleted", completed);
+        PhaseMetrics.addCounter("initialDropped", dropped);
+        return new BooleanAssignmentList(computedCNF.getVariableMap(), sample);
+    }
+
+    /**
+     * Keeps the valid configurations, completes the partial ones where possible
+     * and drops the others and all duplicates.
+     *
+     * @param configurations the configurations, using the variable indices of the
+     *                       CNF
+     * @param computedCNF    the CNF representation of the feature model
+     * @return the valid configurations with the variable map of the CNF
+     */
+    public static BooleanAssignmentList validate(List<int[]> configurations, BooleanAssignmentList computedCNF) {
+        List<BooleanAssignment> valid = new ArrayList<>();
+        validate(configurations, computedCNF, valid);
+        return new BooleanAssignmentList(computedCNF.getVariableMap(), valid);
+    }
+
+    /**
+     * Adds the valid configurations to a list.
+     *
+     * @return the number of configurations that were completed
+     */
+    private static int validate(List<int[]> configurations, BooleanAssignmentList computedCNF,
+            List<BooleanAssignment> valid) {
+        int variableCount = computedCNF.getVariableMap().getVariableCount();
+        SAT4JSolutionSolver solver = null;
+        Set<BooleanAssignment> kept = new HashSet<>();
+        int completed = 0;
+        for (int[] literals : configurations) {
+            int[] configuration = literals;
+            if (!isComplete(literals, variableCount) || !satisfies(literals, variableCount, computedCNF)) {
+                if (solver == null) {
+                    solver = new SAT4JSolutionSolver(computedCNF);
+                    SAT4JSolver.initializeSolver(solver, computedCNF, new BooleanAssignment(),
+                            new BooleanAssignmentList(null, 0), Duration.ZERO);
+                }
+                configuration = complete(solver, literals);
+                if (configuration == null) {
+                    continue;
+                }
+            }
+            BooleanAssignment assignment = new BooleanAssignment(sortByVariable(configuration));
+            if (kept.add(assignment)) {
+                valid.add(assignment);
+                if (configuration != literals) {
+                    completed++;
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static boolean isComplete(int[] literals, int variableCount) {
+        boolean[] assigned = new boolean[variableCount + 1];
+        int count = 0;
+        for (int literal : literals) {
+            if (!assigned[Math.abs(literal)]) {
+                assigned[Math.abs(literal)] = true;
+                count++;
+            }
+        }
+        return count == variableCount;
+    }
+
+    private static boolean satisfies(int[] literals, int variableCount, BooleanAssignmentList computedCNF) {
+        byte[] values = new byte[variableCount + 1];
+        for (int literal : literals) {
+            values[Math.abs(literal)] = (byte) (literal > 0 ? 1 : -1);
+        }
+        for (BooleanAssignment clause : computedCNF) {
+            boolean satisfied = false;
+            for (int literal : clause.get()) {
+                if (values[Math.abs(literal)] == (literal > 0 ? 1 : -1)) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Completes a partial configuration to a valid configuration.
+     *
+     * @return a complete configuration that contains the literals, or
+     *         {@code null} if the literals are inconsistent with the model
+     */
+    private static int[] complete(SAT4JSolutionSolver solver, int[] literals) {
+        int assignmentSize = solver.getAssignment().size();
+        try {
+            solver.getAssignment().addAll(literals);
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (!hasSolution.isPresent()) {
+                throw new RuntimeTimeoutException();
+            }
+            return hasSolution.get() ? solver.getInternalSolution().clone() : null;
+        } finally {
+            solver.getAssignment().clear(assignmentSize);
+        }
+    }
+
+    private static int[] sortByVariable(int[] literals) {
+        return Arrays.stream(literals)
+                .boxed()
+                .sorted(Comparator.comparingInt(Math::abs))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
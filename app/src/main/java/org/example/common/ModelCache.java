@@ -0,0 +1,242 @@
+package org.example.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.example.parsing.CnfCache;
+import org.example.parsing.FeatureModelParser;
+
+import de.featjar.analysis.sat4j.computation.ComputeCoreDeadMIG;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * In-memory cache of parsed feature models for long-running processes.
+ * <p>
+ * Entries are keyed by the hash of the model file content, so a model file
+ * that changes is parsed again. Each entry holds the CNF of the model and,
+ * once requested, its core and dead features. The cache is bounded by the
+ * estimated size of its entries together with the idle solvers of the
+ * {@link DdnnifeSolverCache}, whose d-DNNFs are held in native memory; the
+ * least recently used entries are evicted first, and with them the idle
+ * solvers of their models. When the live heap of the JVM after a garbage
+ * collection runs full, {@link #trim()} also evicts entries and closes all
+ * idle solvers.
+ * </p>
+ */
+public class ModelCache {
+
+    // Share of the maximum heap above which trim() releases memory
+    private static final double HEAP_THRESHOLD = 0.8;
+
+    private final long maxBytes;
+    private final CnfCache cnfCache;
+    private final DdnnifeSolverCache solvers = DdnnifeSolverCache.getInstance();
+    // Entries in access order, the least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache whose entries and idle solvers use at most about
+     * {@code maxBytes} of memory.
+     *
+     * @param maxBytes the maximum estimated size of all entries and idle solvers
+     *                 in bytes
+     * @param cnfCache the persistent CNF cache used on misses, or {@code null}
+     */
+    public ModelCache(long maxBytes, CnfCache cnfCache) {
+        this.maxBytes = maxBytes;
+        this.cnfCache = cnfCache;
+    }
+
+    /**
+     * Returns the cache entry of a model file, parsing the model on a miss.
+     *
+     * @param modelFile the XML model file
+     * @return the entry with the CNF of the model
+     * @throws IOException      if the model file cannot be read
+     * @throws RuntimeException if the model cannot be parsed
+     */
+    public Entry get(File modelFile) throws IOException {
+        String key = CnfCache.computeKey(modelFile.toPath());
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry;
+            }
+            misses++;
+        }
+
+        // Parse outside the lock, so other models stay available meanwhile
+        BooleanAssignmentList computedCNF = cnfCache != null ? cnfCache.loadOrCompute(modelFile)
+                : FeatureModelParser.computeCNF(modelFile.getPath());
+        Entry entry = new Entry(computedCNF);
+        synchronized (this) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                return existing;
+            }
+            usedBytes += entry.bytes;
+            evict(maxBytes);
+        }
+        return entry;
+    }
+
+    /**
+     * Evicts entries and idle d-DNNF solvers that exceed the size of the cache,
+     * e.g. after solvers were released by a sampling. Also releases memory if the
+     * heap that was still used after the last garbage collection exceeds
+     * {@value #HEAP_THRESHOLD} of the maximum heap: the cache is reduced to half
+     * of its size and all idle d-DNNF solvers are closed.
+     */
+    public void trim() {
+        synchronized (this) {
+            evict(maxBytes);
+        }
+        long used = getHeapUsedAfterCollection();
+        if (used > HEAP_THRESHOLD * Runtime.getRuntime().maxMemory()) {
+            synchronized (this) {
+                evict(usedBytes / 2);
+            }
+            solvers.closeIdle();
+            System.out.println("Released cached models and solvers at " + used / (1024 * 1024) + " MB heap usage");
+        }
+    }
+
+    /**
+     * Returns the heap that was live after the last garbage collection of each
+     * heap pool. Unlike the current usage, this does not include garbage that is
+     * not yet collected, so it only grows when the live data does. Falls back to
+     * the current usage if the garbage collector does not report collection
+     * usage.
+     */
+    private static long getHeapUsedAfterCollection() {
+        long used = 0;
+        boolean supported = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid() && pool.isCollectionUsageThresholdSupported()) {
+                MemoryUsage usage = pool.getCollectionUsage();
+                if (usage != null) {
+                    used += usage.getUsed();
+                    supported = true;
+                }
+            }
+        }
+        if (!supported) {
+            Runtime runtime = Runtime.getRuntime();
+            used = runtime.totalMemory() - runtime.freeMemory();
+        }
+        return used;
+    }
+
+    /**
+     * Evicts the least recently used entries together with the idle solvers of
+     * their models until the estimated size of the entries and idle solvers is at
+     * most the given number of bytes. The most recently used entry is always
+     * kept, but its idle solvers are closed if they alone exceed the size.
+     */
+    private void evict(long bytes) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (usedBytes + solvers.getIdleBytes() > bytes && entries.size() > 1 && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            usedBytes -= entry.bytes;
+            solvers.closeIdle(entry.solverKey);
+        }
+        // solvers of models that are no longer cached, or of the remaining entry
+        while (usedBytes + solvers.getIdleBytes() > bytes) {
+            if (solvers.closeLeastRecentlyUsed() == 0) {
+                break;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Estimates the heap size of a clause list: an object header, an array
+     * header and a list reference per clause, four bytes per literal, and about
+     * 64 bytes per variable name including the variable map.
+     *
+     * @param computedCNF the clause list
+     * @return the estimated size in bytes
+     */
+    public static long estimateBytes(BooleanAssignmentList computedCNF) {
+        long bytes = 0;
+        for (BooleanAssignment clause : computedCNF) {
+            bytes += 40 + 4L * clause.size();
+        }
+        for (String name : computedCNF.getVariableMap().getVariableNames()) {
+            bytes += 64 + 2L * name.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * A cached feature model.
+     */
+    public static class Entry {
+        private final BooleanAssignmentList computedCNF;
+        private final String solverKey;
+        private final long bytes;
+        private BooleanAssignment coreDead;
+
+        private Entry(BooleanAssignmentList computedCNF) {
+            this.computedCNF = computedCNF;
+            this.solverKey = DdnnifeSolverCache.computeKey(computedCNF);
+            // reserve space for the core and dead features
+            this.bytes = estimateBytes(computedCNF) + 4L * computedCNF.getVariableMap().getVariableCount();
+        }
+
+        public BooleanAssignmentList getCNF() {
+            return computedCNF;
+        }
+
+        /**
+         * Returns the core and dead features of the model, computing them on the
+         * first call. A result that exceeds the time budget is not cached.
+         *
+         * @param budget the time budget, or {@code null} for no limit
+         * @return the core features as positive and the dead features as negative
+         *         literals
+         * @throws BudgetExceededException if the budget is exceeded
+         */
+        public synchronized BooleanAssignment getCoreDead(Duration budget) {
+            if (coreDead == null) {
+                coreDead = TimeBudget.compute(Computations.of(computedCNF).map(ComputeCoreDeadMIG::new), budget,
+                        "core/dead");
+            }
+            return coreDead;
+        }
+    }
+}
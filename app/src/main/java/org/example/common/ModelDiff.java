@@ -0,0 +1,114 @@
+package org.example.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Differences between the clause lists of two versions of a feature model.
+ * <p>
+ * Variables are matched by name, so the diff does not depend on the variable
+ * indices of the two CNFs. A clause is identified by its literals as feature
+ * names with a sign, e.g. {@code -A | B}, in name order.
+ * </p>
+ */
+public class ModelDiff {
+
+    private final List<String> addedVariables;
+    private final List<String> removedVariables;
+    private final List<String> addedClauses;
+    private final List<String> removedClauses;
+
+    private ModelDiff(List<String> addedVariables, List<String> removedVariables, List<String> addedClauses,
+            List<String> removedClauses) {
+        this.addedVariables = addedVariables;
+        this.removedVariables = removedVariables;
+        this.addedClauses = addedClauses;
+        this.removedClauses = removedClauses;
+    }
+
+    /**
+     * Computes the differences between two versions of a feature model.
+     *
+     * @param oldCNF the CNF of the old version
+     * @param newCNF the CNF of the new version
+     * @return the added and removed variables and clauses
+     */
+    public static ModelDiff of(BooleanAssignmentList oldCNF, BooleanAssignmentList newCNF) {
+        Set<String> oldVariables = new LinkedHashSet<>(oldCNF.getVariableMap().getVariableNames());
+        Set<String> newVariables = new LinkedHashSet<>(newCNF.getVariableMap().getVariableNames());
+        Set<String> oldClauses = toClauseStrings(oldCNF);
+        Set<String> newClauses = toClauseStrings(newCNF);
+        return new ModelDiff(difference(newVariables, oldVariables), difference(oldVariables, newVariables),
+                difference(newClauses, oldClauses), difference(oldClauses, newClauses));
+    }
+
+    private static Set<String> toClauseStrings(BooleanAssignmentList computedCNF) {
+        VariableMap variables = computedCNF.getVariableMap();
+        Set<String> clauses = new LinkedHashSet<>();
+        for (BooleanAssignment clause : computedCNF) {
+            String[] literals = Arrays.stream(clause.get())
+                    .mapToObj(literal -> (literal > 0 ? "" : "-") + variables.get(Math.abs(literal)).orElseThrow())
+                    .sorted(Comparator.comparing((String literal) -> literal.startsWith("-") ? literal.substring(1)
+                            : literal).thenComparing(Comparator.naturalOrder()))
+                    .toArray(String[]::new);
+            clauses.add(String.join(" | ", literals));
+        }
+        return clauses;
+    }
+
+    private static List<String> difference(Set<String> a, Set<String> b) {
+        List<String> difference = new ArrayList<>();
+        for (String element : a) {
+            if (!b.contains(element)) {
+                difference.add(element);
+            }
+        }
+        return Collections.unmodifiableList(difference);
+    }
+
+    public List<String> getAddedVariables() {
+        return addedVariables;
+    }
+
+    public List<String> getRemovedVariables() {
+        return removedVariables;
+    }
+
+    public List<String> getAddedClauses() {
+        return addedClauses;
+    }
+
+    public List<String> getRemovedClauses() {
+        return removedClauses;
+    }
+
+    /**
+     * Returns whether every clause of the old version is also a clause of the new
+     * version. Interactions that are invalid in the old version are then invalid
+     * in the new version, too.
+     *
+     * @return {@code true} if no clause was removed
+     */
+    public boolean isRestriction() {
+        return removedClauses.isEmpty();
+    }
+
+    /**
+     * Returns whether both versions have the same variables and clauses.
+     *
+     * @return {@code true} if nothing changed
+     */
+    public boolean isEmpty() {
+        return addedVariables.isEmpty() && removedVariables.isEmpty() && addedClauses.isEmpty()
+                && removedClauses.isEmpty();
+    }
+}
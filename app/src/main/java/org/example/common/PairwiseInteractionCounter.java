@@ -0,0 +1,230 @@
+package org.example.common;
+
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Dense counter for the occurrences of all pairwise (t=2) feature interactions
+ * in a sample.
+ * <p>
+ * Every pair of features {@code (i, j)} with {@code i < j} (positions in the
+ * feature order) is assigned a rank in the upper triangle of the pair matrix.
+ * Each rank owns four consecutive slots, one per polarity combination:
+ * <ul>
+ * <li>{@code 0} – both features selected</li>
+ * <li>{@code 1} – first selected, second deselected</li>
+ * <li>{@code 2} – first deselected, second selected</li>
+ * <li>{@code 3} – both features deselected</li>
+ * </ul>
+ * The counts are kept in a single {@code int[]}, so counting a sample does not
+ * allocate per interaction.
+ * </p>
+ */
+public class PairwiseInteractionCounter {
+
+    private final int[] features;
+    private final int[] positions;
+    private final int[] counts;
+
+    /**
+     * Creates an empty counter for the given features.
+     *
+     * @param features the variable indices of the features in the order in which
+     *                 interactions are enumerated
+     * @throws IllegalArgumentException if the number of interactions exceeds the
+     *                                  capacity of an array
+     */
+    public PairwiseInteractionCounter(int[] features) {
+        long pairs = (long) features.length * (features.length - 1) / 2;
+        if (4 * pairs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many features for pairwise counting: " + features.length);
+        }
+        this.features = features.clone();
+
+        int maxVariable = 0;
+        for (int feature : features) {
+            maxVariable = Math.max(maxVariable, feature);
+        }
+        this.positions = new int[maxVariable + 1];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < features.length; i++) {
+            positions[features[i]] = i;
+        }
+        this.counts = new int[(int) (4 * pairs)];
+    }
+
+    /**
+     * Creates a counter for the features of the first configuration in the sample
+     * and counts all configurations of the sample.
+     *
+     * @param sample the sampled configurations
+     * @return the filled counter
+     */
+    public static PairwiseInteractionCounter of(BooleanAssignmentList sample) {
+        int[] features = sample.isEmpty() ? new int[0] : sample.get(0).getAbsoluteValues();
+        return of(SampleMatrix.of(sample), features);
+    }
+
+    /**
+     * Creates a counter for the given features and fills it from the columns of
+     * a sample matrix.
+     *
+     * @param matrix   the bitset view of the sample
+     * @param features the variable indices of the features to count
+     * @return the filled counter
+     */
+    public static PairwiseInteractionCounter of(SampleMatrix matrix, int[] features) {
+        PairwiseInteractionCounter counter = new PairwiseInteractionCounter(features);
+        counter.addConfigurations(matrix);
+        return counter;
+    }
+
+    /**
+     * Counts all configurations of a sample matrix, e.g. of the next chunk of a
+     * sample that is processed in chunks.
+     *
+     * @param matrix the bitset view of the configurations
+     */
+    public void addConfigurations(SampleMatrix matrix) {
+        int index = 0;
+        for (int i = 0; i < features.length; i++) {
+            for (int j = i + 1; j < features.length; j++) {
+                counts[index++] += matrix.frequency(features[i], features[j]);
+                counts[index++] += matrix.frequency(features[i], -features[j]);
+                counts[index++] += matrix.frequency(-features[i], features[j]);
+                counts[index++] += matrix.frequency(-features[i], -features[j]);
+            }
+        }
+    }
+
+    /**
+     * Counts all pairwise interactions contained in the given configuration.
+     * Literals of variables that are not tracked by this counter are ignored.
+     *
+     * @param literals the literals of the configuration
+     */
+    public void addConfiguration(int[] literals) {
+        int[] signedPositions = new int[literals.length];
+        int size = 0;
+        boolean sorted = true;
+        for (int literal : literals) {
+            int variable = Math.abs(literal);
+            if (literal == 0 || variable >= positions.length || positions[variable] < 0) {
+                continue;
+            }
+            // encode position and polarity in one int: 2 * position + negative
+            int encoded = (positions[variable] << 1) | (literal < 0 ? 1 : 0);
+            if (size > 0 && encoded < signedPositions[size - 1]) {
+                sorted = false;
+            }
+            signedPositions[size++] = encoded;
+        }
+        if (!sorted) {
+            Arrays.sort(signedPositions, 0, size);
+        }
+
+        int n = features.length;
+        for (int a = 0; a < size; a++) {
+            int i = signedPositions[a] >>> 1;
+            int firstNegative = signedPositions[a] & 1;
+            // rank(i, j) = rowOffset + j
+            long rowOffset = (long) i * (2L * n - i - 1) / 2 - i - 1;
+            for (int b = a + 1; b < size; b++) {
+                int j = signedPositions[b] >>> 1;
+                int polarity = (firstNegative << 1) | (signedPositions[b] & 1);
+                counts[(int) (4 * (rowOffset + j)) + polarity]++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of tracked interactions (four per feature pair)
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * @return the tracked features in enumeration order
+     */
+    public int[] getFeatures() {
+        return features.clone();
+    }
+
+    /**
+     * Returns how often the interaction with the given index occurs.
+     *
+     * @param index the interaction index as used by {@link #forEach}
+     * @return the number of configurations containing the interaction
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return the number of interactions that occur in exactly one configuration
+     */
+    public int countExactlyOnce() {
+        int count = 0;
+        for (int value : counts) {
+            if (value == 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes how many interactions occur a certain number of times.
+     *
+     * @return a map from number of occurrences to number of interactions, sorted
+     *         by number of occurrences
+     */
+    public SortedMap<Integer, Long> getFrequencyHistogram() {
+        int max = 0;
+        for (int value : counts) {
+            max = Math.max(max, value);
+        }
+        long[] buckets = new long[max + 1];
+        for (int value : counts) {
+            buckets[value]++;
+        }
+        SortedMap<Integer, Long> histogram = new TreeMap<>();
+        for (int value = 0; value < buckets.length; value++) {
+            if (buckets[value] > 0) {
+                histogram.put(value, buckets[value]);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Visits every tracked interaction in enumeration order.
+     *
+     * @param visitor receives the two literals and the number of occurrences of
+     *                each interaction
+     */
+    public void forEach(InteractionVisitor visitor) {
+        int n = features.length;
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                visitor.visit(features[i], features[j], counts[index++]);
+                visitor.visit(features[i], -features[j], counts[index++]);
+                visitor.visit(-features[i], features[j], counts[index++]);
+                visitor.visit(-features[i], -features[j], counts[index++]);
+            }
+        }
+    }
+
+    /**
+     * Callback for {@link PairwiseInteractionCounter#forEach}.
+     */
+    @FunctionalInterface
+    public interface InteractionVisitor {
+        void visit(int firstLiteral, int secondLiteral, int count);
+    }
+}
@@ -0,0 +1,429 @@
+package org.example.common;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import de.featjar.analysis.RuntimeContradictionException;
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.analysis.sat4j.twise.SampleBitIndex;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.BinomialCalculator;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Multi-core computation of t-wise coverage statistics.
+ * <p>
+ * The space of t-wise variable combinations is split into index ranges that
+ * are evaluated by fork-join workers. Each interaction is classified in the
+ * same way as by FeatJAR's {@code ConstraintedCoverageComputation}: it is
+ * covered if a configuration of the sample contains it, invalid if unit
+ * propagation in the modal implication graph or the SAT solver finds a
+ * contradiction, and uncovered otherwise. Every worker thread owns its solver
+ * and its index of solutions found so far, while the sample and the modal
+ * implication graph are shared read-only. The per-range counts are summed up,
+ * so the result equals the one of the single-threaded computation.
+ * </p>
+ * <p>
+ * With a {@link ValidityCache}, e.g. of a previous version of the feature
+ * model, the workers start with the known solutions and skip the interactions
+ * known to be invalid. The solutions and the interactions refuted by the SAT
+ * solver are added to the cache, so the next computation on the model needs
+ * fewer solver calls.
+ * </p>
+ * <p>
+ * The uncovered interactions can also be collected into an
+ * {@link UncoveredInteractions} set, so a sample that grows afterwards only
+ * needs its new configurations to be tested against them.
+ * </p>
+ */
+public class ParallelCoverageCalculator {
+
+    /**
+     * System property that sets the minimum number of combinations per index
+     * range, e.g. to split small models into many ranges in tests.
+     */
+    public static final String MIN_RANGE_SIZE_PROPERTY = "coverage.minRangeSize";
+
+    private static final long DEFAULT_MIN_RANGE_SIZE = 1024;
+    // The deadline is checked every 256 combinations
+    private static final long DEADLINE_CHECK_MASK = 255;
+    private static final int UNCOVERED_BUFFER_SIZE = 4096;
+
+    private final BooleanAssignmentList computedCNF;
+    private final int t;
+    private final int variableCount;
+    private final SampleMatrix sample;
+    private final ModalImplicationGraph mig;
+    private final BinomialCalculator binomialCalculator;
+    private final ThreadLocal<Worker> workers;
+    private final long deadline;
+    private final ValidityCache cache;
+    private final UncoveredInteractions uncovered;
+    private volatile boolean expired;
+
+    private ParallelCoverageCalculator(SampleMatrix sample, BooleanAssignmentList computedCNF, int t,
+            long deadline, ValidityCache cache, UncoveredInteractions uncovered) {
+        this.deadline = deadline;
+        this.cache = cache;
+        this.uncovered = uncovered;
+        this.computedCNF = computedCNF;
+        this.t = t;
+        this.variableCount = computedCNF.getVariableMap().getVariableCount();
+        this.sample = sample;
+        this.mig = new MIGBuilder(Computations.of(computedCNF)).compute();
+        this.binomialCalculator = new BinomialCalculator(t, variableCount);
+        this.workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample using all available
+     * processors.
+     * <p>
+     * The sample must use the variable map of the CNF; otherwise the computation
+     * is delegated to FeatJAR, which merges both variable maps.
+     * </p>
+     *
+     * @param sample      the sampled configurations
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     */
+    public static CoverageStatistic computeTWiseStatistics(BooleanAssignmentList sample,
+            BooleanAssignmentList computedCNF, int t) {
+        return computeTWiseStatistics(sample, computedCNF, t, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample with the given number of
+     * worker threads.
+     *
+     * @param sample      the sampled configurations
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     */
+    public static CoverageStatistic computeTWiseStatistics(BooleanAssignmentList sample,
+            BooleanAssignmentList computedCNF, int t, int parallelism) {
+        return computeTWiseStatistics(sample, computedCNF, t, parallelism, null);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample with the given number of
+     * worker threads within a time budget.
+     *
+     * @param sample      the sampled configurations
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @param budget      the time budget, or {@code null} for no limit
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     * @throws BudgetExceededException if the budget is exceeded; the statistics of
+     *                                 the interactions classified so far are
+     *                                 attached
+     */
+    public static CoverageStatistic computeTWiseStatistics(BooleanAssignmentList sample,
+            BooleanAssignmentList computedCNF, int t, int parallelism, Duration budget) {
+        if (!sample.getVariableMap().equals(computedCNF.getVariableMap())) {
+            System.out.println("Variable maps of sample and CNF differ, using FeatJAR coverage computation.");
+            return TWiseCalculator.computeFeatJARStatistics(sample, computedCNF, t, budget);
+        }
+
+        SampleMatrix matrix = new SampleMatrix(computedCNF.getVariableMap().getVariableCount());
+        for (BooleanAssignment configuration : sample.toSolutionList()) {
+            matrix.addConfiguration(configuration.get());
+        }
+        return computeTWiseStatistics(matrix, computedCNF, t, parallelism, budget);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample that is given as a
+     * {@link SampleMatrix}, e.g. because it was streamed from a file without
+     * creating a {@link BooleanAssignmentList}.
+     *
+     * @param sample      the sampled configurations, using the variable indices of
+     *                    the CNF
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     * @throws IllegalArgumentException if the matrix has fewer variables than the
+     *                                  CNF
+     */
+    public static CoverageStatistic computeTWiseStatistics(SampleMatrix sample, BooleanAssignmentList computedCNF,
+            int t, int parallelism) {
+        return computeTWiseStatistics(sample, computedCNF, t, parallelism, null);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample that is given as a
+     * {@link SampleMatrix} within a time budget. When the budget is exceeded, the
+     * workers stop after their current block of combinations.
+     *
+     * @param sample      the sampled configurations, using the variable indices of
+     *                    the CNF
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @param budget      the time budget, or {@code null} for no limit
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     * @throws IllegalArgumentException if the matrix has fewer variables than the
+     *                                  CNF
+     * @throws BudgetExceededException  if the budget is exceeded; the statistics
+     *                                  of the interactions classified so far are
+     *                                  attached
+     */
+    public static CoverageStatistic computeTWiseStatistics(SampleMatrix sample, BooleanAssignmentList computedCNF,
+            int t, int parallelism, Duration budget) {
+        return computeTWiseStatistics(sample, computedCNF, t, parallelism, budget, null);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample that is given as a
+     * {@link SampleMatrix} within a time budget, reusing and extending the
+     * validity information of a cache.
+     *
+     * @param sample      the sampled configurations, using the variable indices of
+     *                    the CNF
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @param budget      the time budget, or {@code null} for no limit
+     * @param cache       the validity cache of the CNF with the same variable
+     *                    map and t-value, or {@code null}
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     * @throws IllegalArgumentException if the matrix has fewer variables than the
+     *                                  CNF
+     * @throws BudgetExceededException  if the budget is exceeded; the statistics
+     *                                  of the interactions classified so far are
+     *                                  attached
+     */
+    public static CoverageStatistic computeTWiseStatistics(SampleMatrix sample, BooleanAssignmentList computedCNF,
+            int t, int parallelism, Duration budget, ValidityCache cache) {
+        return computeTWiseStatistics(sample, computedCNF, t, parallelism, budget, cache, null);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics of a sample that is given as a
+     * {@link SampleMatrix} and collects its uncovered interactions.
+     *
+     * @param sample      the sampled configurations, using the variable indices of
+     *                    the CNF
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @param parallelism the number of worker threads
+     * @param budget      the time budget, or {@code null} for no limit
+     * @param cache       the validity cache of the CNF with the same variable
+     *                    map and t-value, or {@code null}
+     * @param uncovered   the set to which the valid interactions that the sample
+     *                    does not cover are added, or {@code null}
+     * @return a {@link CoverageStatistic} with the covered, uncovered and invalid
+     *         interactions
+     * @throws IllegalArgumentException if the matrix has fewer variables than the
+     *                                  CNF
+     * @throws BudgetExceededException  if the budget is exceeded; the statistics
+     *                                  of the interactions classified so far are
+     *                                  attached
+     */
+    public static CoverageStatistic computeTWiseStatistics(SampleMatrix sample, BooleanAssignmentList computedCNF,
+            int t, int parallelism, Duration budget, ValidityCache cache, UncoveredInteractions uncovered) {
+        long deadline = budget != null ? System.nanoTime() + budget.toNanos() : Long.MAX_VALUE;
+        CoverageStatistic statistic = new CoverageStatistic();
+        int variableCount = computedCNF.getVariableMap().getVariableCount();
+        if (sample.getVariableCount() < variableCount) {
+            throw new IllegalArgumentException("The sample has fewer variables than the CNF.");
+        }
+        if (t < 1 || t > variableCount) {
+            return statistic;
+        }
+
+        ParallelCoverageCalculator calculator = new ParallelCoverageCalculator(sample, computedCNF, t, deadline,
+                cache, uncovered);
+        long combinations = BinomialCalculator.computeBinomial(variableCount, t);
+        long minRangeSize = Math.max(1, Long.getLong(MIN_RANGE_SIZE_PROPERTY, DEFAULT_MIN_RANGE_SIZE));
+        long rangeSize = Math.max(minRangeSize, combinations / (8L * parallelism));
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long[] counts = pool.invoke(calculator.new RangeTask(0, combinations, rangeSize));
+            statistic.setNumberOfCoveredConditions(counts[0]);
+            statistic.setNumberOfUncoveredConditions(counts[1]);
+            statistic.setNumberOfInvalidConditions(counts[2]);
+        } finally {
+            pool.shutdown();
+        }
+        if (calculator.expired) {
+            throw new BudgetExceededException("coverage", budget, statistic);
+        }
+        return statistic;
+    }
+
+    /**
+     * Counts the covered, uncovered and invalid interactions of the combinations
+     * with index {@code [start, end)} in colexicographic order and collects the
+     * uncovered ones if requested. Stops early when the deadline has passed.
+     */
+    private long[] countRange(long start, long end) {
+        Worker worker = workers.get();
+        long[] counts = new long[3];
+        int[] combination = binomialCalculator.combination(start);
+        int[] literals = new int[t];
+        int patterns = 1 << t;
+        // uncovered interactions of the range, added to the shared set when the
+        // buffer is full and at the end
+        int[] packed = new int[uncovered != null ? UNCOVERED_BUFFER_SIZE * t : 0];
+        int length = 0;
+        for (long index = start; index < end; index++) {
+            if ((index & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+                expired = true;
+                break;
+            }
+            for (int pattern = 0; pattern < patterns; pattern++) {
+                for (int i = 0; i < t; i++) {
+                    int variable = combination[i] + 1;
+                    literals[i] = (pattern & (1 << i)) == 0 ? variable : -variable;
+                }
+                if (sample.covers(literals)) {
+                    counts[0]++;
+                } else if (worker.isValid(literals)) {
+                    counts[1]++;
+                    if (uncovered != null) {
+                        System.arraycopy(literals, 0, packed, length, t);
+                        length += t;
+                        if (length == packed.length) {
+                            uncovered.addAll(packed, length);
+                            length = 0;
+                        }
+                    }
+                } else {
+                    counts[2]++;
+                }
+            }
+            nextCombination(combination);
+        }
+        if (length > 0) {
+            uncovered.addAll(packed, length);
+        }
+        return counts;
+    }
+
+    private void nextCombination(int[] combination) {
+        int i = 0;
+        while (i < t - 1 && combination[i] + 1 == combination[i + 1]) {
+            combination[i] = i;
+            i++;
+        }
+        combination[i]++;
+    }
+
+    /**
+     * Validity checks of one worker thread.
+     */
+    private class Worker {
+        private final Random random = new Random(1);
+        private final SampleBitIndex solutions = new SampleBitIndex(variableCount);
+        private final SAT4JSolutionSolver solver;
+
+        Worker() {
+            solver = new SAT4JSolutionSolver(computedCNF);
+            SAT4JSolver.initializeSolver(solver, computedCNF, new BooleanAssignment(),
+                    new BooleanAssignmentList(null, 0), Duration.ZERO);
+            solver.setSelectionStrategy(ISelectionStrategy.random(random));
+            if (cache != null) {
+                for (BooleanAssignment solution : cache.getSolutions()) {
+                    solutions.addConfiguration(solution.get());
+                }
+            }
+        }
+
+        boolean isValid(int[] literals) {
+            if (solutions.test(literals)) {
+                return true;
+            }
+            if (cache != null && cache.isInvalid(literals)) {
+                return false;
+            }
+            try {
+                new MIGVisitorByte(mig).propagate(literals);
+            } catch (RuntimeContradictionException e) {
+                return false;
+            }
+            int assignmentSize = solver.getAssignment().size();
+            try {
+                solver.getAssignment().addAll(literals);
+                Result<Boolean> hasSolution = solver.hasSolution();
+                if (!hasSolution.isPresent()) {
+                    throw new RuntimeTimeoutException();
+                }
+                if (hasSolution.get()) {
+                    solutions.addConfiguration(solver.getInternalSolution());
+                    if (cache != null) {
+                        cache.addSolution(solver.getInternalSolution());
+                    }
+                    solver.shuffleOrder(random);
+                    return true;
+                }
+                if (cache != null) {
+                    cache.addInvalid(literals);
+                }
+                return false;
+            } finally {
+                solver.getAssignment().clear(assignmentSize);
+            }
+        }
+    }
+
+    /**
+     * Splits a range of combination indices until it is small enough to be
+     * counted by a single worker.
+     */
+    private class RangeTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long start;
+        private final long end;
+        private final long rangeSize;
+
+        RangeTask(long start, long end, long rangeSize) {
+            this.start = start;
+            this.end = end;
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (expired) {
+                return new long[3];
+            }
+            if (end - start <= rangeSize) {
+                return countRange(start, end);
+            }
+            long middle = start + (end - start) / 2;
+            RangeTask left = new RangeTask(start, middle, rangeSize);
+            left.fork();
+            long[] right = new RangeTask(middle, end, rangeSize).compute();
+            long[] counts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += right[i];
+            }
+            return counts;
+        }
+    }
+}
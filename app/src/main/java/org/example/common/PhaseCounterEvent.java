@@ -0,0 +1,28 @@
+package org.example.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a counter of a finished analysis phase recorded by
+ * {@link PhaseMetrics}, e.g. the number of sampled configurations.
+ */
+@Name("org.example.PhaseCounter")
+@Label("Analysis Phase Counter")
+@Category("T-WiseInspect")
+@Description("A counter of a phase of the sampling analysis")
+@StackTrace(false)
+class PhaseCounterEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Counter")
+    String counter;
+
+    @Label("Value")
+    long value;
+}
@@ -0,0 +1,39 @@
+package org.example.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a finished analysis phase recorded by {@link PhaseMetrics}. The
+ * duration of the event is the wall time of the phase.
+ */
+@Name("org.example.Phase")
+@Label("Analysis Phase")
+@Category("T-WiseInspect")
+@Description("A phase of the sampling analysis, e.g. parsing, sampling or coverage computation")
+@StackTrace(false)
+class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("CPU Time")
+    @Description("CPU time of the JVM process during the phase")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by all threads during the phase")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("Peak Heap")
+    @Description("Sum of the peak usages of all heap memory pools during the phase")
+    @DataAmount
+    long peakHeapBytes;
+}
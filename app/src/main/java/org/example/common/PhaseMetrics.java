@@ -0,0 +1,240 @@
+package org.example.common;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.sun.management.OperatingSystemMXBean;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Records the resource usage of the phases of an analysis.
+ * <p>
+ * For every phase, the following metrics are recorded:
+ * <ul>
+ * <li><b>wallTimeNanos</b> – The elapsed time.</li>
+ * <li><b>cpuTimeNanos</b> – The CPU time of the JVM process, i.e. of all
+ * threads including garbage collection.</li>
+ * <li><b>allocatedBytes</b> – The bytes allocated by all threads of the
+ * JVM.</li>
+ * <li><b>peakHeapBytes</b> – The highest heap usage observed during the
+ * phase, i.e. the sum of the usages of all heap memory pools, sampled every
+ * {@value #HEAP_POLL_MILLIS} ms and at the start and end of the phase.</li>
+ * <li><b>counters</b> – Phase-specific counters, e.g. the number of sampled
+ * configurations, added with {@link #addCounter(String, long)}.</li>
+ * </ul>
+ * Each finished phase is also emitted as JFR event {@code org.example.Phase},
+ * with one {@code org.example.PhaseCounter} event per counter, so the phases
+ * show up in flight recordings started with
+ * {@code -XX:StartFlightRecording}.
+ * </p>
+ * <p>
+ * The CPU and memory metrics are process-wide, so the metrics of phases that
+ * run concurrently, e.g. core and dead features and sampling, include the work
+ * of each other. The peak heap usage is observed by a single poller for all
+ * running phases instead of resetting the peak usage of the memory pools, so a
+ * starting phase never truncates the peak of a phase that is already running.
+ * </p>
+ */
+public class PhaseMetrics {
+
+    // Phase of the current thread to which counters are added
+    private static final ThreadLocal<Phase> ACTIVE_PHASE = new ThreadLocal<>();
+
+    private static final long HEAP_POLL_MILLIS = 10;
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = getHeapPools();
+    // Phases of all threads whose peak heap usage is observed by the poller
+    private static final Set<Phase> RUNNING_PHASES = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService heapPoller;
+
+    private final List<Phase> phases = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Runs an action as a phase and records its metrics.
+     *
+     * @param <T>    the result type of the action
+     * @param name   the name of the phase
+     * @param action the work of the phase
+     * @return the result of the action
+     */
+    public <T> T measure(String name, Supplier<T> action) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        Phase phase = new Phase(name);
+        phase.observeHeap(getUsedHeapBytes());
+        startHeapPoller();
+        RUNNING_PHASES.add(phase);
+        Phase outerPhase = ACTIVE_PHASE.get();
+        ACTIVE_PHASE.set(phase);
+        PhaseEvent event = new PhaseEvent();
+        event.begin();
+        long allocatedBytes = threads.getTotalThreadAllocatedBytes();
+        long cpuTime = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            phase.wallTimeNanos = System.nanoTime() - start;
+            phase.cpuTimeNanos = os.getProcessCpuTime() - cpuTime;
+            phase.allocatedBytes = threads.getTotalThreadAllocatedBytes() - allocatedBytes;
+            RUNNING_PHASES.remove(phase);
+            phase.observeHeap(getUsedHeapBytes());
+            event.end();
+            ACTIVE_PHASE.set(outerPhase);
+            phases.add(phase);
+            commitEvents(phase, event);
+        }
+    }
+
+    /**
+     * Runs an action as a phase and records its metrics.
+     *
+     * @param name   the name of the phase
+     * @param action the work of the phase
+     */
+    public void measure(String name, Runnable action) {
+        measure(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Adds a value to a counter of the phase that is running in the current
+     * thread. Does nothing if no phase is running, so sampling and coverage code
+     * can report counters regardless of whether it is measured.
+     *
+     * @param name  the name of the counter
+     * @param value the value to add
+     */
+    public static void addCounter(String name, long value) {
+        Phase phase = ACTIVE_PHASE.get();
+        if (phase != null) {
+            phase.counters.merge(name, value, Long::sum);
+        }
+    }
+
+    /**
+     * @return the finished phases in the order in which they finished
+     */
+    public List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    private static synchronized void startHeapPoller() {
+        if (heapPoller == null) {
+            heapPoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "heap-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            heapPoller.scheduleAtFixedRate(PhaseMetrics::pollHeap, HEAP_POLL_MILLIS, HEAP_POLL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void pollHeap() {
+        if (!RUNNING_PHASES.isEmpty()) {
+            long used = getUsedHeapBytes();
+            for (Phase phase : RUNNING_PHASES) {
+                phase.observeHeap(used);
+            }
+        }
+    }
+
+    private static long getUsedHeapBytes() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    private static List<MemoryPoolMXBean> getHeapPools() {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+        return heapPools;
+    }
+
+    private static void commitEvents(Phase phase, PhaseEvent event) {
+        if (event.shouldCommit()) {
+            event.phase = phase.name;
+            event.cpuTime = phase.cpuTimeNanos;
+            event.allocatedBytes = phase.allocatedBytes;
+            event.peakHeapBytes = phase.getPeakHeapBytes();
+            event.commit();
+        }
+        for (Map.Entry<String, Long> counter : phase.counters.entrySet()) {
+            PhaseCounterEvent counterEvent = new PhaseCounterEvent();
+            if (counterEvent.shouldCommit()) {
+                counterEvent.phase = phase.name;
+                counterEvent.counter = counter.getKey();
+                counterEvent.value = counter.getValue();
+                counterEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Metrics of a finished phase.
+     */
+    public static class Phase {
+        private final String name;
+        private long wallTimeNanos;
+        private long cpuTimeNanos;
+        private long allocatedBytes;
+        private long peakHeapBytes;
+        private final Map<String, Long> counters = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        private synchronized void observeHeap(long usedBytes) {
+            peakHeapBytes = Math.max(peakHeapBytes, usedBytes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public synchronized long getPeakHeapBytes() {
+            return peakHeapBytes;
+        }
+
+        public Map<String, Long> getCounters() {
+            synchronized (counters) {
+                return new LinkedHashMap<>(counters);
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.common;
+
+import java.util.Arrays;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Column-major bitset view of a sample.
+ * <p>
+ * For every literal the matrix keeps one {@code long[]} column with one bit
+ * per configuration. A configuration contains an interaction if its bit is set
+ * in the columns of all literals of the interaction, so the frequency of an
+ * interaction is the population count of the AND of these columns.
+ * </p>
+ */
+public class SampleMatrix {
+
+    private static final int INITIAL_WORDS = 1;
+
+    private final int variableCount;
+    private final long[][] columns;
+    private int words;
+    private int size;
+
+    /**
+     * Creates an empty matrix for variables {@code 1..variableCount}.
+     *
+     * @param variableCount the highest variable index that may occur in a
+     *                      configuration
+     */
+    public SampleMatrix(int variableCount) {
+        this.variableCount = variableCount;
+        this.columns = new long[2 * (variableCount + 1)][];
+        this.words = INITIAL_WORDS;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new long[words];
+        }
+    }
+
+    /**
+     * Creates a matrix containing all configurations of the given sample.
+     *
+     * @param sample the sampled configurations
+     * @return the filled matrix
+     */
+    public static SampleMatrix of(BooleanAssignmentList sample) {
+        int variableCount = sample.getVariableMap().getVariableCount();
+        for (BooleanAssignment configuration : sample) {
+            for (int literal : configuration.get()) {
+                variableCount = Math.max(variableCount, Math.abs(literal));
+            }
+        }
+        SampleMatrix matrix = new SampleMatrix(variableCount);
+        for (BooleanAssignment configuration : sample) {
+            matrix.addConfiguration(configuration.get());
+        }
+        return matrix;
+    }
+
+    /**
+     * Appends a configuration as a new row of the matrix.
+     *
+     * @param literals the literals of the configuration
+     * @throws IllegalArgumentException if a literal refers to an unknown variable
+     */
+    public void addConfiguration(int[] literals) {
+        if (size == words * Long.SIZE) {
+            words *= 2;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], words);
+            }
+        }
+        int word = size >>> 6;
+        long bit = 1L << (size & 63);
+        for (int literal : literals) {
+            if (literal != 0) {
+                columns[slot(literal)][word] |= bit;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * @return the number of configurations in the matrix
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the highest variable index that may occur in a configuration
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Checks whether a configuration contains the given literal.
+     *
+     * @param configuration the row index of the configuration
+     * @param literal       the literal to check
+     * @return {@code true} if the literal is set in the configuration
+     */
+    public boolean contains(int configuration, int literal) {
+        return (columns[slot(literal)][configuration >>> 6] & (1L << (configuration & 63))) != 0;
+    }
+
+    /**
+     * Counts the configurations that contain all given literals.
+     *
+     * @param literals the literals of the interaction
+     * @return the number of configurations covering the interaction
+     */
+    public int frequency(int... literals) {
+        if (literals.length == 2) {
+            return frequency(literals[0], literals[1]);
+        }
+        long[][] selected = select(literals);
+        int count = 0;
+        for (int w = 0; w < usedWords(); w++) {
+            count += Long.bitCount(and(selected, w));
+        }
+        return count;
+    }
+
+    /**
+     * Counts the configurations that contain both given literals.
+     *
+     * @param first  the first literal of the pair
+     * @param second the second literal of the pair
+     * @return the number of configurations covering the pair
+     */
+    public int frequency(int first, int second) {
+        long[] a = columns[slot(first)];
+        long[] b = columns[slot(second)];
+        int count = 0;
+        for (int w = 0; w < usedWords(); w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether at least one configuration contains all given literals.
+     *
+     * @param literals the literals of the interaction
+     * @return {@code true} if the interaction is covered by the sample
+     */
+    public boolean covers(int... literals) {
+        return nextCovering(0, literals) >= 0;
+    }
+
+    /**
+     * Finds the first configuration that contains all given literals.
+     *
+     * @param literals the literals of the interaction
+     * @return the row index of the first covering configuration, or {@code -1}
+     */
+    public int firstCovering(int... literals) {
+        return nextCovering(0, literals);
+    }
+
+    /**
+     * Finds the first configuration at or after the given row that contains all
+     * given literals.
+     *
+     * @param from     the row index to start searching at
+     * @param literals the literals of the interaction
+     * @return the row index of the next covering configuration, or {@code -1}
+     */
+    public int nextCovering(int from, int... literals) {
+        if (from >= size) {
+            return -1;
+        }
+        long[][] selected = select(literals);
+        int w = from >>> 6;
+        long mask = -1L << (from & 63);
+        for (; w < usedWords(); w++) {
+            long bits = and(selected, w) & mask;
+            if (bits != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            mask = -1L;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of words per column that hold configurations
+     */
+    int usedWords() {
+        return (size + 63) >>> 6;
+    }
+
+    /**
+     * Returns the internal column of a literal. Only the first
+     * {@link #usedWords()} words are meaningful; the array must not be modified.
+     */
+    long[] column(int literal) {
+        return columns[slot(literal)];
+    }
+
+    private long[][] select(int[] literals) {
+        long[][] selected = new long[literals.length][];
+        for (int i = 0; i < literals.length; i++) {
+            selected[i] = columns[slot(literals[i])];
+        }
+        return selected;
+    }
+
+    private long and(long[][] selected, int w) {
+        // the bits of an empty interaction are restricted to existing rows
+        long bits = (w == usedWords() - 1 && (size & 63) != 0) ? (1L << (size & 63)) - 1 : -1L;
+        for (long[] column : selected) {
+            bits &= column[w];
+        }
+        return bits;
+    }
+
+    private int slot(int literal) {
+        int variable = Math.abs(literal);
+        if (variable == 0 || variable > variableCount) {
+            throw new IllegalArgumentException("Unknown variable in literal: " + literal);
+        }
+        return 2 * variable + (literal < 0 ? 1 : 0);
+    }
+}
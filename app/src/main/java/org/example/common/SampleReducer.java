@@ -0,0 +1,92 @@
+package org.example.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Removes configurations from a sample that do not contribute to its t-wise
+ * coverage.
+ * <p>
+ * Every covered interaction has a first covering configuration in any order of
+ * the sample, so the configurations that cover at least one interaction first
+ * form a sample with exactly the same covered interactions. The first covering
+ * configurations are counted in a single pass over the column bitsets of a
+ * {@link SampleMatrix} with {@link CoverageCurve#countFirstCovered}, without
+ * solver calls. The pass is repeated on the remaining configurations, ordered
+ * by the number of interactions they covered first in the previous pass, until
+ * no configuration is removed. Configurations with a large unique contribution
+ * thus come first, and those whose interactions are all covered by them are
+ * dropped.
+ * </p>
+ */
+public class SampleReducer {
+
+    // Each pass keeps a subset, so the passes only bound the run time
+    private static final int MAX_PASSES = 16;
+
+    /**
+     * Reduces a sample without changing its covered t-wise interactions.
+     *
+     * @param sample      the sampled configurations
+     * @param computedCNF the CNF representation of the feature model
+     * @param t           the t-value of the interactions
+     * @return a subset of the sample with the same covered interactions, in the
+     *         order of the original sample
+     */
+    public static BooleanAssignmentList reduce(BooleanAssignmentList sample, BooleanAssignmentList computedCNF,
+            int t) {
+        if (t < 1 || t > computedCNF.getVariableMap().getVariableCount()) {
+            return sample;
+        }
+
+        // indices into the original sample, in the order of the current pass
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < sample.size(); i++) {
+            order.add(i);
+        }
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            List<BooleanAssignment> configurations = new ArrayList<>(order.size());
+            for (int index : order) {
+                configurations.add(sample.get(index));
+            }
+            long[] firstCovered = CoverageCurve.countFirstCovered(
+                    new BooleanAssignmentList(sample.getVariableMap(), configurations), computedCNF, t);
+
+            List<Integer> kept = new ArrayList<>();
+            List<Long> counts = new ArrayList<>();
+            for (int k = 0; k < order.size(); k++) {
+                if (firstCovered[k] > 0) {
+                    kept.add(order.get(k));
+                    counts.add(firstCovered[k]);
+                }
+            }
+            boolean removed = kept.size() < order.size();
+
+            // the next pass starts with the configurations of the largest contribution
+            List<Integer> positions = new ArrayList<>();
+            for (int k = 0; k < kept.size(); k++) {
+                positions.add(k);
+            }
+            positions.sort(Comparator.comparing((Integer k) -> counts.get(k)).reversed());
+            List<Integer> nextOrder = new ArrayList<>(kept.size());
+            for (int k : positions) {
+                nextOrder.add(kept.get(k));
+            }
+            if (!removed && pass > 0) {
+                break;
+            }
+            order = nextOrder;
+        }
+
+        order.sort(null);
+        List<BooleanAssignment> reduced = new ArrayList<>(order.size());
+        for (int index : order) {
+            reduced.add(sample.get(index));
+        }
+        return new BooleanAssignmentList(sample.getVariableMap(), reduced);
+    }
+}
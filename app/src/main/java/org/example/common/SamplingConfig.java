@@ -1,5 +1,8 @@
 package org.example.common;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 /**
  * Configuration holder for specifying parameters used in feature
  * configuration sampling.
@@ -11,12 +14,43 @@ package org.example.common;
  * <li><b>t</b> – The t-value where selectable.</li>
  * <li><b>numberOfConfigurations</b> – The number of configurations to generate
  * (used by uniform sampling).</li>
+ * <li><b>coverageEngine</b> – The engine used to compute t-wise coverage
+ * statistics.</li>
+ * <li><b>csvPrefixes</b> – The sample sizes for which CSV summary rows are
+ * written, or {@code null} for every sample size.</li>
+ * <li><b>samplingTimeout</b>, <b>coverageTimeout</b> – The time budgets of
+ * sampling and coverage computation, or {@code null} for no limit.</li>
+ * <li><b>seed</b> – The random seed of YASA and uniform sampling, or
+ * {@code null} for a random seed.</li>
+ * <li><b>yasaRuns</b> – The number of YASA runs with different seeds whose
+ * smallest fully covering sample is kept.</li>
+ * <li><b>targetCoverage</b>, <b>coveragePlateau</b> – The coverage at which
+ * uniform sampling stops, and the minimum share of the valid interactions that
+ * a chunk must newly cover for uniform sampling to continue, or {@code null}
+ * to sample the full number of configurations.</li>
+ * <li><b>chunkSize</b> – The number of configurations drawn at a time by
+ * uniform sampling with a coverage target or plateau.</li>
+ * <li><b>initialSample</b> – A previous sample whose configurations that are
+ * still valid are extended by YASA, or {@code null} to sample from
+ * scratch.</li>
  * </ul>
  */
 public class SamplingConfig {
+    private static final int[] DEFAULT_CSV_PREFIXES = { 2, 5, 10, 25, 50, 75, 100 };
+
     private SamplingAlgorithm samplingAlgorithm;
     private int t;
     private int numberOfConfigurations;
+    private CoverageEngine coverageEngine = CoverageEngine.FEATJAR;
+    private int[] csvPrefixes = DEFAULT_CSV_PREFIXES.clone();
+    private Duration samplingTimeout;
+    private Duration coverageTimeout;
+    private Long seed;
+    private int yasaRuns = 1;
+    private Double targetCoverage;
+    private Double coveragePlateau;
+    private int chunkSize = 100;
+    private Path initialSample;
 
     /**
      * Creates a new {@code SamplingConfig} with the specified algorithm and t-value
@@ -54,4 +88,84 @@ public class SamplingConfig {
     public void setNumberOfConfigurations(int numberOfConfigurations) {
         this.numberOfConfigurations = numberOfConfigurations;
     }
+
+    public CoverageEngine getCoverageEngine() {
+        return coverageEngine;
+    }
+
+    public void setCoverageEngine(CoverageEngine coverageEngine) {
+        this.coverageEngine = coverageEngine;
+    }
+
+    public int[] getCsvPrefixes() {
+        return csvPrefixes;
+    }
+
+    public void setCsvPrefixes(int[] csvPrefixes) {
+        this.csvPrefixes = csvPrefixes;
+    }
+
+    public Duration getSamplingTimeout() {
+        return samplingTimeout;
+    }
+
+    public void setSamplingTimeout(Duration samplingTimeout) {
+        this.samplingTimeout = samplingTimeout;
+    }
+
+    public Duration getCoverageTimeout() {
+        return coverageTimeout;
+    }
+
+    public void setCoverageTimeout(Duration coverageTimeout) {
+        this.coverageTimeout = coverageTimeout;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public int getYasaRuns() {
+        return yasaRuns;
+    }
+
+    public void setYasaRuns(int yasaRuns) {
+        this.yasaRuns = yasaRuns;
+    }
+
+    public Double getTargetCoverage() {
+        return targetCoverage;
+    }
+
+    public void setTargetCoverage(Double targetCoverage) {
+        this.targetCoverage = targetCoverage;
+    }
+
+    public Double getCoveragePlateau() {
+        return coveragePlateau;
+    }
+
+    public void setCoveragePlateau(Double coveragePlateau) {
+        this.coveragePlateau = coveragePlateau;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Path getInitialSample() {
+        return initialSample;
+    }
+
+    public void setInitialSample(Path initialSample) {
+        this.initialSample = initialSample;
+    }
 }
@@ -1,18 +1,34 @@
 package org.example.common;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 
 import org.example.out.FeatureIdeIO;
+import org.example.out.FeatureIdeWorkerPool;
 
 import de.featjar.analysis.ddnnife.solver.DdnnifeWrapper;
 import de.featjar.analysis.sat4j.computation.YASA;
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
 import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
 import de.featjar.base.data.IntegerList;
 import de.featjar.formula.VariableMap;
-import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
 
 /**
  * Utility class for executing different feature model sampling strategies.
@@ -22,6 +38,7 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
  * <li><b>YASA</b> – YASA algorithm</li>
  * <li><b>Uniform</b> – Uniform random sampling algorithm</li>
  * <li><b>Incling</b> – Incling algorithm</li>
+ * <li><b>ICPL</b> / <b>Chvatal</b> – SPLCATool algorithms via FeatureIDE</li>
  * </ul>
  * <p>
  * Based on the provided {@link SamplingConfig}, this class dispatches to the
@@ -30,6 +47,10 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
  */
 public class SamplingProcessor {
 
+    // The one-shot FeatureIDE JAR exchanges data through fixed file names in the
+    // working directory, so only one such sampling may run at a time.
+    private static final Object FEATURE_IDE_LOCK = new Object();
+
     /**
      * Dispatches to the appropriate sampling strategy based on the configuration.
      *
@@ -40,87 +61,467 @@ public class SamplingProcessor {
      * @param variables   The variable map for resolving variable names and indices.
      * @return A {@link BooleanAssignmentList} containing the sampled
      *         configurations.
+     * @throws BudgetExceededException if the sampling exceeds the sampling
+     *                                 timeout of the configuration; YASA attaches
+     *                                 the configurations sampled so far
      */
     public static BooleanAssignmentList process(SamplingConfig config, BooleanAssignmentList computedCNF,
             VariableMap variables) {
+        Duration budget = config.getSamplingTimeout();
+        if (config.getInitialSample() != null && config.getSamplingAlgorithm() != SamplingAlgorithm.YASA) {
+            System.err.println("Warning: the initial sample is only supported by YASA and is ignored.");
+        }
         switch (config.getSamplingAlgorithm()) {
             case YASA:
-                return processYasaSampling(computedCNF, config.getT(), config.getNumberOfConfigurations());
+                BooleanAssignmentList initialSample = loadInitialSample(config, computedCNF);
+                BooleanAssignmentList sample;
+                if (config.getYasaRuns() > 1) {
+                    sample = processBestOfYasaSampling(computedCNF, config.getT(), config.getNumberOfConfigurations(),
+                            budget, resolveSeed(config), config.getYasaRuns(), initialSample);
+                } else {
+                    sample = processYasaSampling(computedCNF, config.getT(), config.getNumberOfConfigurations(),
+                            budget, resolveSeed(config), initialSample);
+                }
+                if (initialSample != null) {
+                    int added = Math.max(0, sample.size() - initialSample.size());
+                    System.out.println("YASA added " + added + " configurations to the initial sample");
+                    PhaseMetrics.addCounter("newConfigurations", added);
+                }
+                return sample;
             case UNIFORM:
-                return processUniformSampling(computedCNF, config.getNumberOfConfigurations());
+                if (config.getTargetCoverage() != null || config.getCoveragePlateau() != null) {
+                    return processChunkedUniformSampling(computedCNF, config, budget, resolveSeed(config));
+                }
+                return processUniformSampling(computedCNF, config.getNumberOfConfigurations(), budget,
+                        resolveSeed(config));
             case INCLING:
                 return processFeatureIDESampling(computedCNF, variables, SamplingAlgorithm.INCLING, 2,
-                        config.getNumberOfConfigurations());
+                        config.getNumberOfConfigurations(), budget);
             case ICPL:
                 return processFeatureIDESampling(computedCNF, variables, SamplingAlgorithm.ICPL, config.getT(),
-                        config.getNumberOfConfigurations());
+                        config.getNumberOfConfigurations(), budget);
             case CHVATAL:
                 return processFeatureIDESampling(computedCNF, variables, SamplingAlgorithm.CHVATAL, config.getT(),
-                        config.getNumberOfConfigurations());
+                        config.getNumberOfConfigurations(), budget);
             default:
                 throw new UnsupportedOperationException("Unsupported sampling algorithm.");
         }
     }
 
     /**
-     * Executes t-wise sampling using the YASA algorithm.
+     * Returns the seed of the configuration, or a random seed if none is
+     * configured. The seed is printed, so that every run can be reproduced.
      *
+     * @param config The sampling configuration.
+     * @return The seed for the sampling algorithm.
+     */
+    private static long resolveSeed(SamplingConfig config) {
+        long seed = config.getSeed() != null ? config.getSeed() : new Random().nextLong();
+        System.out.println("Using random seed " + seed);
+        return seed;
+    }
+
+    /**
+     * Loads the valid configurations of the initial sample of the configuration.
+     *
+     * @param config      The sampling configuration.
      * @param computedCNF The feature model in CNF form.
-     * @param T           The t-value (e.g., 2 for pairwise feature interactions).
+     * @return The valid configurations of the initial sample, or {@code null} if
+     *         no initial sample is configured.
+     * @throws RuntimeException if the sample file cannot be read.
+     * @see InitialSampleLoader
+     */
+    private static BooleanAssignmentList loadInitialSample(SamplingConfig config,
+            BooleanAssignmentList computedCNF) {
+        if (config.getInitialSample() == null) {
+            return null;
+        }
+        try {
+            return InitialSampleLoader.load(config.getInitialSample(), computedCNF);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the initial sample " + config.getInitialSample(), e);
+        }
+    }
+
+    /**
+     * Executes t-wise sampling using the YASA algorithm.
+     * <p>
+     * The configurations of an initial sample are kept unchanged at the start of
+     * the result and count towards the configuration limit, so YASA only adds the
+     * configurations needed to cover the remaining interactions.
+     * </p>
+     *
+     * @param computedCNF   The feature model in CNF form.
+     * @param T             The t-value (e.g., 2 for pairwise feature
+     *                      interactions).
+     * @param budget        The time budget, or {@code null} for no limit.
+     * @param seed          The random seed of YASA.
+     * @param initialSample Valid configurations to extend, or {@code null}.
      * @return A list of configurations satisfying t-wise coverage.
      */
     private static BooleanAssignmentList processYasaSampling(BooleanAssignmentList computedCNF, int T,
-            int configLimit) {
-        Random random = new Random();
-        long randomSeed = random.nextLong();
-        return new YASA(Computations.of(computedCNF))
+            int configLimit, Duration budget, long seed, BooleanAssignmentList initialSample) {
+        IComputation<BooleanAssignmentList> yasa = new YASA(Computations.of(computedCNF))
                 .set(YASA.T, new IntegerList(T))
                 .set(YASA.CONFIGURATION_LIMIT, configLimit)
-                .set(YASA.RANDOM_SEED, randomSeed)
-                .compute();
+                .set(YASA.RANDOM_SEED, seed);
+        if (initialSample != null && initialSample.size() > 0) {
+            yasa = yasa
+                    .set(YASA.INITIAL_SAMPLE, initialSample)
+                    .set(YASA.ALLOW_CHANGE_TO_INITIAL_SAMPLE, Boolean.FALSE)
+                    .set(YASA.INITIAL_SAMPLE_COUNTS_TOWARDS_CONFIGURATION_LIMIT, Boolean.TRUE);
+        }
+        return TimeBudget.compute(yasa, budget, "sampling");
+    }
+
+    /**
+     * Executes several YASA runs with different seeds concurrently, one per
+     * processor, and keeps the smallest sample among those with the fewest
+     * uncovered interactions.
+     * <p>
+     * The first run uses the given seed, so it can be repeated alone; the seeds of
+     * the other runs are derived from it. A run that stops before the
+     * configuration limit covers every valid interaction. The coverage of runs
+     * that reach the limit is computed to compare them, with the processors that
+     * are not used by the runs. All runs and coverage computations share one
+     * deadline: a run gets the budget that remains when it starts, runs that have
+     * not started when the deadline passes are cancelled, and a run whose
+     * coverage cannot be computed in time ranks behind all others. Runs that
+     * exceed the time budget are only used if no run finishes in time.
+     * </p>
+     *
+     * @param computedCNF The feature model in CNF form.
+     * @param T           The t-value (e.g., 2 for pairwise feature interactions).
+     * @param budget      The time budget of all runs together, or {@code null}
+     *                    for no limit.
+     * @param seed        The random seed of the first run.
+     * @param runs        The number of runs.
+     * @param initialSample Valid configurations that every run extends, or
+     *                    {@code null}.
+     * @return The best sample of all runs.
+     * @throws BudgetExceededException if no run finishes within the budget
+     */
+    private static BooleanAssignmentList processBestOfYasaSampling(BooleanAssignmentList computedCNF, int T,
+            int configLimit, Duration budget, long seed, int runs, BooleanAssignmentList initialSample) {
+        long[] seeds = new long[runs];
+        Random random = new Random(seed);
+        seeds[0] = seed;
+        for (int i = 1; i < runs; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        long deadline = budget != null ? System.nanoTime() + budget.toNanos() : Long.MAX_VALUE;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int threads = Math.min(runs, processors);
+        // the coverage of a finished run is computed while the other runs continue
+        int scoringThreads = Math.max(1, processors / threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<BooleanAssignmentList>> futures = new ArrayList<>();
+        for (long runSeed : seeds) {
+            futures.add(executor.submit(() -> {
+                Duration remaining = remainingBudget(budget, deadline);
+                if (remaining != null && remaining.isZero()) {
+                    throw new BudgetExceededException("sampling", budget, null);
+                }
+                return processYasaSampling(computedCNF, T, configLimit, remaining, runSeed, initialSample);
+            }));
+        }
+        executor.shutdown();
+
+        BooleanAssignmentList best = null;
+        long bestSeed = seed;
+        long bestUncovered = Long.MAX_VALUE;
+        BudgetExceededException exceeded = null;
+        try {
+            for (int i = 0; i < runs; i++) {
+                if (System.nanoTime() > deadline) {
+                    // runs that have not started yet are not started anymore
+                    for (Future<BooleanAssignmentList> future : futures.subList(i, runs)) {
+                        future.cancel(false);
+                    }
+                }
+                BooleanAssignmentList sample;
+                try {
+                    sample = futures.get(i).get();
+                } catch (CancellationException e) {
+                    System.err.println("YASA run with seed " + seeds[i] + " was not started within the budget");
+                    continue;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof BudgetExceededException) {
+                        System.err.println("YASA run with seed " + seeds[i] + ": " + e.getCause().getMessage());
+                        if (exceeded == null) {
+                            exceeded = (BudgetExceededException) e.getCause();
+                        }
+                        continue;
+                    }
+                    throw new RuntimeException("YASA run with seed " + seeds[i] + " failed", e.getCause());
+                }
+
+                long uncovered = 0;
+                if (sample.size() >= configLimit) {
+                    try {
+                        uncovered = ParallelCoverageCalculator.computeTWiseStatistics(sample, computedCNF, T,
+                                scoringThreads, remainingBudget(budget, deadline)).uncovered();
+                    } catch (BudgetExceededException e) {
+                        // rank behind every run whose coverage is known
+                        uncovered = Long.MAX_VALUE - 1;
+                    }
+                }
+                System.out.println("YASA run with seed " + seeds[i] + ": " + sample.size() + " configurations, "
+                        + (uncovered == Long.MAX_VALUE - 1 ? "coverage not computed within the budget"
+                                : uncovered + " uncovered interactions"));
+                if (uncovered < bestUncovered || (uncovered == bestUncovered && sample.size() < best.size())) {
+                    best = sample;
+                    bestSeed = seeds[i];
+                    bestUncovered = uncovered;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the YASA runs", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PhaseMetrics.addCounter("yasaRuns", runs);
+        if (best == null) {
+            throw exceeded != null ? exceeded : new BudgetExceededException("sampling", budget, null);
+        }
+        System.out.println("Keeping the sample of seed " + bestSeed + " with " + best.size() + " configurations");
+        return best;
     }
 
     /**
-     * Executes uniform random sampling.
+     * Returns the part of a budget that remains until its deadline.
+     *
+     * @param budget   The time budget, or {@code null} for no limit.
+     * @param deadline The {@link System#nanoTime()} at which the budget ends.
+     * @return The remaining budget, at least zero, or {@code null} for no limit.
+     */
+    private static Duration remainingBudget(Duration budget, long deadline) {
+        return budget != null ? Duration.ofNanos(Math.max(0, deadline - System.nanoTime())) : null;
+    }
+
+    /**
+     * Executes uniform random sampling. The d-DNNF solver is taken from the
+     * {@link DdnnifeSolverCache}, so a model is compiled only once per JVM.
      *
      * @param computedCNF     The feature model in CNF form.
      * @param numberOfSamples The number of random configurations to generate.
+     * @param budget          The time budget, or {@code null} for no limit. When
+     *                        it is exceeded, the solver is closed.
+     * @param seed            The random seed of the solver.
      * @return A list of randomly sampled valid configurations.
      * @throws RuntimeException if sampling fails due to solver error.
+     * @see DdnnifeSolverCache
      */
     private static BooleanAssignmentList processUniformSampling(BooleanAssignmentList computedCNF,
-            int numberOfSamples) {
-        BooleanAssignmentGroups groups = new BooleanAssignmentGroups(computedCNF);
-        try (DdnnifeWrapper solver = new DdnnifeWrapper(groups)) {
-            Random random = new Random();
-            long randomSeed = random.nextLong();
-            return solver.getRandomSolutions(numberOfSamples, randomSeed).get();
+            int numberOfSamples, Duration budget, long seed) {
+        try (SolverPool.Lease<DdnnifeWrapper> lease = DdnnifeSolverCache.getInstance().acquire(computedCNF)) {
+            BooleanAssignmentList sample = TimeBudget.run(
+                    () -> lease.getSolver().getRandomSolutions(numberOfSamples, seed).get(), budget, "sampling",
+                    lease::close);
+            lease.keep();
+            return sample;
+        } catch (BudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Uniform sampling failed", e);
         }
     }
 
     /**
-     * Executes external FeatureIDE sampling.
+     * Executes uniform random sampling in chunks until a coverage target or a
+     * coverage plateau is reached.
      * <p>
-     * Writes the CNF to a JSON file, runs the FeatureIDESampling JAR, and loads the
-     * resulting
-     * configurations.
+     * Random solutions are drawn in chunks of the configured size, each with a
+     * seed derived from the given one, up to the configured number of
+     * configurations. The number of valid t-wise interactions is determined once
+     * with the {@link ParallelCoverageCalculator} after the first chunk, so only
+     * the interactions that the first chunk does not cover need solver calls.
+     * These interactions are kept as {@link UncoveredInteractions}, and every
+     * further chunk is only tested against the remaining ones, so the earlier
+     * configurations are never scanned again. Sampling stops when the target
+     * coverage is reached, cutting the sample to the smallest prefix that reaches
+     * it, or when a chunk covers less than the plateau share of the valid
+     * interactions.
+     * </p>
+     *
+     * @param computedCNF The feature model in CNF form.
+     * @param config      The sampling configuration with the target coverage,
+     *                    coverage plateau and chunk size.
+     * @param budget      The time budget, or {@code null} for no limit. When it
+     *                    is exceeded, the solver is closed and the configurations
+     *                    sampled so far are attached to the exception.
+     * @param seed        The random seed from which the seeds of the chunks are
+     *                    derived.
+     * @return The sampled configurations.
+     * @throws RuntimeException if sampling fails due to solver error.
+     */
+    private static BooleanAssignmentList processChunkedUniformSampling(BooleanAssignmentList computedCNF,
+            SamplingConfig config, Duration budget, long seed) {
+        // the chunks sampled so far, published without copying the configurations
+        List<BooleanAssignmentList> progress = new CopyOnWriteArrayList<>();
+        AtomicInteger chunks = new AtomicInteger();
+        try (SolverPool.Lease<DdnnifeWrapper> lease = DdnnifeSolverCache.getInstance().acquire(computedCNF)) {
+            BooleanAssignmentList sample = TimeBudget.run(
+                    () -> sampleChunks((size, chunkSeed) -> lease.getSolver().getRandomSolutions(size, chunkSeed).get(),
+                            computedCNF, config, seed, progress, chunks),
+                    budget, "sampling", lease::close);
+            lease.keep();
+            return sample;
+        } catch (BudgetExceededException e) {
+            BooleanAssignmentList partial = null;
+            for (BooleanAssignmentList chunk : progress) {
+                if (partial == null) {
+                    partial = new BooleanAssignmentList(chunk);
+                } else {
+                    partial.addAll(chunk);
+                }
+            }
+            throw new BudgetExceededException("sampling", budget, partial);
+        } catch (Exception e) {
+            throw new RuntimeException("Uniform sampling failed", e);
+        } finally {
+            PhaseMetrics.addCounter("chunks", chunks.get());
+        }
+    }
+
+    /**
+     * Draws configurations in chunks until the target coverage, the coverage
+     * plateau or the configuration limit of the sampling configuration is
+     * reached, as described for UNIFORM sampling with a coverage target.
+     *
+     * @param drawChunk   Draws a chunk of random configurations, given the size
+     *                    of the chunk and its seed.
+     * @param computedCNF The feature model in CNF form.
+     * @param config      The sampling configuration with the target coverage,
+     *                    coverage plateau and chunk size.
+     * @param seed        The random seed from which the seeds of the chunks are
+     *                    derived.
+     * @param progress    The list to which every chunk is added once it is drawn.
+     * @param chunks      The counter of the drawn chunks.
+     * @return The sampled configurations, cut to the smallest prefix that reaches
+     *         the target coverage.
+     */
+    public static BooleanAssignmentList sampleChunks(BiFunction<Integer, Long, BooleanAssignmentList> drawChunk,
+            BooleanAssignmentList computedCNF, SamplingConfig config, long seed, List<BooleanAssignmentList> progress,
+            AtomicInteger chunks) {
+        int t = config.getT();
+        int limit = config.getNumberOfConfigurations();
+        Double target = config.getTargetCoverage();
+        Double plateau = config.getCoveragePlateau();
+        Random random = new Random(seed);
+        VariableMap variableMap = computedCNF.getVariableMap();
+        UncoveredInteractions uncovered = new UncoveredInteractions(t);
+
+        BooleanAssignmentList sample = null;
+        long valid = 0;
+        long covered = 0;
+        while (sample == null || sample.size() < limit) {
+            int size = sample == null ? 0 : sample.size();
+            BooleanAssignmentList chunk = drawChunk.apply(Math.min(config.getChunkSize(), limit - size),
+                    random.nextLong());
+            chunks.incrementAndGet();
+            progress.add(chunk);
+            SampleMatrix matrix = SampleMatrix.of(chunk.getVariableMap().equals(variableMap) ? chunk
+                    : chunk.adapt(variableMap));
+            long[] firstCovered;
+            if (sample == null) {
+                sample = new BooleanAssignmentList(chunk);
+                CoverageStatistic statistic = ParallelCoverageCalculator.computeTWiseStatistics(matrix, computedCNF,
+                        t, Runtime.getRuntime().availableProcessors(), null, null, uncovered);
+                valid = statistic.covered() + statistic.uncovered();
+                firstCovered = CoverageCurve.countFirstCovered(chunk, computedCNF, t);
+            } else {
+                sample.addAll(chunk);
+                // only the interactions that earlier chunks left uncovered can be covered first
+                firstCovered = uncovered.removeCovered(matrix);
+            }
+
+            long previous = covered;
+            for (int k = size; k < sample.size(); k++) {
+                covered += firstCovered[k - size];
+                if (target != null && covered >= target * valid) {
+                    System.out.println("Reached target coverage " + target + " with " + (k + 1)
+                            + " configurations after " + chunks.get() + " chunks");
+                    return new BooleanAssignmentList(sample.getVariableMap(), sample.getAll().subList(0, k + 1));
+                }
+            }
+            if (chunk.size() == 0) {
+                break;
+            }
+            if (plateau != null && size > 0 && covered - previous < plateau * valid) {
+                System.out.println("Reached coverage plateau with " + sample.size() + " configurations after "
+                        + chunks.get() + " chunks");
+                return sample;
+            }
+        }
+        System.out.println("Reached configuration limit with coverage "
+                + (valid == 0 ? 1.0 : (double) covered / valid));
+        return sample;
+    }
+
+    /**
+     * Executes FeatureIDE sampling.
+     * <p>
+     * If the algorithm is available in the FeatureIDE library on the classpath, it
+     * runs in-process on the clause list. Otherwise it is sent to a persistent
+     * worker of the {@link FeatureIdeWorkerPool}, which has the FeatureIDE JAR on
+     * its classpath. If no worker can be used, the CNF is written to a JSON file,
+     * the FeatureIDESampling JAR is run, and the resulting configurations are
+     * loaded.
      *
      * @param computedCNF       The feature model in CNF form.
      * @param variables         The variable map used for resolving variable names.
      * @param samplingAlgorithm The sampling algorithem to be used.
      * @param tValue            The desired level of interaction coverage (e.g. 2
      *                          for pairwise).
+     * @param budget            The time budget, or {@code null} for no limit. When
+     *                          it is exceeded, the in-process generator is
+     *                          cancelled or the worker or JAR process is
+     *                          killed.
      * @return A list of configurations sampled by FeatureIDE, or {@code null} if
-     *         execution fails.
+     *         execution of the JAR fails.
      */
     private static BooleanAssignmentList processFeatureIDESampling(BooleanAssignmentList computedCNF,
-            VariableMap variables, SamplingAlgorithm samplingAlgorithm, int tVaue, int configLimit) {
+            VariableMap variables, SamplingAlgorithm samplingAlgorithm, int tVaue, int configLimit,
+            Duration budget) {
+        if (FeatureIdeSampler.isAvailable(samplingAlgorithm)) {
+            // cancelling the monitor stops the generator at its next check
+            NullMonitor<List<LiteralSet>> monitor = new NullMonitor<>();
+            return TimeBudget.run(
+                    () -> FeatureIdeSampler.sample(computedCNF, samplingAlgorithm, tVaue, configLimit, monitor),
+                    budget, "sampling", monitor::cancel);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return FeatureIdeWorkerPool.getInstance().sample(computedCNF, samplingAlgorithm, tVaue, configLimit,
+                    budget);
+        } catch (TimeoutException e) {
+            throw new BudgetExceededException("sampling", budget, null);
+        } catch (IOException e) {
+            System.err.println(e.getMessage() + " Falling back to the FeatureIDE JAR.");
+        } finally {
+            PhaseMetrics.addCounter("subprocessTimeMs", (System.nanoTime() - start) / 1_000_000);
+        }
+
         List<int[]> assignments = AssignmentUtils.convertToIntArrays(computedCNF.getAll());
-        FeatureIdeIO.writeCnfJson(assignments, variables.getVariableNames());
+        synchronized (FEATURE_IDE_LOCK) {
+            FeatureIdeIO.writeCnfJson(assignments, variables.getVariableNames());
 
-        Path result = FeatureIdeIO.runFeatureIdeJar(samplingAlgorithm, tVaue, configLimit);
-        return result != null ? FeatureIdeIO.loadAssignmentsFromJson(result.toString(), variables) : null;
+            start = System.nanoTime();
+            Path result;
+            try {
+                result = FeatureIdeIO.runFeatureIdeJar(samplingAlgorithm, tVaue, configLimit, budget);
+            } catch (TimeoutException e) {
+                throw new BudgetExceededException("sampling", budget, null);
+            } finally {
+                PhaseMetrics.addCounter("subprocessTimeMs", (System.nanoTime() - start) / 1_000_000);
+            }
+            return result != null ? FeatureIdeIO.loadAssignmentsFromJson(result.toString(), variables) : null;
+        }
     }
 }
@@ -0,0 +1,213 @@
+package org.example.common;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+
+/**
+ * Pool of expensive solvers that are kept alive between uses within one
+ * process.
+ * <p>
+ * Solvers are identified by a key, e.g. the hash of the clause list they were
+ * created for, and leased for exclusive use. After a successful use, a solver
+ * returns to the pool as idle and is handed out again for the same key. Up to
+ * a fixed number of idle solvers are kept; the least recently used solver is
+ * closed first. Each solver is accounted with an estimated size, so that the
+ * memory of the idle solvers can be bounded together with other caches.
+ * </p>
+ *
+ * @param <S> the type of the solvers
+ */
+public class SolverPool<S extends AutoCloseable> implements AutoCloseable {
+
+    private final int size;
+    // Idle solvers, the most recently released last
+    private final LinkedList<Lease<S>> idle = new LinkedList<>();
+    private long idleBytes;
+    private boolean closed;
+
+    /**
+     * Creates a pool that keeps up to {@code size} idle solvers.
+     *
+     * @param size the maximum number of idle solvers
+     */
+    public SolverPool(int size) {
+        this.size = Math.max(0, size);
+    }
+
+    /**
+     * Returns a solver for a key for exclusive use, reusing an idle solver of
+     * the same key if there is one.
+     *
+     * @param key    the key of the solver
+     * @param bytes  the estimated size of a new solver in bytes
+     * @param create creates a new solver if no idle solver of the key exists
+     * @return the lease of the solver, which must be closed after use
+     * @throws Exception if a new solver cannot be created
+     */
+    public Lease<S> acquire(String key, long bytes, Callable<S> create) throws Exception {
+        synchronized (this) {
+            Iterator<Lease<S>> leases = idle.descendingIterator();
+            while (leases.hasNext()) {
+                Lease<S> lease = leases.next();
+                if (lease.key.equals(key)) {
+                    leases.remove();
+                    idleBytes -= lease.bytes;
+                    lease.reuse();
+                    System.out.println("Reusing solver " + key.substring(0, Math.min(12, key.length())));
+                    PhaseMetrics.addCounter("solverReused", 1);
+                    return lease;
+                }
+            }
+        }
+        PhaseMetrics.addCounter("solverReused", 0);
+        return new Lease<>(this, key, bytes, create.call());
+    }
+
+    private synchronized void release(Lease<S> lease) {
+        if (closed || size == 0) {
+            lease.closeSolver();
+            return;
+        }
+        idle.addLast(lease);
+        idleBytes += lease.bytes;
+        while (idle.size() > size) {
+            closeLeastRecentlyUsed();
+        }
+    }
+
+    /**
+     * Closes the least recently used idle solver.
+     *
+     * @return the estimated size of the closed solver in bytes, or {@code 0} if
+     *         there is no idle solver
+     */
+    public synchronized long closeLeastRecentlyUsed() {
+        if (idle.isEmpty()) {
+            return 0;
+        }
+        Lease<S> lease = idle.removeFirst();
+        idleBytes -= lease.bytes;
+        lease.closeSolver();
+        return lease.bytes;
+    }
+
+    /**
+     * Closes the idle solvers of a key, e.g. when its model is evicted from
+     * another cache.
+     *
+     * @param key the key of the solvers
+     */
+    public synchronized void closeIdle(String key) {
+        Iterator<Lease<S>> leases = idle.iterator();
+        while (leases.hasNext()) {
+            Lease<S> lease = leases.next();
+            if (lease.key.equals(key)) {
+                leases.remove();
+                idleBytes -= lease.bytes;
+                lease.closeSolver();
+            }
+        }
+    }
+
+    /**
+     * Closes all idle solvers, e.g. to free memory. The pool remains usable.
+     */
+    public synchronized void closeIdle() {
+        for (Lease<S> lease : idle) {
+            lease.closeSolver();
+        }
+        idle.clear();
+        idleBytes = 0;
+    }
+
+    /**
+     * @return the number of idle solvers
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return the estimated size of all idle solvers in bytes
+     */
+    public synchronized long getIdleBytes() {
+        return idleBytes;
+    }
+
+    /**
+     * Closes all idle solvers. Solvers in use are closed when their lease is
+     * closed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    /**
+     * Exclusive use of a pooled solver. A solver is only returned to the pool if
+     * {@link #keep()} is called before the lease is closed, so a solver whose use
+     * failed or was cancelled is closed instead of being reused.
+     *
+     * @param <S> the type of the solver
+     */
+    public static class Lease<S extends AutoCloseable> implements AutoCloseable {
+        private final SolverPool<S> pool;
+        private final String key;
+        private final long bytes;
+        private final S solver;
+        private boolean kept;
+        private boolean released;
+
+        private Lease(SolverPool<S> pool, String key, long bytes, S solver) {
+            this.pool = pool;
+            this.key = key;
+            this.bytes = bytes;
+            this.solver = solver;
+        }
+
+        public S getSolver() {
+            return solver;
+        }
+
+        private synchronized void reuse() {
+            kept = false;
+            released = false;
+        }
+
+        /**
+         * Marks the solver as reusable after a successful use.
+         */
+        public synchronized void keep() {
+            kept = true;
+        }
+
+        /**
+         * Returns the solver to the pool if it was kept and closes it otherwise.
+         * Closing a lease more than once has no effect.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            if (kept) {
+                pool.release(this);
+            } else {
+                closeSolver();
+            }
+        }
+
+        private void closeSolver() {
+            try {
+                solver.close();
+            } catch (Exception e) {
+                System.err.println("Failed to close solver: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.example.common;
 
+import java.time.Duration;
+
 import de.featjar.analysis.sat4j.twise.ConstraintedCoverageComputation;
 import de.featjar.analysis.sat4j.twise.CoverageStatistic;
 import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
 import de.featjar.base.data.IntegerList;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 
@@ -23,10 +26,11 @@ public class TWiseCalculator {
      * configurations.
      *
      * <p>
-     * This method uses the {@link ConstraintedCoverageComputation} from FeatJAR to
-     * calculate how many t-wise feature interactions are covered in the provided
-     * sample,
-     * based on the CNF representation of the feature model.
+     * Depending on the {@link CoverageEngine} of the sampling configuration, this
+     * method uses the {@link ConstraintedCoverageComputation} from FeatJAR or the
+     * {@link ParallelCoverageCalculator} to calculate how many t-wise feature
+     * interactions are covered in the provided sample, based on the CNF
+     * representation of the feature model. Both engines yield the same result.
      * </p>
      *
      * @param sample         the list of Boolean assignments representing the
@@ -37,14 +41,57 @@ public class TWiseCalculator {
      *                       algorithm
      * @return a {@link CoverageStatistic} object containing details on the t-wise
      *         coverage
+     * @throws BudgetExceededException if the computation exceeds the coverage
+     *                                 timeout of the sampling configuration
      */
     public static CoverageStatistic computeTWiseStatistics(BooleanAssignmentList sample,
             BooleanAssignmentList computedCNF, SamplingConfig samplingConfig) {
-        CoverageStatistic statistic = Computations.of(sample)
+        if (samplingConfig.getCoverageEngine() == CoverageEngine.PARALLEL) {
+            return ParallelCoverageCalculator.computeTWiseStatistics(sample, computedCNF, samplingConfig.getT(),
+                    Runtime.getRuntime().availableProcessors(), samplingConfig.getCoverageTimeout());
+        }
+        return computeFeatJARStatistics(sample, computedCNF, samplingConfig.getT(),
+                samplingConfig.getCoverageTimeout());
+    }
+
+    /**
+     * Computes the t-wise coverage statistics for a given set of sampled
+     * configurations with FeatJAR's {@link ConstraintedCoverageComputation}.
+     *
+     * @param sample      the list of Boolean assignments representing the sampled
+     *                    configurations
+     * @param computedCNF the CNF representation of the feature model, used to
+     *                    enforce constraints
+     * @param t           the t-value of the interactions
+     * @return a {@link CoverageStatistic} object containing details on the t-wise
+     *         coverage
+     */
+    public static CoverageStatistic computeFeatJARStatistics(BooleanAssignmentList sample,
+            BooleanAssignmentList computedCNF, int t) {
+        return computeFeatJARStatistics(sample, computedCNF, t, null);
+    }
+
+    /**
+     * Computes the t-wise coverage statistics with FeatJAR's
+     * {@link ConstraintedCoverageComputation} within a time budget. When the
+     * budget is exceeded, FeatJAR cancels the computation.
+     *
+     * @param sample      the list of Boolean assignments representing the sampled
+     *                    configurations
+     * @param computedCNF the CNF representation of the feature model, used to
+     *                    enforce constraints
+     * @param t           the t-value of the interactions
+     * @param budget      the time budget, or {@code null} for no limit
+     * @return a {@link CoverageStatistic} object containing details on the t-wise
+     *         coverage
+     * @throws BudgetExceededException if the budget is exceeded
+     */
+    public static CoverageStatistic computeFeatJARStatistics(BooleanAssignmentList sample,
+            BooleanAssignmentList computedCNF, int t, Duration budget) {
+        IComputation<CoverageStatistic> computation = Computations.of(sample)
                 .map(ConstraintedCoverageComputation::new)
                 .set(ConstraintedCoverageComputation.BOOLEAN_CLAUSE_LIST, computedCNF)
-                .set(ConstraintedCoverageComputation.T, new IntegerList(samplingConfig.getT()))
-                .compute();
-        return statistic;
+                .set(ConstraintedCoverageComputation.T, new IntegerList(t));
+        return TimeBudget.compute(computation, budget, "coverage");
     }
 }
@@ -0,0 +1,126 @@
+package org.example.common;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+
+/**
+ * Utility class for running the phases of an analysis with a time budget.
+ * <p>
+ * A budget of {@code null} means that a phase may run without limit; it is
+ * then executed directly in the calling thread. When a budget is exceeded, the
+ * work is cancelled and a {@link BudgetExceededException} with the partial
+ * result, if any, is thrown.
+ * </p>
+ */
+public class TimeBudget {
+
+    private static final ThreadFactory DAEMON_THREADS = runnable -> {
+        Thread thread = new Thread(runnable, "time-budget");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(DAEMON_THREADS);
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(DAEMON_THREADS);
+
+    /**
+     * Computes a FeatJAR computation within a time budget. When the budget is
+     * exceeded, FeatJAR cancels the computation and returns its intermediate
+     * result, e.g. the configurations that YASA has sampled so far.
+     *
+     * @param <T>         the result type
+     * @param computation the computation
+     * @param budget      the time budget, or {@code null} for no limit
+     * @param phase       the name of the phase for error messages
+     * @return the result of the computation
+     * @throws BudgetExceededException if the budget is exceeded
+     * @throws RuntimeException        if the computation fails
+     */
+    public static <T> T compute(IComputation<T> computation, Duration budget, String phase) {
+        if (budget == null) {
+            return computation.compute();
+        }
+        Result<T> result = computation.computeResult(true, true, budget);
+        if (result.getProblems().stream().anyMatch(problem -> problem.getException() instanceof TimeoutException)) {
+            throw new BudgetExceededException(phase, budget, result.orElse(null));
+        }
+        return result.orElseThrow(problems -> new RuntimeException(Problem.printProblems(problems)));
+    }
+
+    /**
+     * Runs a task within a time budget. The task runs in a separate thread; when
+     * the budget is exceeded, the cancel action is run (e.g. to close a solver or
+     * kill a subprocess) and the thread is interrupted.
+     *
+     * @param <T>    the result type
+     * @param task   the task
+     * @param budget the time budget, or {@code null} for no limit
+     * @param phase  the name of the phase for error messages
+     * @param cancel action that stops the work of the task, or {@code null} if
+     *               interrupting the thread suffices
+     * @return the result of the task
+     * @throws BudgetExceededException if the budget is exceeded
+     * @throws RuntimeException        if the task fails, wrapping checked
+     *                                 exceptions
+     */
+    public static <T> T run(Callable<T> task, Duration budget, String phase, Runnable cancel) {
+        if (budget == null) {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        Future<T> future = EXECUTOR.submit(task);
+        try {
+            return future.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (cancel != null) {
+                cancel.run();
+            }
+            future.cancel(true);
+            throw new BudgetExceededException(phase, budget, null);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the " + phase + " phase.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Schedules an action, e.g. killing a subprocess, for the time at which a
+     * budget is exceeded.
+     *
+     * @param action the action
+     * @param budget the time budget, or {@code null} for no limit
+     * @return the scheduled action, which must be cancelled when the work
+     *         finishes in time, or {@code null} if the budget is {@code null}
+     */
+    public static ScheduledFuture<?> schedule(Runnable action, Duration budget) {
+        return budget != null ? TIMER.schedule(action, budget.toNanos(), TimeUnit.NANOSECONDS) : null;
+    }
+}
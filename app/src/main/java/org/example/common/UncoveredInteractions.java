@@ -0,0 +1,112 @@
+package org.example.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The valid t-wise interactions that a growing sample does not cover yet.
+ * <p>
+ * The interactions are collected once by the
+ * {@link ParallelCoverageCalculator}, which already decides their validity.
+ * When configurations are added to the sample, only the new configurations are
+ * tested against the remaining interactions, and the covered ones are removed,
+ * so the sample itself is never scanned again. The literals of the
+ * interactions are stored packed, {@code t} per interaction, in blocks of a
+ * fixed number of interactions, so the set is not limited by the maximum size
+ * of an array.
+ * </p>
+ */
+public class UncoveredInteractions {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final int t;
+    private final int blockSize;
+    private final List<int[]> blocks = new ArrayList<>();
+    private long size;
+
+    /**
+     * Creates an empty set of t-wise interactions.
+     *
+     * @param t the t-value of the interactions
+     */
+    public UncoveredInteractions(int t) {
+        this(t, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates an empty set of t-wise interactions with a given block size.
+     *
+     * @param t         the t-value of the interactions
+     * @param blockSize the number of interactions per storage block
+     */
+    public UncoveredInteractions(int t, int blockSize) {
+        this.t = t;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /**
+     * Adds an interaction.
+     *
+     * @param literals the literals of the interaction, ordered by variable
+     */
+    public synchronized void add(int... literals) {
+        addAll(literals, t);
+    }
+
+    /**
+     * Adds interactions in packed form.
+     *
+     * @param packed the literals of the interactions, {@code t} per interaction
+     * @param length the number of literals to add
+     */
+    synchronized void addAll(int[] packed, int length) {
+        for (int offset = 0; offset < length; offset += t) {
+            int slot = (int) (size % blockSize);
+            if (size / blockSize == blocks.size()) {
+                blocks.add(new int[blockSize * t]);
+            }
+            System.arraycopy(packed, offset, blocks.get((int) (size / blockSize)), slot * t, t);
+            size++;
+        }
+    }
+
+    /**
+     * Removes the interactions that are covered by new configurations and counts
+     * for each new configuration the interactions that it covers first.
+     *
+     * @param configurations the new configurations, using the variable indices
+     *                       of the interactions
+     * @return the number of interactions covered first by each configuration
+     */
+    public synchronized long[] removeCovered(SampleMatrix configurations) {
+        long[] firstCovered = new long[configurations.size()];
+        int[] interaction = new int[t];
+        long kept = 0;
+        for (long i = 0; i < size; i++) {
+            System.arraycopy(blocks.get((int) (i / blockSize)), (int) (i % blockSize) * t, interaction, 0, t);
+            int first = configurations.firstCovering(interaction);
+            if (first >= 0) {
+                firstCovered[first]++;
+            } else {
+                System.arraycopy(interaction, 0, blocks.get((int) (kept / blockSize)), (int) (kept % blockSize) * t,
+                        t);
+                kept++;
+            }
+        }
+        size = kept;
+        // release the blocks that no longer hold interactions
+        long usedBlocks = (size + blockSize - 1) / blockSize;
+        while (blocks.size() > usedBlocks) {
+            blocks.remove(blocks.size() - 1);
+        }
+        return firstCovered;
+    }
+
+    /**
+     * @return the number of uncovered interactions
+     */
+    public synchronized long size() {
+        return size;
+    }
+}
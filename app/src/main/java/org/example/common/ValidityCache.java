@@ -0,0 +1,314 @@
+package org.example.common;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.binary.BooleanAssignmentGroupsBinaryFormat;
+
+/**
+ * Validity information of the t-wise interactions of a feature model that can
+ * be carried over to the next version of the model.
+ * <p>
+ * The cache holds the solutions that the SAT solver found while classifying
+ * interactions, which prove every interaction they contain valid, and the
+ * interactions that were classified as invalid. The
+ * {@link ParallelCoverageCalculator} uses both to skip solver calls and adds the
+ * solutions and invalid interactions it finds. Entries are stored per clause
+ * list and t-value in FeatJAR's binary format, keyed like the
+ * {@link DdnnifeSolverCache}.
+ * </p>
+ * <p>
+ * For a new version of the model, {@link #adapt} matches the variables by
+ * name. Solutions that still satisfy all clauses are kept, solutions without
+ * values for new features are completed, and all others are dropped. The
+ * invalid interactions remain invalid only if no clause was removed, so they
+ * are kept only in this case.
+ * </p>
+ * <p>
+ * The invalid interactions are looked up with a probe key per thread that
+ * wraps the literals of the lookup, so the workers do not allocate per
+ * interaction.
+ * </p>
+ */
+public class ValidityCache {
+
+    // Changes whenever the stored format changes
+    private static final String CACHE_VERSION = "validity-v1";
+    private static final String FILE_EXTENSION = ".validity";
+    // Reusable lookup key of each thread
+    private static final ThreadLocal<Interaction> PROBE = ThreadLocal.withInitial(Interaction::new);
+
+    private final VariableMap variables;
+    private final List<BooleanAssignment> solutions = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Interaction> invalidInteractions = ConcurrentHashMap.newKeySet();
+    private final int reusedSolutions;
+    private final int reusedInvalidInteractions;
+
+    /**
+     * Creates an empty cache for a feature model.
+     *
+     * @param variables the variable map of the CNF of the feature model
+     */
+    public ValidityCache(VariableMap variables) {
+        this(variables, 0, 0);
+    }
+
+    private ValidityCache(VariableMap variables, int reusedSolutions, int reusedInvalidInteractions) {
+        this.variables = variables;
+        this.reusedSolutions = reusedSolutions;
+        this.reusedInvalidInteractions = reusedInvalidInteractions;
+    }
+
+    /**
+     * Returns the file of the cache entry of a clause list.
+     *
+     * @param directory   the cache directory
+     * @param computedCNF the CNF of the feature model
+     * @param t           the t-value of the interactions
+     * @return the path of the cache entry
+     */
+    public static Path getCacheFile(Path directory, BooleanAssignmentList computedCNF, int t) {
+        return directory.resolve(DdnnifeSolverCache.computeKey(computedCNF) + "-" + CACHE_VERSION + "-t" + t
+                + FILE_EXTENSION);
+    }
+
+    /**
+     * Loads a cache entry.
+     *
+     * @param file the cache file
+     * @return the cache, or {@code null} if the file does not exist or cannot be
+     *         read
+     */
+    public static ValidityCache load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Result<BooleanAssignmentGroups> groups = IO.load(file, new BooleanAssignmentGroupsBinaryFormat());
+        if (!groups.isPresent() || groups.get().getGroups().size() != 2) {
+            System.err.println("Ignoring unreadable validity cache entry: " + file);
+            return null;
+        }
+        ValidityCache cache = new ValidityCache(groups.get().getVariableMap());
+        cache.solutions.addAll(groups.get().getGroups().get(0).getAll());
+        for (BooleanAssignment interaction : groups.get().getGroups().get(1).getAll()) {
+            cache.invalidInteractions.add(new Interaction(interaction.get()));
+        }
+        System.out.println("Loaded validity cache: " + file + " (" + cache.solutions.size() + " solutions, "
+                + cache.invalidInteractions.size() + " invalid interactions)");
+        return cache;
+    }
+
+    /**
+     * Writes the cache atomically, so concurrent runs never read a partially
+     * written file. Failures are reported but do not abort the analysis.
+     *
+     * @param file the cache file
+     */
+    public void save(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "validity", ".tmp");
+            List<BooleanAssignment> invalid = new ArrayList<>(invalidInteractions.size());
+            for (Interaction interaction : invalidInteractions) {
+                invalid.add(new BooleanAssignment(interaction.literals));
+            }
+            List<BooleanAssignmentList> groups = List.of(
+                    new BooleanAssignmentList(variables, new ArrayList<>(solutions)),
+                    new BooleanAssignmentList(variables, invalid));
+            IO.save(new BooleanAssignmentGroups(variables, groups), tempFile, new BooleanAssignmentGroupsBinaryFormat());
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            System.out.println("Stored validity cache: " + file);
+        } catch (IOException e) {
+            System.err.println("Failed to store validity cache: " + e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Carries the cache over to another version of the feature model.
+     *
+     * @param computedCNF the CNF of the new version
+     * @param diff        the differences from the version of this cache to the
+     *                    new version
+     * @return a cache for the new version with the solutions and invalid
+     *         interactions that are still known to be valid and invalid
+     */
+    public ValidityCache adapt(BooleanAssignmentList computedCNF, ModelDiff diff) {
+        VariableMap newVariables = computedCNF.getVariableMap();
+        int[] mapping = new int[variables.getVariableCount() + 1];
+        for (int variable = 1; variable < mapping.length; variable++) {
+            mapping[variable] = newVariables.get(variables.get(variable).orElseThrow()).orElse(0);
+        }
+
+        List<int[]> configurations = new ArrayList<>(solutions.size());
+        for (BooleanAssignment solution : solutions) {
+            configurations.add(map(solution.get(), mapping));
+        }
+        BooleanAssignmentList validSolutions = InitialSampleLoader.validate(configurations, computedCNF);
+
+        List<Interaction> invalid = new ArrayList<>();
+        if (diff.isRestriction()) {
+            for (Interaction interaction : invalidInteractions) {
+                int[] literals = map(interaction.literals, mapping);
+                if (literals.length == interaction.literals.length) {
+                    invalid.add(new Interaction(literals));
+                }
+            }
+        }
+
+        ValidityCache cache = new ValidityCache(newVariables, validSolutions.size(), invalid.size());
+        cache.solutions.addAll(validSolutions.getAll());
+        cache.invalidInteractions.addAll(invalid);
+        return cache;
+    }
+
+    /**
+     * Maps literals to the variable indices of another variable map, dropping
+     * the literals of removed variables, and sorts them by variable.
+     */
+    private static int[] map(int[] literals, int[] mapping) {
+        return Arrays.stream(literals)
+                .filter(literal -> mapping[Math.abs(literal)] != 0)
+                .map(literal -> literal > 0 ? mapping[literal] : -mapping[-literal])
+                .boxed()
+                .sorted((a, b) -> Integer.compare(Math.abs(a), Math.abs(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    public VariableMap getVariableMap() {
+        return variables;
+    }
+
+    /**
+     * Returns the known solutions of the feature model.
+     *
+     * @return a snapshot of the solutions
+     */
+    public List<BooleanAssignment> getSolutions() {
+        synchronized (solutions) {
+            return new ArrayList<>(solutions);
+        }
+    }
+
+    /**
+     * Adds a solution found by a solver.
+     *
+     * @param solution the literals of the solution
+     */
+    public void addSolution(int[] solution) {
+        solutions.add(new BooleanAssignment(solution.clone()));
+    }
+
+    /**
+     * Returns whether an interaction is known to be invalid.
+     *
+     * @param literals the literals of the interaction, ordered by variable
+     * @return {@code true} if the interaction is invalid
+     */
+    public boolean isInvalid(int[] literals) {
+        if (invalidInteractions.isEmpty()) {
+            return false;
+        }
+        Interaction probe = PROBE.get();
+        probe.set(literals);
+        try {
+            return invalidInteractions.contains(probe);
+        } finally {
+            probe.set(null);
+        }
+    }
+
+    /**
+     * Adds an interaction that was classified as invalid.
+     *
+     * @param literals the literals of the interaction, ordered by variable
+     */
+    public void addInvalid(int[] literals) {
+        invalidInteractions.add(new Interaction(literals.clone()));
+    }
+
+    public int getSolutionCount() {
+        return solutions.size();
+    }
+
+    public int getInvalidInteractionCount() {
+        return invalidInteractions.size();
+    }
+
+    /**
+     * Returns the number of solutions carried over from the previous version.
+     *
+     * @return the number of solutions kept or completed by {@link #adapt}
+     */
+    public int getReusedSolutions() {
+        return reusedSolutions;
+    }
+
+    /**
+     * Returns the number of invalid interactions carried over from the previous
+     * version.
+     *
+     * @return the number of invalid interactions kept by {@link #adapt}
+     */
+    public int getReusedInvalidInteractions() {
+        return reusedInvalidInteractions;
+    }
+
+    /**
+     * Literals of an interaction as a set key. The literals of a stored key are
+     * never changed; only the probe keys of the lookups are reset.
+     */
+    private static final class Interaction {
+        private int[] literals;
+        private int hash;
+
+        private Interaction() {
+        }
+
+        private Interaction(int[] literals) {
+            set(literals);
+        }
+
+        private void set(int[] literals) {
+            this.literals = literals;
+            this.hash = Arrays.hashCode(literals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Interaction && Arrays.equals(literals, ((Interaction) obj).literals);
+        }
+    }
+}
@@ -1,20 +1,23 @@
 package org.example.out;
 
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.example.common.SamplingAlgorithm;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
@@ -33,6 +36,29 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
  */
 public class FeatureIdeIO {
 
+    /**
+     * System property that overrides the location of the FeatureIDE JAR, which is
+     * otherwise resolved relative to the working directory.
+     */
+    public static final String FEATURE_IDE_JAR_PROPERTY = "featureide.jar";
+
+    /**
+     * Default location of the FeatureIDE JAR relative to the working directory.
+     */
+    public static final String DEFAULT_FEATURE_IDE_JAR = "app/libs/feature_ide_helper-1.0.0-all.jar";
+
+    /**
+     * Resolves the location of the FeatureIDE JAR from
+     * {@link #FEATURE_IDE_JAR_PROPERTY} or {@link #DEFAULT_FEATURE_IDE_JAR}.
+     *
+     * @return the absolute path of the JAR, which may not exist
+     */
+    public static Path resolveFeatureIdeJar() {
+        String configuredJar = System.getProperty(FEATURE_IDE_JAR_PROPERTY);
+        return configuredJar != null ? Paths.get(configuredJar).toAbsolutePath()
+                : Paths.get("").toAbsolutePath().resolve(DEFAULT_FEATURE_IDE_JAR).normalize();
+    }
+
     /**
      * Executes the FeatureIDE JAR file using expected default relative file
      * locations
@@ -47,9 +73,33 @@ public class FeatureIdeIO {
      *         execution was successful, otherwise null
      */
     public static Path runFeatureIdeJar(SamplingAlgorithm samplingAlgorithm, int tVaue, int configLimit) {
+        try {
+            return runFeatureIdeJar(samplingAlgorithm, tVaue, configLimit, null);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timeout without time budget", e);
+        }
+    }
+
+    /**
+     * Executes the FeatureIDE JAR file like
+     * {@link #runFeatureIdeJar(SamplingAlgorithm, int, int)}, but kills the
+     * process when it exceeds the time budget.
+     *
+     * @param samplingAlgorithm The sampling algorithem to be used.
+     * @param tValue            The desired level of interaction coverage (e.g. 2
+     *                          for pairwise).
+     * @param budget            The time budget, or {@code null} for no limit.
+     *
+     * @return the {@link Path} to the results file (results.json) if the
+     *         execution was successful, otherwise null
+     * @throws TimeoutException if the process exceeded the budget and was killed
+     */
+    public static Path runFeatureIdeJar(SamplingAlgorithm samplingAlgorithm, int tVaue, int configLimit,
+            Duration budget) throws TimeoutException {
+        Process process = null;
         try {
             Path basePath = Paths.get("").toAbsolutePath();
-            Path jarPath = basePath.resolve("app/libs/feature_ide_helper-1.0.0-all.jar").normalize();
+            Path jarPath = resolveFeatureIdeJar();
             Path cnfPath = basePath.resolve("cnf.json").normalize();
             Path resultsPath = basePath.resolve("results.json").normalize();
             String sampler = samplingAlgorithm.toString();
@@ -67,7 +117,12 @@ public class FeatureIdeIO {
                     tValue.toString(), limit.toString());
             processBuilder.inheritIO();
 
-            Process process = processBuilder.start();
+            process = processBuilder.start();
+            if (budget != null && !process.waitFor(budget.toNanos(), TimeUnit.NANOSECONDS)) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly().waitFor();
+                throw new TimeoutException("FeatureIDE JAR exceeded the time budget of " + budget);
+            }
             int exitCode = process.waitFor();
 
             if (exitCode == 0) {
@@ -75,6 +130,12 @@ public class FeatureIdeIO {
             } else {
                 System.err.println("FeatureIDE JAR execution failed with exit code: " + exitCode);
             }
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -83,6 +144,13 @@ public class FeatureIdeIO {
 
     /**
      * Loads a list of BooleanAssignments from a JSON file produced by FeatureIDE.
+     * <p>
+     * The file is an array of objects whose {@code literals} member holds the
+     * literals of one configuration; other members are ignored. It is read
+     * token by token, so the literals go directly into one {@code int[]} per
+     * configuration without an intermediate object tree. The literal buffer is
+     * sized from the variable map.
+     * </p>
      *
      * @param filePath    the path to the results JSON file
      * @param variableMap the {@link VariableMap} used to interpret literals
@@ -90,46 +158,57 @@ public class FeatureIdeIO {
      *         the file, or null on failure
      */
     public static BooleanAssignmentList loadAssignmentsFromJson(String filePath, VariableMap variableMap) {
-        try (FileReader reader = new FileReader(filePath)) {
-            Gson gson = new Gson();
-            Type listType = new TypeToken<List<Map<String, Object>>>() {
-            }.getType();
-
-            List<Map<String, Object>> jsonList = gson.fromJson(reader, listType);
-
-            Collection<BooleanAssignment> booleanAssignments = jsonList.stream()
-                    .map(entry -> {
-                        List<Object> literalsRaw = (List<Object>) entry.get("literals");
-
-                        List<Integer> literals = literalsRaw.stream()
-                                .map(literal -> {
-                                    if (literal instanceof Double) {
-                                        return ((Double) literal).intValue();
-
-                                    } else if (literal instanceof Integer) {
-                                        return (Integer) literal;
-                                    }
-                                    throw new IllegalArgumentException(
-                                            "Unexpected literal type: "
-                                                    + literal.getClass());
-                                })
-                                .collect(Collectors.toList());
-
-                        return new BooleanAssignment(literals);
-
-                    })
-                    .collect(Collectors.toList());
+        List<BooleanAssignment> booleanAssignments = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(filePath)))) {
+            readAssignments(reader, variableMap.getVariableCount(),
+                    literals -> booleanAssignments.add(new BooleanAssignment(literals)));
             return new BooleanAssignmentList(variableMap, booleanAssignments);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        } catch (IllegalArgumentException e) {
+        } catch (IOException | IllegalStateException | IllegalArgumentException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Reads configurations in the FeatureIDE result format and passes the
+     * literals of each configuration to a consumer.
+     *
+     * @param reader        the JSON reader positioned at the result array
+     * @param variableCount the expected number of literals per configuration
+     * @param consumer      receives the literals of each configuration; the array
+     *                      is not reused
+     * @throws IOException           if reading fails or the JSON is malformed
+     * @throws IllegalStateException if the JSON does not have the expected
+     *                               structure
+     * @throws NumberFormatException if a literal is not an integer
+     */
+    public static void readAssignments(JsonReader reader, int variableCount, Consumer<int[]> consumer)
+            throws IOException {
+        int[] buffer = new int[Math.max(variableCount, 1)];
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("literals")) {
+                    reader.skipValue();
+                    continue;
+                }
+                int size = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, 2 * size);
+                    }
+                    buffer[size++] = reader.nextInt();
+                }
+                reader.endArray();
+                consumer.accept(Arrays.copyOf(buffer, size));
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+    }
+
     /**
      * Writes a CNF JSON file in the format expected by the FeatureIDE JAR.
      * The file includes assignments as int arrays and variable names.
@@ -0,0 +1,156 @@
+package org.example.out;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary protocol between {@link FeatureIdeWorkerPool} and
+ * {@link FeatureIdeWorker}.
+ * <p>
+ * All integers are encoded as unsigned LEB128 varints, literals additionally
+ * with zigzag encoding, so small variable indices take a single byte.
+ * <ul>
+ * <li>Request: {@code op} ({@link #OP_SAMPLE} or {@link #OP_EXIT}), algorithm
+ * ordinal, t, configuration limit, variable count, clause count, and the
+ * clauses as length-prefixed literal lists.</li>
+ * <li>Response: {@link #STATUS_OK} followed by the configuration count and the
+ * configurations as length-prefixed literal lists, or {@link #STATUS_ERROR}
+ * followed by a length-prefixed UTF-8 message.</li>
+ * </ul>
+ * </p>
+ */
+public class FeatureIdeProtocol {
+
+    public static final int OP_EXIT = 0;
+    public static final int OP_SAMPLE = 1;
+
+    public static final int STATUS_OK = 0;
+    public static final int STATUS_ERROR = 1;
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param out   the stream to write to
+     * @param value the value, interpreted as unsigned
+     * @throws IOException if writing fails
+     */
+    public static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param in the stream to read from
+     * @return the value
+     * @throws IOException if reading fails or the stream ends
+     */
+    public static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Writes a length-prefixed list of zigzag-encoded literals.
+     *
+     * @param out      the stream to write to
+     * @param literals the literals
+     * @throws IOException if writing fails
+     */
+    public static void writeLiterals(OutputStream out, int[] literals) throws IOException {
+        writeVarInt(out, literals.length);
+        for (int literal : literals) {
+            writeVarInt(out, (literal << 1) ^ (literal >> 31));
+        }
+    }
+
+    /**
+     * Reads a length-prefixed list of zigzag-encoded literals.
+     *
+     * @param in the stream to read from
+     * @return the literals
+     * @throws IOException if reading fails or the stream ends
+     */
+    public static int[] readLiterals(InputStream in) throws IOException {
+        int[] literals = new int[readVarInt(in)];
+        for (int i = 0; i < literals.length; i++) {
+            int encoded = readVarInt(in);
+            literals[i] = (encoded >>> 1) ^ -(encoded & 1);
+        }
+        return literals;
+    }
+
+    /**
+     * Writes a list of literal lists, preceded by its size.
+     *
+     * @param out   the stream to write to
+     * @param lists the literal lists
+     * @throws IOException if writing fails
+     */
+    public static void writeLiteralLists(OutputStream out, List<int[]> lists) throws IOException {
+        writeVarInt(out, lists.size());
+        for (int[] literals : lists) {
+            writeLiterals(out, literals);
+        }
+    }
+
+    /**
+     * Reads a list of literal lists, preceded by its size.
+     *
+     * @param in the stream to read from
+     * @return the literal lists
+     * @throws IOException if reading fails or the stream ends
+     */
+    public static List<int[]> readLiteralLists(InputStream in) throws IOException {
+        int size = readVarInt(in);
+        List<int[]> lists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lists.add(readLiterals(in));
+        }
+        return lists;
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     *
+     * @param out   the stream to write to
+     * @param value the string
+     * @throws IOException if writing fails
+     */
+    public static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @param in the stream to read from
+     * @return the string
+     * @throws IOException if reading fails or the stream ends
+     */
+    public static String readString(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(readVarInt(in));
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
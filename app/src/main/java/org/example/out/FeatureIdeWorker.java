@@ -0,0 +1,89 @@
+package org.example.out;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.common.FeatureIdeSampler;
+import org.example.common.SamplingAlgorithm;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Entry point of a FeatureIDE worker process.
+ * <p>
+ * The worker is started by {@link FeatureIdeWorkerPool} with the FeatureIDE
+ * helper JAR on its classpath, reads sampling requests in the
+ * {@link FeatureIdeProtocol} format from stdin and answers each on stdout. It
+ * runs until it receives {@link FeatureIdeProtocol#OP_EXIT} or stdin is closed.
+ * Everything the sampling libraries print is redirected to stderr, so stdout
+ * carries only protocol data.
+ * </p>
+ */
+public class FeatureIdeWorker {
+
+    public static void main(String[] args) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out));
+        System.setOut(System.err);
+        InputStream in = new BufferedInputStream(System.in);
+
+        while (true) {
+            int op;
+            try {
+                op = FeatureIdeProtocol.readVarInt(in);
+            } catch (EOFException e) {
+                return;
+            }
+            if (op == FeatureIdeProtocol.OP_EXIT) {
+                return;
+            }
+
+            SamplingAlgorithm samplingAlgorithm = SamplingAlgorithm.values()[FeatureIdeProtocol.readVarInt(in)];
+            int t = FeatureIdeProtocol.readVarInt(in);
+            int configLimit = FeatureIdeProtocol.readVarInt(in);
+            int variableCount = FeatureIdeProtocol.readVarInt(in);
+            List<int[]> clauses = FeatureIdeProtocol.readLiteralLists(in);
+
+            try {
+                BooleanAssignmentList sample = FeatureIdeSampler.sample(toClauseList(variableCount, clauses),
+                        samplingAlgorithm, t, configLimit);
+                List<int[]> configurations = new ArrayList<>(sample.size());
+                for (BooleanAssignment configuration : sample) {
+                    configurations.add(configuration.get());
+                }
+                FeatureIdeProtocol.writeVarInt(out, FeatureIdeProtocol.STATUS_OK);
+                FeatureIdeProtocol.writeLiteralLists(out, configurations);
+            } catch (RuntimeException | LinkageError e) {
+                e.printStackTrace();
+                FeatureIdeProtocol.writeVarInt(out, FeatureIdeProtocol.STATUS_ERROR);
+                FeatureIdeProtocol.writeString(out, String.valueOf(e));
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Creates a clause list with generic variable names. The names do not matter
+     * to the samplers, only the variable indices are transferred.
+     */
+    private static BooleanAssignmentList toClauseList(int variableCount, List<int[]> clauses) {
+        List<String> names = new ArrayList<>(variableCount);
+        for (int i = 1; i <= variableCount; i++) {
+            names.add("F" + i);
+        }
+        List<BooleanAssignment> assignments = new ArrayList<>(clauses.size());
+        for (int[] clause : clauses) {
+            assignments.add(new BooleanAssignment(clause));
+        }
+        return new BooleanAssignmentList(VariableMap.of(names), assignments);
+    }
+}
@@ -0,0 +1,325 @@
+package org.example.out;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+
+import org.example.common.AssignmentUtils;
+import org.example.common.SamplingAlgorithm;
+import org.example.common.TimeBudget;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Pool of persistent FeatureIDE worker processes.
+ * <p>
+ * Each worker is a JVM running {@link FeatureIdeWorker} with the application
+ * classpath and the FeatureIDE JAR, so samplers that are not available
+ * in-process (e.g. ICPL and CHVATAL from SPLCATool) can be run without starting
+ * a JVM per sampling. Jobs are exchanged over the stdin and stdout of the
+ * workers in the {@link FeatureIdeProtocol} format; no files are written to the
+ * working directory, so several samplings can run concurrently.
+ * </p>
+ * <p>
+ * Workers are started on demand up to the pool size, which defaults to the
+ * number of available processors and can be set with the system property
+ * {@value #POOL_SIZE_PROPERTY}. A worker that fails is discarded and replaced by
+ * a new one on the next request. All workers are stopped when the JVM exits.
+ * </p>
+ */
+public class FeatureIdeWorkerPool implements AutoCloseable {
+
+    /**
+     * System property that limits the number of concurrently running workers.
+     */
+    public static final String POOL_SIZE_PROPERTY = "featureide.workers";
+
+    private static FeatureIdeWorkerPool instance;
+
+    private final Path jarPath;
+    private final int size;
+    // Guarded by this; waiting callers are notified whenever a worker becomes
+    // idle, a slot becomes free, or the pool is closed
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private final List<Worker> workers = new ArrayList<>();
+    // Slots reserved by callers that are starting a worker outside the lock
+    private int starting;
+    private boolean closed;
+
+    /**
+     * Creates a pool that starts up to {@code size} workers.
+     *
+     * @param jarPath the FeatureIDE JAR added to the classpath of the workers
+     * @param size    the maximum number of workers
+     */
+    public FeatureIdeWorkerPool(Path jarPath, int size) {
+        this.jarPath = jarPath;
+        this.size = Math.max(1, size);
+    }
+
+    /**
+     * Returns the shared pool of the application, which uses the FeatureIDE JAR
+     * of {@link FeatureIdeIO#resolveFeatureIdeJar()} and is closed on shutdown.
+     *
+     * @return the shared pool
+     */
+    public static synchronized FeatureIdeWorkerPool getInstance() {
+        if (instance == null) {
+            int size = Integer.getInteger(POOL_SIZE_PROPERTY, Runtime.getRuntime().availableProcessors());
+            FeatureIdeWorkerPool pool = new FeatureIdeWorkerPool(FeatureIdeIO.resolveFeatureIdeJar(), size);
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+            instance = pool;
+        }
+        return instance;
+    }
+
+    /**
+     * Samples configurations in one of the workers.
+     *
+     * @param computedCNF       the feature model in CNF form
+     * @param samplingAlgorithm the sampling algorithm
+     * @param tValue            the t-value
+     * @param configLimit       the maximum number of configurations
+     * @return the sampled configurations with the variable map of the CNF
+     * @throws IOException if no worker can be started, the worker fails, or the
+     *                     sampler reports an error
+     */
+    public BooleanAssignmentList sample(BooleanAssignmentList computedCNF, SamplingAlgorithm samplingAlgorithm,
+            int tValue, int configLimit) throws IOException {
+        try {
+            return sample(computedCNF, samplingAlgorithm, tValue, configLimit, null);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timeout without time budget", e);
+        }
+    }
+
+    /**
+     * Samples configurations in one of the workers within a time budget. When
+     * the budget is exceeded, the worker process is killed and discarded.
+     *
+     * @param computedCNF       the feature model in CNF form
+     * @param samplingAlgorithm the sampling algorithm
+     * @param tValue            the t-value
+     * @param configLimit       the maximum number of configurations
+     * @param budget            the time budget, or {@code null} for no limit
+     * @return the sampled configurations with the variable map of the CNF
+     * @throws IOException      if no worker can be started, the worker fails, or
+     *                          the sampler reports an error
+     * @throws TimeoutException if the budget is exceeded
+     */
+    public BooleanAssignmentList sample(BooleanAssignmentList computedCNF, SamplingAlgorithm samplingAlgorithm,
+            int tValue, int configLimit, Duration budget) throws IOException, TimeoutException {
+        List<int[]> clauses = AssignmentUtils.convertToIntArrays(computedCNF.getAll());
+        int variableCount = computedCNF.getVariableMap().getVariableCount();
+
+        Worker worker = acquire();
+        ScheduledFuture<?> watchdog = TimeBudget.schedule(worker::kill, budget);
+        List<int[]> configurations;
+        try {
+            configurations = worker.sample(samplingAlgorithm, tValue, configLimit, variableCount, clauses);
+        } catch (SamplerException e) {
+            // the worker itself is still usable
+            release(worker);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            discard(worker);
+            if (worker.killed) {
+                throw new TimeoutException("FeatureIDE worker exceeded the time budget of " + budget);
+            }
+            throw e;
+        } finally {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+        }
+        if (worker.killed) {
+            // killed right after answering
+            discard(worker);
+        } else {
+            release(worker);
+        }
+
+        List<BooleanAssignment> assignments = new ArrayList<>(configurations.size());
+        for (int[] configuration : configurations) {
+            assignments.add(new BooleanAssignment(configuration));
+        }
+        return new BooleanAssignmentList(computedCNF.getVariableMap(), assignments);
+    }
+
+    /**
+     * Stops all idle workers. Busy workers are stopped when they are returned,
+     * so a running request is never interrupted by the exit message. Callers
+     * waiting for a worker fail.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Worker worker : idle) {
+            workers.remove(worker);
+            worker.stop();
+        }
+        idle.clear();
+        notifyAll();
+    }
+
+    /**
+     * Returns an idle worker, or starts a new one if a slot is free. The JVM of a
+     * new worker is started without holding the lock of the pool, so other
+     * callers can take workers that become idle meanwhile.
+     */
+    private Worker acquire() throws IOException {
+        synchronized (this) {
+            while (true) {
+                if (closed) {
+                    throw new IOException("FeatureIDE worker pool is closed.");
+                }
+                Worker worker = idle.poll();
+                if (worker != null) {
+                    return worker;
+                }
+                if (workers.size() + starting < size) {
+                    starting++;
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for a FeatureIDE worker.", e);
+                }
+            }
+        }
+
+        Worker worker;
+        try {
+            worker = startWorker();
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                starting--;
+                notifyAll();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            starting--;
+            notifyAll();
+            if (!closed) {
+                workers.add(worker);
+                return worker;
+            }
+        }
+        worker.stop();
+        throw new IOException("FeatureIDE worker pool is closed.");
+    }
+
+    private synchronized void release(Worker worker) {
+        if (closed) {
+            workers.remove(worker);
+            worker.stop();
+        } else {
+            idle.add(worker);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Removes a failed or killed worker; its slot is taken by a new worker on the
+     * next request.
+     */
+    private synchronized void discard(Worker worker) {
+        workers.remove(worker);
+        worker.stop();
+        notifyAll();
+    }
+
+    private Worker startWorker() throws IOException {
+        if (!Files.isRegularFile(jarPath)) {
+            throw new IOException("FeatureIDE JAR not found: " + jarPath);
+        }
+        String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path") + File.pathSeparator + jarPath;
+
+        ProcessBuilder processBuilder = new ProcessBuilder(javaExecutable, "-cp", classpath,
+                FeatureIdeWorker.class.getName());
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return new Worker(processBuilder.start());
+    }
+
+    /**
+     * A running worker process and its protocol streams.
+     */
+    private static class Worker {
+
+        private final Process process;
+        private final OutputStream in;
+        private final InputStream out;
+        private volatile boolean killed;
+
+        Worker(Process process) {
+            this.process = process;
+            this.in = new BufferedOutputStream(process.getOutputStream());
+            this.out = new BufferedInputStream(process.getInputStream());
+        }
+
+        List<int[]> sample(SamplingAlgorithm samplingAlgorithm, int tValue, int configLimit, int variableCount,
+                List<int[]> clauses) throws IOException {
+            FeatureIdeProtocol.writeVarInt(in, FeatureIdeProtocol.OP_SAMPLE);
+            FeatureIdeProtocol.writeVarInt(in, samplingAlgorithm.ordinal());
+            FeatureIdeProtocol.writeVarInt(in, tValue);
+            FeatureIdeProtocol.writeVarInt(in, configLimit);
+            FeatureIdeProtocol.writeVarInt(in, variableCount);
+            FeatureIdeProtocol.writeLiteralLists(in, clauses);
+            in.flush();
+
+            int status = FeatureIdeProtocol.readVarInt(out);
+            if (status != FeatureIdeProtocol.STATUS_OK) {
+                throw new SamplerException(FeatureIdeProtocol.readString(out));
+            }
+            return FeatureIdeProtocol.readLiteralLists(out);
+        }
+
+        /**
+         * Kills the worker process, which makes a pending request fail.
+         */
+        void kill() {
+            killed = true;
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+
+        void stop() {
+            try {
+                FeatureIdeProtocol.writeVarInt(in, FeatureIdeProtocol.OP_EXIT);
+                in.close();
+            } catch (IOException e) {
+                // the worker is already gone
+            }
+            process.destroy();
+        }
+    }
+
+    /**
+     * Error reported by the sampler of a worker that is still responsive.
+     */
+    private static class SamplerException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        SamplerException(String message) {
+            super("FeatureIDE worker failed: " + message);
+        }
+    }
+}
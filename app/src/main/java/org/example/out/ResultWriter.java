@@ -1,23 +1,34 @@
 package org.example.out;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+import org.example.common.BatchCell;
+import org.example.common.BatchResult;
+import org.example.common.CoverageCurve;
+import org.example.common.ModelDiff;
+import org.example.common.PairwiseInteractionCounter;
+import org.example.common.PhaseMetrics;
 import org.example.common.SamplingAlgorithm;
 import org.example.common.SamplingConfig;
-import org.example.common.TWiseCalculator;
+import org.example.common.ValidityCache;
+
+import com.google.gson.stream.JsonWriter;
 
-import de.featjar.analysis.sat4j.twise.ConstraintedCoverageComputation;
 import de.featjar.analysis.sat4j.twise.CoverageStatistic;
-import de.featjar.base.computation.Computations;
 import de.featjar.base.data.IntegerList;
+import de.featjar.base.data.Pair;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
@@ -29,7 +40,8 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
 public class ResultWriter {
 
     /**
-     * Writes sampling results and statistics to a specified output file.
+     * Writes sampling results and statistics to a specified output file,
+     * including the sample.
      *
      * @param outputDir           the output file to write to
      * @param coreAndDeadFeatures a {@link BooleanAssignment} representing core and
@@ -41,11 +53,118 @@ public class ResultWriter {
      * @param variableMap         map containing feature variable names
      * @return {@code true} if the write operation succeeded, {@code false}
      *         otherwise
+     * @see #writeResultToFile(File, BooleanAssignment, BooleanAssignmentList, int,
+     *      SamplingAlgorithm, CoverageStatistic, VariableMap, boolean)
      */
     public static boolean writeResultToFile(File outputDir, BooleanAssignment coreAndDeadFeatures,
             BooleanAssignmentList sample, int t, SamplingAlgorithm samplingAlgorithm,
             CoverageStatistic coverageStatistic,
             VariableMap variableMap) {
+        return writeResultToFile(outputDir, coreAndDeadFeatures, sample, t, samplingAlgorithm, coverageStatistic,
+                variableMap, true);
+    }
+
+    /**
+     * Writes sampling results and statistics to a specified output file.
+     * <p>
+     * The report is streamed through a buffered writer one configuration and one
+     * feature at a time, so the memory needed for writing does not depend on the
+     * size of the sample.
+     * </p>
+     *
+     * @param outputDir           the output file to write to
+     * @param coreAndDeadFeatures a {@link BooleanAssignment} representing core and
+     *                            dead features
+     * @param sample              the sample result as a list of configurations
+     * @param t                   the t-value used
+     * @param samplingAlgorithm   the sampling algorithm used
+     * @param coverageStatistic   the computed coverage statistics
+     * @param variableMap         map containing feature variable names
+     * @param includeSample       whether the configurations of the sample are
+     *                            written to the report
+     * @return {@code true} if the write operation succeeded, {@code false}
+     *         otherwise
+     * @see #writeResultToFile(File, BooleanAssignment, BooleanAssignmentList, int,
+     *      SamplingAlgorithm, CoverageStatistic, VariableMap, boolean, List)
+     */
+    public static boolean writeResultToFile(File outputDir, BooleanAssignment coreAndDeadFeatures,
+            BooleanAssignmentList sample, int t, SamplingAlgorithm samplingAlgorithm,
+            CoverageStatistic coverageStatistic,
+            VariableMap variableMap, boolean includeSample) {
+        return writeResultToFile(outputDir, coreAndDeadFeatures, sample, t, samplingAlgorithm, coverageStatistic,
+                variableMap, includeSample, List.of());
+    }
+
+    /**
+     * Writes sampling results and statistics to a specified output file, marking
+     * the report as incomplete if phases of the analysis exceeded their time
+     * budget.
+     * <p>
+     * The report is streamed through a buffered writer one configuration and one
+     * feature at a time, so the memory needed for writing does not depend on the
+     * size of the sample. If the list of incomplete phases is not empty, a
+     * {@code Status: INCOMPLETE} line naming them follows the first line.
+     * </p>
+     *
+     * @param outputDir           the output file to write to
+     * @param coreAndDeadFeatures a {@link BooleanAssignment} representing core and
+     *                            dead features
+     * @param sample              the sample result as a list of configurations
+     * @param t                   the t-value used
+     * @param samplingAlgorithm   the sampling algorithm used
+     * @param coverageStatistic   the computed coverage statistics
+     * @param variableMap         map containing feature variable names
+     * @param includeSample       whether the configurations of the sample are
+     *                            written to the report
+     * @param incompletePhases    descriptions of the phases that exceeded their
+     *                            time budget, empty if the analysis is complete
+     * @return {@code true} if the write operation succeeded, {@code false}
+     *         otherwise
+     * @see #writeResultToFile(File, BooleanAssignment, BooleanAssignmentList, int,
+     *      SamplingAlgorithm, CoverageStatistic, VariableMap, boolean, List, int)
+     */
+    public static boolean writeResultToFile(File outputDir, BooleanAssignment coreAndDeadFeatures,
+            BooleanAssignmentList sample, int t, SamplingAlgorithm samplingAlgorithm,
+            CoverageStatistic coverageStatistic,
+            VariableMap variableMap, boolean includeSample, List<String> incompletePhases) {
+        return writeResultToFile(outputDir, coreAndDeadFeatures, sample, t, samplingAlgorithm, coverageStatistic,
+                variableMap, includeSample, incompletePhases, -1);
+    }
+
+    /**
+     * Writes sampling results and statistics to a specified output file,
+     * including the number of configurations before a sample reduction.
+     * <p>
+     * The report is streamed through a buffered writer one configuration and one
+     * feature at a time, so the memory needed for writing does not depend on the
+     * size of the sample. If the list of incomplete phases is not empty, a
+     * {@code Status: INCOMPLETE} line naming them follows the first line. If the
+     * sample was reduced, a line with its size before the reduction follows the
+     * number of configurations.
+     * </p>
+     *
+     * @param outputDir           the output file to write to
+     * @param coreAndDeadFeatures a {@link BooleanAssignment} representing core and
+     *                            dead features
+     * @param sample              the sample result as a list of configurations
+     * @param t                   the t-value used
+     * @param samplingAlgorithm   the sampling algorithm used
+     * @param coverageStatistic   the computed coverage statistics
+     * @param variableMap         map containing feature variable names
+     * @param includeSample       whether the configurations of the sample are
+     *                            written to the report
+     * @param incompletePhases    descriptions of the phases that exceeded their
+     *                            time budget, empty if the analysis is complete
+     * @param unreducedSize       the number of configurations before the sample
+     *                            was reduced, or a negative number if it was not
+     *                            reduced
+     * @return {@code true} if the write operation succeeded, {@code false}
+     *         otherwise
+     */
+    public static boolean writeResultToFile(File outputDir, BooleanAssignment coreAndDeadFeatures,
+            BooleanAssignmentList sample, int t, SamplingAlgorithm samplingAlgorithm,
+            CoverageStatistic coverageStatistic,
+            VariableMap variableMap, boolean includeSample, List<String> incompletePhases, int unreducedSize) {
 
         if (!outputDir.exists() || !outputDir.isFile()) {
             System.out.println("The provided output directory does not exist or is not a file.");
@@ -54,19 +173,28 @@ public class ResultWriter {
 
         System.out.println("Wringing results to: " + outputDir.getAbsolutePath());
 
-        try (FileWriter writer = new FileWriter(outputDir)) {
+        try (Writer writer = new BufferedWriter(new FileWriter(outputDir))) {
 
             writer.write("Sampling Alg: " + samplingAlgorithm + ", t = " + t);
 
-            writer.write("\nSample: " + sample.toString());
+            if (!incompletePhases.isEmpty()) {
+                writer.write("\nStatus: INCOMPLETE (" + String.join("; ", incompletePhases) + ")");
+            }
+
+            if (includeSample) {
+                writer.write("\nSample: ");
+                writeSample(sample, writer);
+            }
 
             int numberOfSamples = sample.size();
 
             writer.write("\nNumber of Configurations: " + numberOfSamples);
+            if (unreducedSize >= 0) {
+                writer.write("\nNumber of Configurations Before Reduction: " + unreducedSize);
+            }
 
-            ArrayList<Integer> features = getFeatures(sample);
-
-            writer.write("\nFeatures: " + variableMap);
+            writer.write("\nFeatures: ");
+            writeVariableMap(variableMap, writer);
 
             long numberOfInvalidFeatures = coverageStatistic.invalid();
 
@@ -79,15 +207,12 @@ public class ResultWriter {
 
             // Write down all interactions and include the number of occurrences for t = 2.
             if (t == 2) {
-                HashMap<String, Integer> entries = determineEntriesT2(features, sample, true);
+                PairwiseInteractionCounter counter = PairwiseInteractionCounter.of(sample);
 
-                // Process number of solutions per interaction
-                updateEntriesWithNumberOfSolutions(sample, entries);
+                writeEntriesToFile(counter, writer, numberOfInvalidFeatures);
+                printFeatureInteractionsCoveredExactlyOnce(counter, writer, variableMap);
 
-                writeEntriesToFile(entries, writer, numberOfInvalidFeatures);
-                printFeatureInteractionsCoveredExactlyOnce(entries, writer, variableMap);
-
-                int exactlyOnceCount = countInteractionsCoveredExactlyOnce(entries);
+                int exactlyOnceCount = countInteractionsCoveredExactlyOnce(counter);
                 writer.write("Number of interactions covered exactly once: " + exactlyOnceCount + "\n");
                 return true;
             }
@@ -101,144 +226,187 @@ public class ResultWriter {
 
     }
 
-    private static int countInteractionsCoveredExactlyOnce(HashMap<String, Integer> entries) {
-        int count = 0;
-        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
-            if (entry.getValue() == 1) {
-                count++;
-            }
+    /**
+     * Writes a sample in the format of {@link BooleanAssignmentList#toString()},
+     * one configuration at a time.
+     *
+     * @param sample the sample to write
+     * @param writer the writer to write to
+     * @throws IOException if writing fails
+     */
+    private static void writeSample(BooleanAssignmentList sample, Writer writer) throws IOException {
+        writer.write("BooleanAssignmentList[");
+        String separator = "";
+        for (BooleanAssignment configuration : sample) {
+            writer.write(separator);
+            writer.write(configuration.print());
+            separator = ";\n";
         }
-        return count;
+        writer.write("]");
     }
 
     /**
-     * Writes a single summary line in CSV format to the given CSV file.
+     * Writes a variable map in the format of {@link VariableMap#toString()}, one
+     * variable at a time.
      *
-     * @param csvFile           the CSV file to append to
-     * @param samplingAlgorithm the name of the sampling algorithm
-     * @param t                 the t-wise interaction level
-     * @param numberOfSamples   number of configurations in the sample
-     * @param coverageStatistic coverage statistics
-     * @return true if the write succeeded, false otherwise
+     * @param variableMap the variable map to write
+     * @param writer      the writer to write to
+     * @throws IOException if writing fails
      */
-    private static boolean writeSummaryToCSV(File csvFile,
-            SamplingAlgorithm samplingAlgorithm,
-            int t,
-            int numberOfSamples,
-            CoverageStatistic coverageStatistic,
-            int exactlyOnceCount) {
+    private static void writeVariableMap(VariableMap variableMap, Writer writer) throws IOException {
+        writer.write("VariableMap[");
+        String separator = "";
+        Iterator<Pair<Integer, String>> variables = variableMap.stream().iterator();
+        while (variables.hasNext()) {
+            Pair<Integer, String> variable = variables.next();
+            writer.write(separator);
+            writer.write(variable.getKey() + " <-> " + variable.getValue());
+            separator = ", ";
+        }
+        writer.write("]");
+    }
 
-        boolean fileExists = csvFile.exists();
-        try (FileWriter csvWriter = new FileWriter(csvFile, true)) {
+    /**
+     * Writes the coverage statistics of an existing sample to a specified output
+     * file.
+     *
+     * @param outputFile        the output file to write to, replaced if it exists
+     * @param sampleFiles       the files the sample was read from
+     * @param numberOfSamples   the number of configurations in the sample
+     * @param t                 the t-value used
+     * @param coverageStatistic the computed coverage statistics
+     * @param counter           occurrence counts of all pairwise interactions, or
+     *                          {@code null} if {@code t != 2}
+     * @param variableMap       map containing feature variable names
+     * @throws IOException if writing fails
+     */
+    public static void writeCoverageReport(File outputFile, List<File> sampleFiles, int numberOfSamples, int t,
+            CoverageStatistic coverageStatistic, PairwiseInteractionCounter counter, VariableMap variableMap)
+            throws IOException {
 
-            // Write header only if file is new
-            if (!fileExists) {
-                csvWriter.write(
-                        "Sampler,t,Num_Configs,Total_Covered_Twise,Uncovered_Twise,Invalid_Twise,Coverage,Covered_Exactly_Once,Num_Configs_in_Percent\n");
-            }
+        try (Writer writer = new BufferedWriter(new FileWriter(outputFile))) {
+            writer.write("Sample Files: " + sampleFiles + ", t = " + t);
+
+            writer.write("\nNumber of Configurations: " + numberOfSamples);
 
-            String line = String.format(Locale.US, "%s,%d,%d,%d,%d,%d,%.4f,%d\n",
-                    samplingAlgorithm,
-                    t,
-                    numberOfSamples,
-                    coverageStatistic.covered(),
-                    coverageStatistic.uncovered(),
-                    coverageStatistic.invalid(),
-                    coverageStatistic.coverage(),
-                    exactlyOnceCount);
+            long numberOfInvalidFeatures = coverageStatistic.invalid();
+
+            writer.write(
+                    "\nT-Wise Combinations: Covered: " + coverageStatistic.covered() + "; " + "Uncovered: "
+                            + coverageStatistic.uncovered()
+                            + "; " + "Invalid: " + numberOfInvalidFeatures);
+            writer.write("\nCoverage: " + coverageStatistic.coverage() + "\n");
 
-            csvWriter.write(line);
+            if (counter != null) {
+                writeEntriesToFile(counter, writer, numberOfInvalidFeatures);
+                printFeatureInteractionsCoveredExactlyOnce(counter, writer, variableMap);
 
-            return true;
-        } catch (IOException e) {
-            System.err.println("Failed to write summary CSV: " + e.getMessage());
-            return false;
+                int exactlyOnceCount = countInteractionsCoveredExactlyOnce(counter);
+                writer.write("Number of interactions covered exactly once: " + exactlyOnceCount + "\n");
+            }
         }
     }
 
     /**
-     * Computes all possible 2-wise feature combinations (positive and negative)
-     * and initializes their counts to 0.
+     * Writes the differences between two versions of a feature model and the
+     * coverage statistics of a sample for the new version to a specified output
+     * file.
      *
-     * @param features                           list of features
-     * @param sample                             configurations to validate
-     *                                           combinations against
-     * @param considerInvalidFeatureInteractions if true, all combinations are
-     *                                           included
-     * @return a map of 2-wise feature interaction strings to their initial
-     *         frequency count
-     *         across configurations
+     * @param outputFile        the output file to write to, replaced if it exists
+     * @param diff              the differences between the model versions
+     * @param sampleFiles       the files the sample was read from
+     * @param numberOfSamples   the number of configurations in the sample
+     * @param t                 the t-value used
+     * @param coverageStatistic the coverage statistics for the new version
+     * @param cache             the validity cache used for the computation
+     * @param timeMs            the time of the diff and coverage computation in
+     *                          milliseconds
+     * @throws IOException if writing fails
      */
-    private static HashMap<String, Integer> determineEntriesT2(ArrayList<Integer> features,
-            BooleanAssignmentList sample, boolean considerInvalidFeatureInteractions) {
-        HashMap<String, Integer> entries = new HashMap<>();
-
-        for (int i = 0; i < features.size(); i++) {
-            for (int j = i + 1; j < features.size(); j++) {
-                String bothTrue = features.get(i).toString() + "," + features.get(j).toString();
-                String secondTrue = "-" + features.get(i).toString() + "," + features.get(j).toString();
-                String firstTrue = features.get(i).toString() + "," + "-" + features.get(j).toString();
-                String bothFalse = "-" + features.get(i).toString() + "," + "-" + features.get(j).toString();
-
-                if (considerInvalidFeatureInteractions
-                        || combinationExistsInSample(sample, features.get(i), features.get(j))) {
-                    entries.put(bothTrue, 0);
-                }
-                if (considerInvalidFeatureInteractions
-                        || combinationExistsInSample(sample, -features.get(i), features.get(j))) {
-                    entries.put(secondTrue, 0);
-                }
-                if (considerInvalidFeatureInteractions
-                        || combinationExistsInSample(sample, features.get(i), -features.get(j))) {
-                    entries.put(firstTrue, 0);
-                }
-                if (considerInvalidFeatureInteractions
-                        || combinationExistsInSample(sample, -features.get(i), -features.get(j))) {
-                    entries.put(bothFalse, 0);
-                }
+    public static void writeDiffReport(File outputFile, ModelDiff diff, List<File> sampleFiles, int numberOfSamples,
+            int t, CoverageStatistic coverageStatistic, ValidityCache cache, long timeMs) throws IOException {
+
+        try (Writer writer = new BufferedWriter(new FileWriter(outputFile))) {
+            writer.write("Sample Files: " + sampleFiles + ", t = " + t);
+            writer.write("\nNumber of Configurations: " + numberOfSamples);
+
+            writer.write("\nAdded Variables: " + diff.getAddedVariables());
+            writer.write("\nRemoved Variables: " + diff.getRemovedVariables());
+            writer.write("\nAdded Clauses: " + diff.getAddedClauses().size());
+            for (String clause : diff.getAddedClauses()) {
+                writer.write("\n  + " + clause);
+            }
+            writer.write("\nRemoved Clauses: " + diff.getRemovedClauses().size());
+            for (String clause : diff.getRemovedClauses()) {
+                writer.write("\n  - " + clause);
             }
+
+            writer.write(
+                    "\nT-Wise Combinations: Covered: " + coverageStatistic.covered() + "; " + "Uncovered: "
+                            + coverageStatistic.uncovered()
+                            + "; " + "Invalid: " + coverageStatistic.invalid());
+            writer.write("\nCoverage: " + coverageStatistic.coverage());
+
+            writer.write("\nReused Solutions: " + cache.getReusedSolutions() + "; Reused Invalid Interactions: "
+                    + cache.getReusedInvalidInteractions());
+            writer.write("\nCached Solutions: " + cache.getSolutionCount() + "; Cached Invalid Interactions: "
+                    + cache.getInvalidInteractionCount());
+            writer.write("\nComputation Time: " + timeMs + " ms\n");
         }
-        return entries;
+    }
+
+    private static int countInteractionsCoveredExactlyOnce(PairwiseInteractionCounter counter) {
+        return counter.countExactlyOnce();
     }
 
     /**
-     * Checks if a combination of two features exists in any configuration.
+     * Writes a single summary line in CSV format.
      *
-     * @param sample   the list of configurations
-     * @param feature1 the first feature
-     * @param feature2 the second feature
-     * @return true if the combination exists in at least one configuration
+     * @param csvWriter         the writer of the CSV file
+     * @param samplingAlgorithm the name of the sampling algorithm
+     * @param t                 the t-wise interaction level
+     * @param numberOfSamples   number of configurations in the sample
+     * @param coverageStatistic coverage statistics
+     * @param exactlyOnceCount  number of interactions covered exactly once
+     * @throws IOException if writing fails
      */
-    private static boolean combinationExistsInSample(BooleanAssignmentList sample, int feature1,
-            int feature2) {
-        for (BooleanAssignment configuration : sample) {
-            if (configuration.contains(feature1) && configuration.contains(feature2)) {
-                return true;
-            }
-        }
-        return false;
+    private static void writeSummaryToCSV(Writer csvWriter,
+            SamplingAlgorithm samplingAlgorithm,
+            int t,
+            int numberOfSamples,
+            CoverageStatistic coverageStatistic,
+            int exactlyOnceCount) throws IOException {
+
+        String line = String.format(Locale.US, "%s,%d,%d,%d,%d,%d,%.4f,%d\n",
+                samplingAlgorithm,
+                t,
+                numberOfSamples,
+                coverageStatistic.covered(),
+                coverageStatistic.uncovered(),
+                coverageStatistic.invalid(),
+                coverageStatistic.coverage(),
+                exactlyOnceCount);
+
+        csvWriter.write(line);
     }
 
     /**
      * Writes the frequency of covered feature interactions to the result file.
      *
-     * @param entries                 map of interactions and counts
+     * @param counter                 occurrence counts of all interactions
      * @param writer                  file writer to write the output
      * @param numberOfInvalidFeatures the number of invalid features
      * @throws IOException if writing fails
      */
-    private static void writeEntriesToFile(HashMap<String, Integer> entries, FileWriter writer,
+    private static void writeEntriesToFile(PairwiseInteractionCounter counter, Writer writer,
             long numberOFInvalidFeatures)
             throws IOException {
 
         // Count the number of entries by value
-        HashMap<Integer, Long> valueCounts = new HashMap<>();
-        for (Integer value : entries.values()) {
-            valueCounts.put(value, valueCounts.getOrDefault(value, (long) 0) + 1);
-        }
+        SortedMap<Integer, Long> valueCounts = counter.getFrequencyHistogram();
 
         // Reduce number of not covered features by the number of invalid features.
-        valueCounts.put(0, valueCounts.get(0) - numberOFInvalidFeatures);
+        valueCounts.merge(0, -numberOFInvalidFeatures, Long::sum);
 
         // Build a summary string
         StringBuilder sb = new StringBuilder();
@@ -253,162 +421,189 @@ public class ResultWriter {
 
     /**
      * Writes a list of feature interactions that were covered exactly once.
+     * Feature names are only resolved for the interactions that are written.
      *
-     * @param entries     map of interactions and counts
+     * @param counter     occurrence counts of all interactions
      * @param writer      file writer to write the output
      * @param variableMap map used to resolve feature names
      * @throws IOException if writing fails
      */
-    private static void printFeatureInteractionsCoveredExactlyOnce(HashMap<String, Integer> entries,
-            FileWriter writer,
+    private static void printFeatureInteractionsCoveredExactlyOnce(PairwiseInteractionCounter counter,
+            Writer writer,
             VariableMap variableMap)
             throws IOException {
 
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("List of feature interactions covered exactly once:\n");
-
-        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
-            if (entry.getValue() == 1) {
-                String key = entry.getKey();
-
-                String[] parts = key.split(",");
-                int number1 = Integer.parseInt(parts[0]);
-                int number2 = Integer.parseInt(parts[1]);
-
-                IntegerList indices = new IntegerList(Arrays.asList(number1, number2));
-                String featureInteraction = variableMap.getVariableNames(indices).toString();
-
-                stringBuilder.append(featureInteraction + ", ");
-            }
-        }
-
-        writer.write(stringBuilder.toString());
-    }
-
-    /**
-     * Updates the map of 2-wise feature combinations with actual occurrence counts
-     * from the sample.
-     *
-     * @param sample  the list of configurations
-     * @param entries the map of combinations to be updated
-     */
-    private static void updateEntriesWithNumberOfSolutions(BooleanAssignmentList sample,
-            HashMap<String, Integer> entries) {
-        for (BooleanAssignment config : sample) {
-            for (int i = 0; i < config.size(); i++) {
-                for (int j = i + 1; j < config.size(); j++) {
-                    String key = config.get(i) + "," + config.get(j);
-                    entries.computeIfPresent(key, (k, v) -> v + 1);
+        writer.write("List of feature interactions covered exactly once:\n");
+
+        try {
+            counter.forEach((firstLiteral, secondLiteral, count) -> {
+                if (count == 1) {
+                    IntegerList indices = new IntegerList(firstLiteral, secondLiteral);
+                    String featureInteraction = variableMap.getVariableNames(indices).toString();
+                    try {
+                        writer.write(featureInteraction + ", ");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
-            }
-        }
-    }
-
-    /**
-     * Extracts a list of feature variable IDs from the sample.
-     *
-     * @param booleanSolutionList list of sampled configurations
-     * @return a list of integer feature IDs
-     */
-    private static ArrayList<Integer> getFeatures(BooleanAssignmentList booleanSolutionList) {
-        int[] features = booleanSolutionList.getAll().get(0).getAbsoluteValues();
-
-        ArrayList<Integer> relevantFeatures = new ArrayList<>();
-        for (int i : features) {
-            relevantFeatures.add(i);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return relevantFeatures;
-    }
-
-    /**
-     * Determines the number of feature interactions (for t=2) that are covered
-     * exactly once in the provided sample of Boolean assignments.
-     * <p>
-     * This is useful for evaluating the uniqueness of interaction coverage within
-     * a sampled configuration set, in the context of t-wise testing.
-     *
-     * @param sample the list of Boolean assignments representing sampled
-     *               configurations
-     * @return the number of pairwise feature interactions that are covered exactly
-     *         once
-     */
-    private static int determineExactlyOnceCount(BooleanAssignmentList sample) {
-        ArrayList<Integer> features = ResultWriter.getFeatures(sample);
-        HashMap<String, Integer> entries = ResultWriter.determineEntriesT2(features, sample, true);
-        ResultWriter.updateEntriesWithNumberOfSolutions(sample, entries);
-        int exactlyOnceCount = ResultWriter.countInteractionsCoveredExactlyOnce(entries);
-        return exactlyOnceCount;
     }
 
     /**
-     * Writes a batch of summary statistics for subsets of sampled configurations to
-     * a CSV file.
+     * Writes a batch of summary statistics for prefixes of the sampled
+     * configurations to a CSV file.
      * <p>
-     * This method evaluates the t-wise interaction coverage for multiple subset
-     * sizes
-     * (2, 5, 10, 25, 50, 75, 100) from the given list of assignments, computes
-     * statistics
-     * such as total coverage and interactions covered exactly once, and writes the
-     * results
-     * incrementally to the specified CSV file. After processing the subsets, it
-     * also computes
-     * and writes the statistics for the full sample.
+     * A row is written for every prefix size of the sampling configuration that is
+     * smaller than the sample (all prefix sizes if none are configured), followed
+     * by a row for the complete sample. The statistics of all prefixes are derived
+     * from a single {@link CoverageCurve}, so the coverage of the sample is only
+     * computed once, and all rows are written through one buffered stream.
      *
-     * @param assignments    the full list of sampled configurations
-     * @param variableMap    the variable map used to construct
-     *                       BooleanAssignmentList subsets
+     * @param sample         the complete sample in sampling order
      * @param computedCNF    the CNF representation used for coverage computation
      * @param samplingConfig the sampling configuration, including the sampling
-     *                       algorithm and t-value
-     * @param sample         the complete sample for which full statistics should be
-     *                       computed
-     * @param outputCsv      the CSV file where results should be written
+     *                       algorithm, t-value and prefix sizes
+     * @param statistic      the coverage statistic of the complete sample
+     * @param outputCsv      the CSV file where results should be appended
      * @throws IOException if an I/O error occurs during writing to the CSV file
      */
     public static void writeBatchSummaries(
-            List<BooleanAssignment> assignments,
-            VariableMap variableMap,
+            BooleanAssignmentList sample,
             BooleanAssignmentList computedCNF,
             SamplingConfig samplingConfig,
-            BooleanAssignmentList sample,
+            CoverageStatistic statistic,
             File outputCsv) throws IOException {
 
-        int[] sizes = { 2, 5, 10, 25, 50, 75, 100 };
+        CoverageCurve curve = CoverageCurve.compute(sample, computedCNF, samplingConfig.getT(), statistic);
+        int sampleSize = curve.size();
+
+        int[] prefixes = samplingConfig.getCsvPrefixes();
+        IntStream prefixSizes = prefixes == null ? IntStream.range(1, sampleSize)
+                : Arrays.stream(prefixes).filter(size -> size > 0 && size < sampleSize).sorted().distinct();
 
-        for (int size : sizes) {
-            List<BooleanAssignment> firstN = assignments.subList(0, Math.min(size, assignments.size()));
-            BooleanAssignmentList firstNList = new BooleanAssignmentList(variableMap, firstN);
+        boolean fileExists = outputCsv.exists();
+        try (Writer csvWriter = new BufferedWriter(new FileWriter(outputCsv, true))) {
 
-            CoverageStatistic statistic = Computations.of(firstNList)
-                    .map(ConstraintedCoverageComputation::new)
-                    .set(ConstraintedCoverageComputation.BOOLEAN_CLAUSE_LIST, computedCNF)
-                    .set(ConstraintedCoverageComputation.T, new IntegerList(samplingConfig.getT()))
-                    .compute();
+            // Write header only if file is new
+            if (!fileExists) {
+                csvWriter.write(
+                        "Sampler,t,Num_Configs,Total_Covered_Twise,Uncovered_Twise,Invalid_Twise,Coverage,Covered_Exactly_Once,Num_Configs_in_Percent\n");
+            }
 
-            int exactlyOnceCount = determineExactlyOnceCount(firstNList);
+            for (int size : prefixSizes.toArray()) {
+                writeSummaryToCSV(
+                        csvWriter,
+                        samplingConfig.getSamplingAlgorithm(),
+                        samplingConfig.getT(),
+                        size,
+                        curve.getStatistic(size),
+                        curve.getExactlyOnceCount(size));
+            }
 
             writeSummaryToCSV(
-                    outputCsv,
+                    csvWriter,
                     samplingConfig.getSamplingAlgorithm(),
                     samplingConfig.getT(),
-                    firstNList.size(),
+                    sampleSize,
                     statistic,
-                    exactlyOnceCount);
+                    curve.getExactlyOnceCount(sampleSize));
+        }
+    }
 
-            if (assignments.size() <= size) {
-                return;
+    /**
+     * Writes the results of all cells of a batch experiment to one CSV file.
+     *
+     * @param results   the results of the cells
+     * @param outputCsv the CSV file to write, replaced if it exists
+     * @throws IOException if an I/O error occurs during writing to the CSV file
+     */
+    public static void writeBatchResults(List<BatchResult> results, File outputCsv) throws IOException {
+        try (Writer csvWriter = new BufferedWriter(new FileWriter(outputCsv))) {
+            csvWriter.write(
+                    "Sampler,t,Config_Limit,Repetition,Num_Configs,Total_Covered_Twise,Uncovered_Twise,Invalid_Twise,Coverage,Covered_Exactly_Once,Sampling_Time_ms,Error\n");
+
+            for (BatchResult result : results) {
+                BatchCell cell = result.getCell();
+                if (result.isSuccess()) {
+                    CoverageStatistic statistic = result.getCoverageStatistic();
+                    csvWriter.write(String.format(Locale.US, "%s,%d,%d,%d,%d,%d,%d,%d,%.4f,%d,%d,\n",
+                            cell.getSamplingAlgorithm(),
+                            cell.getT(),
+                            cell.getNumberOfConfigurations(),
+                            cell.getRepetition(),
+                            result.getNumberOfSamples(),
+                            statistic.covered(),
+                            statistic.uncovered(),
+                            statistic.invalid(),
+                            statistic.coverage(),
+                            result.getExactlyOnceCount(),
+                            result.getSamplingTimeMillis()));
+                } else {
+                    csvWriter.write(String.format(Locale.US, "%s,%d,%d,%d,,,,,,,,\"%s\"\n",
+                            cell.getSamplingAlgorithm(),
+                            cell.getT(),
+                            cell.getNumberOfConfigurations(),
+                            cell.getRepetition(),
+                            result.getError().replace("\"", "'")));
+                }
             }
         }
-        CoverageStatistic statistic = TWiseCalculator.computeTWiseStatistics(sample, computedCNF, samplingConfig);
-        int exactlyOnceCount = determineExactlyOnceCount(sample);
-
-        writeSummaryToCSV(
-                outputCsv,
-                samplingConfig.getSamplingAlgorithm(),
-                samplingConfig.getT(),
-                sample.size(),
-                statistic,
-                exactlyOnceCount);
     }
 
-}
\ No newline at end of file
+    /**
+     * Writes the metrics of all phases of an analysis to a file. Files ending in
+     * {@code .csv} are written as CSV with one line per phase, all other files as
+     * JSON. Times are given in milliseconds.
+     *
+     * @param metrics    the recorded phases
+     * @param outputFile the file to write, replaced if it exists
+     * @throws IOException if an I/O error occurs during writing
+     */
+    public static void writeMetrics(PhaseMetrics metrics, File outputFile) throws IOException {
+        if (outputFile.getName().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            try (Writer csvWriter = new BufferedWriter(new FileWriter(outputFile))) {
+                csvWriter.write("Phase,Wall_Time_ms,CPU_Time_ms,Allocated_Bytes,Peak_Heap_Bytes,Counters\n");
+                for (PhaseMetrics.Phase phase : metrics.getPhases()) {
+                    StringBuilder counters = new StringBuilder();
+                    for (Map.Entry<String, Long> counter : phase.getCounters().entrySet()) {
+                        counters.append(counters.length() > 0 ? ";" : "")
+                                .append(counter.getKey()).append('=').append(counter.getValue());
+                    }
+                    csvWriter.write(String.format(Locale.US, "%s,%.3f,%.3f,%d,%d,%s\n",
+                            phase.getName(),
+                            phase.getWallTimeNanos() / 1e6,
+                            phase.getCpuTimeNanos() / 1e6,
+                            phase.getAllocatedBytes(),
+                            phase.getPeakHeapBytes(),
+                            counters));
+                }
+            }
+            return;
+        }
+
+        try (JsonWriter jsonWriter = new JsonWriter(new BufferedWriter(new FileWriter(outputFile)))) {
+            jsonWriter.setIndent("  ");
+            jsonWriter.beginObject();
+            jsonWriter.name("phases").beginArray();
+            for (PhaseMetrics.Phase phase : metrics.getPhases()) {
+                jsonWriter.beginObject();
+                jsonWriter.name("phase").value(phase.getName());
+                jsonWriter.name("wallTimeMs").value(phase.getWallTimeNanos() / 1e6);
+                jsonWriter.name("cpuTimeMs").value(phase.getCpuTimeNanos() / 1e6);
+                jsonWriter.name("allocatedBytes").value(phase.getAllocatedBytes());
+                jsonWriter.name("peakHeapBytes").value(phase.getPeakHeapBytes());
+                jsonWriter.name("counters").beginObject();
+                for (Map.Entry<String, Long> counter : phase.getCounters().entrySet()) {
+                    jsonWriter.name(counter.getKey()).value(counter.getValue());
+                }
+                jsonWriter.endObject();
+                jsonWriter.endObject();
+            }
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+        }
+    }
+}
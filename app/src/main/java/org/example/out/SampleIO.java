@@ -0,0 +1,337 @@
+package org.example.out;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+/**
+ * Reads and writes samples in a compact bit-packed binary format.
+ * <p>
+ * The file starts with an uncompressed header:
+ * <ul>
+ * <li>the magic bytes {@code TWSB} and a format version byte,</li>
+ * <li>a flag byte ({@link #FLAG_COMPRESSED}, {@link #FLAG_PARTIAL}),</li>
+ * <li>the number of variables and their names in index order,</li>
+ * <li>the number of configurations.</li>
+ * </ul>
+ * It is followed by one row per configuration with one bit per variable
+ * (bit {@code v - 1} is set if variable {@code v} is selected), packed into
+ * {@code long} words. If a configuration does not assign every variable, each
+ * row is followed by a second bit row marking the assigned variables. With
+ * compression, all rows are deflated.
+ * </p>
+ * <p>
+ * Uncompressed files are written and read through memory-mapped buffers.
+ * </p>
+ */
+public class SampleIO {
+
+    private static final byte[] MAGIC = { 'T', 'W', 'S', 'B' };
+    private static final int VERSION = 1;
+
+    /**
+     * Flag for a deflated payload.
+     */
+    public static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * Flag for rows that are followed by a presence mask.
+     */
+    public static final int FLAG_PARTIAL = 2;
+
+    /**
+     * Writes a sample to a file, replacing an existing file.
+     *
+     * @param sample   the sample to write
+     * @param path     the file to write to
+     * @param compress whether the configurations are deflated
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if a configuration refers to a variable
+     *                                  that is not in the variable map
+     */
+    public static void write(BooleanAssignmentList sample, Path path, boolean compress) throws IOException {
+        List<String> names = sample.getVariableMap().getVariableNames();
+        int variableCount = names.size();
+        boolean partial = false;
+        for (BooleanAssignment configuration : sample) {
+            partial |= configuration.get().length != variableCount;
+        }
+        int flags = (compress ? FLAG_COMPRESSED : 0) | (partial ? FLAG_PARTIAL : 0);
+        byte[] header = createHeader(names, sample.size(), flags);
+
+        int words = words(variableCount);
+        long[] values = new long[words];
+        long[] presence = new long[words];
+        long payloadSize = (long) sample.size() * words * Long.BYTES * (partial ? 2 : 1);
+
+        if (!compress && header.length + payloadSize <= Integer.MAX_VALUE) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        header.length + payloadSize);
+                buffer.put(header);
+                for (BooleanAssignment configuration : sample) {
+                    encode(configuration.get(), variableCount, values, presence);
+                    for (long word : values) {
+                        buffer.putLong(word);
+                    }
+                    if (partial) {
+                        for (long word : presence) {
+                            buffer.putLong(word);
+                        }
+                    }
+                }
+                buffer.force();
+            }
+            return;
+        }
+
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(path))) {
+            file.write(header);
+            OutputStream payload = compress ? new DeflaterOutputStream(file) : file;
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(payload));
+            for (BooleanAssignment configuration : sample) {
+                encode(configuration.get(), variableCount, values, presence);
+                for (long word : values) {
+                    out.writeLong(word);
+                }
+                if (partial) {
+                    for (long word : presence) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a sample from a file.
+     *
+     * @param path the file to read
+     * @return the sample with a variable map of the stored variable names
+     * @throws IOException if reading fails or the file is not in the binary
+     *                     sample format
+     */
+    public static BooleanAssignmentList read(Path path) throws IOException {
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        List<String> names = read(path, literals -> configurations.add(new BooleanAssignment(literals)));
+        return new BooleanAssignmentList(VariableMap.of(names), configurations);
+    }
+
+    /**
+     * Reads the configurations of a sample file one at a time, so the sample does
+     * not need to be held in memory.
+     *
+     * @param path     the file to read
+     * @param consumer receives the literals of each configuration, in terms of
+     *                 the stored variable names; the array is not reused
+     * @return the stored variable names in index order
+     * @throws IOException if reading fails or the file is not in the binary
+     *                     sample format
+     */
+    public static List<String> read(Path path, Consumer<int[]> consumer) throws IOException {
+        Header header = readHeader(path);
+        int variableCount = header.names.size();
+        int words = words(variableCount);
+        boolean partial = (header.flags & FLAG_PARTIAL) != 0;
+        long[] values = new long[words];
+        long[] presence = new long[words];
+        Arrays.fill(presence, -1L);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long payloadSize = channel.size() - header.size;
+            if ((header.flags & FLAG_COMPRESSED) == 0 && payloadSize <= Integer.MAX_VALUE) {
+                long expectedSize = (long) header.configurationCount * words * Long.BYTES * (partial ? 2 : 1);
+                if (payloadSize < expectedSize) {
+                    throw new IOException("Truncated sample file: " + path);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, header.size, payloadSize);
+                for (int c = 0; c < header.configurationCount; c++) {
+                    for (int w = 0; w < words; w++) {
+                        values[w] = buffer.getLong();
+                    }
+                    if (partial) {
+                        for (int w = 0; w < words; w++) {
+                            presence[w] = buffer.getLong();
+                        }
+                    }
+                    consumer.accept(decode(values, presence, variableCount));
+                }
+                return header.names;
+            }
+        }
+
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            file.skipNBytes(header.size);
+            InputStream payload = (header.flags & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(file) : file;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(payload))) {
+                for (int c = 0; c < header.configurationCount; c++) {
+                    for (int w = 0; w < words; w++) {
+                        values[w] = in.readLong();
+                    }
+                    if (partial) {
+                        for (int w = 0; w < words; w++) {
+                            presence[w] = in.readLong();
+                        }
+                    }
+                    consumer.accept(decode(values, presence, variableCount));
+                }
+            }
+        }
+        return header.names;
+    }
+
+    /**
+     * Reads only the variable names of a sample file.
+     *
+     * @param path the file to read
+     * @return the stored variable names in index order
+     * @throws IOException if reading fails or the file is not in the binary
+     *                     sample format
+     */
+    public static List<String> readVariableNames(Path path) throws IOException {
+        return readHeader(path).names;
+    }
+
+    /**
+     * Checks whether a file starts with the magic bytes of the binary sample
+     * format.
+     *
+     * @param path the file to check
+     * @return {@code true} if the file is a binary sample file
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isSampleFile(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        }
+    }
+
+    private static byte[] createHeader(List<String> names, int configurationCount, int flags) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeInt(names.size());
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+            out.writeInt(configurationCount);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readHeader(in);
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("Not a binary sample file.");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary sample version: " + version);
+        }
+        Header header = new Header();
+        header.flags = in.readUnsignedByte();
+        int variableCount = in.readInt();
+        header.names = new ArrayList<>(variableCount);
+        // magic, version, flags, variable count, configuration count
+        long size = MAGIC.length + 2 + 2 * Integer.BYTES;
+        for (int i = 0; i < variableCount; i++) {
+            String name = in.readUTF();
+            header.names.add(name);
+            size += 2 + utfLength(name);
+        }
+        header.configurationCount = in.readInt();
+        header.size = size;
+        return header;
+    }
+
+    private static void encode(int[] literals, int variableCount, long[] values, long[] presence) {
+        Arrays.fill(values, 0L);
+        Arrays.fill(presence, 0L);
+        for (int literal : literals) {
+            int variable = Math.abs(literal);
+            if (literal == 0) {
+                continue;
+            }
+            if (variable > variableCount) {
+                throw new IllegalArgumentException("Unknown variable in literal: " + literal);
+            }
+            int bit = variable - 1;
+            presence[bit >>> 6] |= 1L << bit;
+            if (literal > 0) {
+                values[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private static int[] decode(long[] values, long[] presence, int variableCount) {
+        int size = 0;
+        for (int w = 0; w < values.length; w++) {
+            size += Long.bitCount(presence[w] & lastWordMask(w, values.length, variableCount));
+        }
+        int[] literals = new int[size];
+        int index = 0;
+        for (int bit = 0; bit < variableCount; bit++) {
+            if ((presence[bit >>> 6] & (1L << bit)) != 0) {
+                literals[index++] = (values[bit >>> 6] & (1L << bit)) != 0 ? bit + 1 : -(bit + 1);
+            }
+        }
+        return literals;
+    }
+
+    private static long lastWordMask(int w, int words, int variableCount) {
+        return w == words - 1 && (variableCount & 63) != 0 ? (1L << (variableCount & 63)) - 1 : -1L;
+    }
+
+    private static int words(int variableCount) {
+        return (variableCount + 63) >>> 6;
+    }
+
+    // Length in modified UTF-8 as written by writeUTF, which encodes '\0' in two bytes
+    private static int utfLength(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == 0 || c >= 0x80) {
+                length += c >= 0x800 ? 2 : 1;
+            }
+        }
+        return length;
+    }
+
+    private static class Header {
+        private int flags;
+        private List<String> names;
+        private int configurationCount;
+        private long size;
+    }
+}
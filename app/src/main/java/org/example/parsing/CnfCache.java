@@ -0,0 +1,138 @@
+package org.example.parsing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.io.binary.BooleanAssignmentGroupsBinaryFormat;
+
+/**
+ * Persistent on-disk cache for the CNF clause lists of feature models.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the model file content, so a model
+ * is only transformed again if its content changes. The clause list and its
+ * variable map are stored in FeatJAR's binary format. A cache entry that cannot
+ * be read is ignored and overwritten with a freshly computed CNF.
+ * </p>
+ */
+public class CnfCache {
+
+    // Changes whenever the transformation chain or the stored format changes.
+    private static final String CACHE_VERSION = "cnf-v1";
+    private static final String FILE_EXTENSION = ".cnf";
+
+    private final Path directory;
+
+    /**
+     * Creates a cache that stores its entries in the given directory.
+     *
+     * @param directory the cache directory, created on first write
+     */
+    public CnfCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the CNF of a feature model, either from the cache or by parsing and
+     * transforming the model and storing the result in the cache.
+     *
+     * @param modelFile the XML model file
+     * @return the clauses of the CNF together with their variable map
+     * @throws RuntimeException if the model cannot be read or parsed
+     */
+    public BooleanAssignmentList loadOrCompute(File modelFile) {
+        String key;
+        try {
+            key = computeKey(modelFile.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read model file: " + modelFile, e);
+        }
+        Path cacheFile = getCacheFile(key);
+
+        if (Files.isRegularFile(cacheFile)) {
+            Result<BooleanAssignmentGroups> cached = IO.load(cacheFile, new BooleanAssignmentGroupsBinaryFormat());
+            if (cached.isPresent()) {
+                System.out.println("Loaded CNF from cache: " + cacheFile);
+                return cached.get().getFirstGroup();
+            }
+            System.err.println("Ignoring unreadable CNF cache entry: " + cacheFile);
+        }
+
+        BooleanAssignmentList computedCNF = FeatureModelParser.computeCNF(modelFile.getPath());
+        store(cacheFile, computedCNF);
+        return computedCNF;
+    }
+
+    /**
+     * Returns the file of the cache entry with the given key.
+     *
+     * @param key the hash of a model file as computed by {@link #computeKey}
+     * @return the path of the cache entry
+     */
+    public Path getCacheFile(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    /**
+     * Computes the cache key of a model file from its content.
+     *
+     * @param modelFile the model file
+     * @return the hexadecimal SHA-256 hash of the cache version and the file
+     *         content
+     * @throws IOException if the file cannot be read
+     */
+    public static String computeKey(Path modelFile) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(CACHE_VERSION.getBytes(StandardCharsets.UTF_8));
+        try (InputStream in = new DigestInputStream(Files.newInputStream(modelFile), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Writes a cache entry atomically, so concurrent runs never read a partially
+     * written file. Failures are reported but do not abort the analysis.
+     */
+    private void store(Path cacheFile, BooleanAssignmentList computedCNF) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "cnf", ".tmp");
+            IO.save(new BooleanAssignmentGroups(computedCNF), tempFile, new BooleanAssignmentGroupsBinaryFormat());
+            try {
+                Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            System.out.println("Stored CNF in cache: " + cacheFile);
+        } catch (IOException e) {
+            System.err.println("Failed to store CNF in cache: " + e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package org.example.parsing;
 
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.io.FormulaFormats;
 import de.featjar.formula.structure.IFormula;
 
@@ -9,6 +14,7 @@ import java.net.URL;
 
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Cache;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Result;
 import de.featjar.base.io.IO;
 import de.featjar.base.io.format.IFormatSupplier;
@@ -38,6 +44,23 @@ public class FeatureModelParser {
         return load(modelPath, FormulaFormats.getInstance());
     }
 
+    /**
+     * Loads a feature model in XML format and computes its CNF representation as
+     * a clause list.
+     *
+     * @param modelPath the path to the XML model file
+     * @return the clauses of the CNF together with their {@link VariableMap}
+     * @throws RuntimeException if the file cannot be found or parsed
+     */
+    public static BooleanAssignmentList computeCNF(String modelPath) {
+        IFormula formula = convertXMLToFormula(modelPath);
+        return Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
     /**
      * Initializes the FeatJAR framework with predefined logging and caching
      * settings.
@@ -0,0 +1,188 @@
+package org.example.parsing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import org.example.out.FeatureIdeIO;
+import org.example.out.SampleIO;
+
+import com.google.gson.stream.JsonReader;
+
+import de.featjar.formula.VariableMap;
+
+/**
+ * Streaming reader for samples that were produced outside of this tool.
+ * <p>
+ * The configurations are passed to a consumer one at a time, with their
+ * literals translated to the variable indices of a feature model, so a sample
+ * file never has to be held in memory as a whole. The format is chosen by the
+ * file content and name:
+ * <ul>
+ * <li><b>Binary</b> – files in the format of {@link SampleIO}; variables are
+ * matched by name.</li>
+ * <li><b>JSON</b> – files ending in {@code .json} in the FeatureIDE result
+ * format, an array of objects with a {@code literals} array whose literals
+ * already use the variable indices of the model.</li>
+ * <li><b>CSV</b> – all other files. The first row contains the feature names,
+ * each further row one configuration. Cells may be separated by {@code ,} or
+ * {@code ;} and contain {@code 1}/{@code true}/{@code +}/{@code x} for selected
+ * and {@code 0}/{@code false}/{@code -} for deselected features; empty cells
+ * leave a feature unassigned. Columns that do not name a feature of the model,
+ * e.g. a configuration name, are ignored.</li>
+ * </ul>
+ * </p>
+ */
+public class SampleReader {
+
+    private final VariableMap variableMap;
+    private int ignoredVariables;
+
+    /**
+     * Creates a reader that translates samples to the given variables.
+     *
+     * @param variableMap the variables of the feature model
+     */
+    public SampleReader(VariableMap variableMap) {
+        this.variableMap = variableMap;
+    }
+
+    /**
+     * Reads all configurations of a sample file.
+     *
+     * @param file     the sample file
+     * @param consumer receives the literals of each configuration in terms of the
+     *                 variable map of this reader
+     * @return the number of configurations read
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public int read(Path file, Consumer<int[]> consumer) throws IOException {
+        int[] count = new int[1];
+        Consumer<int[]> counting = literals -> {
+            count[0]++;
+            consumer.accept(literals);
+        };
+        if (SampleIO.isSampleFile(file)) {
+            readBinary(file, counting);
+        } else if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            readJson(file, counting);
+        } else {
+            readCsv(file, counting);
+        }
+        return count[0];
+    }
+
+    /**
+     * @return the number of variables in the files read so far that are not part
+     *         of the feature model and were therefore ignored
+     */
+    public int getIgnoredVariables() {
+        return ignoredVariables;
+    }
+
+    private void readBinary(Path file, Consumer<int[]> consumer) throws IOException {
+        int[] indices = mapNames(SampleIO.readVariableNames(file));
+        SampleIO.read(file, literals -> consumer.accept(translate(literals, indices)));
+    }
+
+    private void readJson(Path file, Consumer<int[]> consumer) throws IOException {
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file))) {
+            FeatureIdeIO.readAssignments(reader, variableMap.getVariableCount(), consumer);
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed JSON sample " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void readCsv(Path file, Consumer<int[]> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            String separator = header.contains(";") ? ";" : ",";
+            int[] indices = mapNames(Arrays.asList(split(header, separator)));
+
+            int[] buffer = new int[indices.length];
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] cells = split(line, separator);
+                int size = 0;
+                for (int i = 0; i < Math.min(cells.length, indices.length); i++) {
+                    if (indices[i] == 0 || cells[i].isEmpty()) {
+                        continue;
+                    }
+                    Boolean selected = parseValue(cells[i]);
+                    if (selected == null) {
+                        throw new IOException("Invalid value '" + cells[i] + "' in line " + lineNumber + " of " + file);
+                    }
+                    buffer[size++] = selected ? indices[i] : -indices[i];
+                }
+                consumer.accept(Arrays.copyOf(buffer, size));
+            }
+        }
+    }
+
+    /**
+     * Maps the variable names of a sample to the indices of the feature model, 0
+     * for names that are not part of the model.
+     */
+    private int[] mapNames(List<String> names) {
+        int[] indices = new int[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            indices[i] = variableMap.get(names.get(i)).orElse(0);
+            if (indices[i] == 0) {
+                ignoredVariables++;
+            }
+        }
+        return indices;
+    }
+
+    private static int[] translate(int[] literals, int[] indices) {
+        int[] translated = new int[literals.length];
+        int size = 0;
+        for (int literal : literals) {
+            int index = indices[Math.abs(literal) - 1];
+            if (index != 0) {
+                translated[size++] = literal > 0 ? index : -index;
+            }
+        }
+        return size == translated.length ? translated : Arrays.copyOf(translated, size);
+    }
+
+    private static String[] split(String line, String separator) {
+        String[] cells = line.split(separator, -1);
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = cells[i].trim();
+            if (cells[i].length() >= 2 && cells[i].startsWith("\"") && cells[i].endsWith("\"")) {
+                cells[i] = cells[i].substring(1, cells[i].length() - 1);
+            }
+        }
+        return cells;
+    }
+
+    private static Boolean parseValue(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "true":
+            case "+":
+            case "x":
+                return Boolean.TRUE;
+            case "0":
+            case "false":
+            case "-":
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+}
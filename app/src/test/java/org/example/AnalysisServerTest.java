@@ -0,0 +1,102 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import org.example.common.AnalysisServer;
+import org.example.common.FeatureModelGenerator;
+import org.example.common.ModelCache;
+import org.example.parsing.FeatureModelParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import de.featjar.base.FeatJAR;
+
+public class AnalysisServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void initializeFeatJAR() {
+        if (!FeatJAR.isInitialized()) {
+            FeatureModelParser.initializeFeatJAR();
+        }
+    }
+
+    @Test
+    void testProtocolErrors() {
+        AnalysisServer server = new AnalysisServer(new ModelCache(1024 * 1024, null));
+
+        assertEquals(AnalysisServer.PARSE_ERROR, errorCode(server.handle("{not json")));
+        assertEquals(AnalysisServer.METHOD_NOT_FOUND,
+                errorCode(server.handle("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"unknown\"}")));
+        assertEquals(AnalysisServer.INVALID_PARAMS,
+                errorCode(server.handle("{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"coreDead\"}")));
+        assertNull(server.handle("{\"jsonrpc\": \"2.0\", \"method\": \"stats\"}"));
+    }
+
+    @Test
+    void testServeUntilShutdown() throws IOException {
+        AnalysisServer server = new AnalysisServer(new ModelCache(1024 * 1024, null));
+        StringWriter out = new StringWriter();
+        server.serve(new BufferedReader(new StringReader(
+                "{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"stats\"}\n"
+                        + "\n"
+                        + "{\"jsonrpc\": \"2.0\", \"id\": \"last\", \"method\": \"shutdown\"}\n"
+                        + "{\"jsonrpc\": \"2.0\", \"id\": 3, \"method\": \"stats\"}\n")),
+                out);
+
+        String[] responses = out.toString().split("\n");
+        assertEquals(2, responses.length);
+        JsonObject stats = JsonParser.parseString(responses[0]).getAsJsonObject();
+        assertEquals(1, stats.get("id").getAsInt());
+        assertEquals(0, stats.getAsJsonObject("result").get("models").getAsInt());
+        assertEquals("last", JsonParser.parseString(responses[1]).getAsJsonObject().get("id").getAsString());
+        assertTrue(server.isShutdown());
+    }
+
+    @Test
+    void testModelCacheEvictsLeastRecentlyUsed() throws IOException {
+        Path first = writeModel("first.xml", 1);
+        Path second = writeModel("second.xml", 2);
+        long bytes = ModelCache.estimateBytes(FeatureModelParser.computeCNF(first.toString()));
+        // room for about one model
+        ModelCache cache = new ModelCache(bytes + bytes / 2, null);
+
+        ModelCache.Entry entry = cache.get(first.toFile());
+        assertSame(entry, cache.get(first.toFile()));
+        assertEquals(1, cache.getHits());
+
+        cache.get(second.toFile());
+        assertEquals(1, cache.size());
+        assertTrue(cache.getUsedBytes() <= cache.getMaxBytes());
+        cache.get(first.toFile());
+        assertEquals(3, cache.getMisses());
+    }
+
+    private Path writeModel(String name, long seed) throws IOException {
+        FeatureModelGenerator generator = new FeatureModelGenerator();
+        generator.setFeatureCount(50);
+        generator.setSeed(seed);
+        Path file = tempDir.resolve(name);
+        generator.writeXml(file);
+        return file;
+    }
+
+    private static int errorCode(String response) {
+        return JsonParser.parseString(response).getAsJsonObject().getAsJsonObject("error").get("code").getAsInt();
+    }
+}
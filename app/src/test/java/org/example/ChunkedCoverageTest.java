@@ -0,0 +1,61 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.example.common.ChunkedCoverage;
+import org.example.common.ParallelCoverageCalculator;
+import org.junit.jupiter.api.Test;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+class ChunkedCoverageTest {
+
+    @Test
+    void testChunkedCoverageMatchesWholeSample() {
+        VariableMap variableMap = VariableMap.of(Arrays.asList("A", "B", "C", "D", "E", "F", "G"));
+        BooleanAssignmentList computedCNF = new BooleanAssignmentList(variableMap, Arrays.asList(
+                new BooleanAssignment(+1),
+                new BooleanAssignment(-2, +1),
+                new BooleanAssignment(-3, +2),
+                new BooleanAssignment(-4, -5),
+                new BooleanAssignment(-6, +4, +7)));
+
+        // random configurations, some of which violate the CNF
+        Random random = new Random(7);
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < 30; c++) {
+            int[] literals = new int[variableMap.getVariableCount()];
+            for (int v = 1; v <= literals.length; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, configurations);
+
+        for (int t = 1; t <= 3; t++) {
+            CoverageStatistic expected = ParallelCoverageCalculator.computeTWiseStatistics(sample, computedCNF, t,
+                    2);
+            // 7 does not divide the sample size, 30 is the whole sample
+            for (int chunkSize : new int[] { 1, 7, 30 }) {
+                ChunkedCoverage chunked = new ChunkedCoverage(computedCNF, t, 2, chunkSize, null);
+                for (BooleanAssignment configuration : configurations) {
+                    chunked.addConfiguration(configuration.get());
+                }
+                CoverageStatistic actual = chunked.finish();
+
+                assertEquals(expected.covered(), actual.covered());
+                assertEquals(expected.uncovered(), actual.uncovered());
+                assertEquals(expected.invalid(), actual.invalid());
+                assertEquals(30, chunked.size());
+            }
+        }
+    }
+}
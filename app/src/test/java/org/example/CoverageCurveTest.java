@@ -0,0 +1,136 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.example.common.CoverageCurve;
+import org.example.common.PairwiseInteractionCounter;
+import org.example.common.SampleMatrix;
+import org.example.common.UncoveredInteractions;
+import org.junit.jupiter.api.Test;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class CoverageCurveTest {
+
+    @Test
+    void testPrefixesMatchRecomputation() {
+        Random random = new Random(3);
+        int numberOfFeatures = 7;
+        int t = 3;
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= numberOfFeatures; i++) {
+            names.add("F" + i);
+        }
+        VariableMap variableMap = VariableMap.of(names);
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < 90; c++) {
+            int[] literals = new int[numberOfFeatures];
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, configurations);
+        BooleanAssignmentList cnf = new BooleanAssignmentList(variableMap);
+
+        int total = 35 * 8;
+        CoverageStatistic full = new CoverageStatistic();
+        full.setNumberOfCoveredConditions(countCovered(configurations, numberOfFeatures));
+        full.setNumberOfUncoveredConditions(total - full.covered());
+
+        CoverageCurve curve = CoverageCurve.compute(sample, cnf, t, full);
+        long[] firstCovered = CoverageCurve.countFirstCovered(sample, cnf, t);
+        assertEquals(configurations.size(), curve.size());
+        assertEquals(configurations.size(), firstCovered.length);
+        long covered = 0;
+        for (int k = 0; k <= configurations.size(); k++) {
+            List<BooleanAssignment> prefix = configurations.subList(0, k);
+            CoverageStatistic statistic = curve.getStatistic(k);
+            covered += k > 0 ? firstCovered[k - 1] : 0;
+            assertEquals(countCovered(prefix, numberOfFeatures), statistic.covered());
+            assertEquals(statistic.covered(), covered);
+            assertEquals(total - statistic.covered(), statistic.uncovered());
+            if (k > 0) {
+                PairwiseInteractionCounter counter = PairwiseInteractionCounter
+                        .of(new BooleanAssignmentList(variableMap, prefix));
+                assertEquals(counter.countExactlyOnce(), curve.getExactlyOnceCount(k));
+            }
+        }
+    }
+
+    @Test
+    void testRemoveCoveredMatchesFirstCovered() {
+        Random random = new Random(5);
+        int numberOfFeatures = 7;
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= numberOfFeatures; i++) {
+            names.add("F" + i);
+        }
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < 60; c++) {
+            int[] literals = new int[numberOfFeatures];
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                literals[v - 1] = random.nextInt(4) > 0 ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        BooleanAssignmentList sample = new BooleanAssignmentList(VariableMap.of(names), configurations);
+        long[] expected = CoverageCurve.countFirstCovered(sample, new BooleanAssignmentList(VariableMap.of(names)), 2);
+
+        // the interactions that the first ten configurations leave uncovered, in blocks of five
+        SampleMatrix first = SampleMatrix
+                .of(new BooleanAssignmentList(VariableMap.of(names), configurations.subList(0, 10)));
+        UncoveredInteractions uncovered = new UncoveredInteractions(2, 5);
+        for (int i = 1; i <= numberOfFeatures; i++) {
+            for (int j = i + 1; j <= numberOfFeatures; j++) {
+                for (int[] interaction : new int[][] { { i, j }, { i, -j }, { -i, j }, { -i, -j } }) {
+                    if (!first.covers(interaction)) {
+                        uncovered.add(interaction);
+                    }
+                }
+            }
+        }
+
+        long remaining = uncovered.size();
+        for (int[] chunk : new int[][] { { 10, 35 }, { 35, 60 } }) {
+            SampleMatrix matrix = SampleMatrix.of(new BooleanAssignmentList(VariableMap.of(names),
+                    configurations.subList(chunk[0], chunk[1])));
+            long[] firstCovered = uncovered.removeCovered(matrix);
+            for (int k = chunk[0]; k < chunk[1]; k++) {
+                assertEquals(expected[k], firstCovered[k - chunk[0]]);
+                remaining -= expected[k];
+            }
+            assertEquals(remaining, uncovered.size());
+        }
+    }
+
+    private static long countCovered(List<BooleanAssignment> configurations, int n) {
+        long covered = 0;
+        for (int a = 1; a <= n; a++) {
+            for (int b = a + 1; b <= n; b++) {
+                for (int c = b + 1; c <= n; c++) {
+                    for (int polarity = 0; polarity < 8; polarity++) {
+                        int la = (polarity & 4) == 0 ? a : -a;
+                        int lb = (polarity & 2) == 0 ? b : -b;
+                        int lc = (polarity & 1) == 0 ? c : -c;
+                        for (BooleanAssignment configuration : configurations) {
+                            if (configuration.contains(la) && configuration.contains(lb)
+                                    && configuration.contains(lc)) {
+                                covered++;
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.example.common.DdnnifeSolverCache;
+import org.example.common.SolverPool;
+import org.junit.jupiter.api.Test;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class DdnnifeSolverCacheTest {
+
+    @Test
+    void testKeyIdentifiesClauseList() {
+        VariableMap variables = VariableMap.of(List.of("A", "B", "C"));
+        BooleanAssignmentList cnf = new BooleanAssignmentList(variables, new BooleanAssignment(1, -2),
+                new BooleanAssignment(3));
+        BooleanAssignmentList sameCnf = new BooleanAssignmentList(VariableMap.of(List.of("A", "B", "C")),
+                new BooleanAssignment(1, -2), new BooleanAssignment(3));
+        BooleanAssignmentList otherClauses = new BooleanAssignmentList(variables, new BooleanAssignment(1),
+                new BooleanAssignment(-2, 3));
+        BooleanAssignmentList otherNames = new BooleanAssignmentList(VariableMap.of(List.of("A", "B", "D")),
+                new BooleanAssignment(1, -2), new BooleanAssignment(3));
+
+        String key = DdnnifeSolverCache.computeKey(cnf);
+        assertEquals(64, key.length());
+        assertEquals(key, DdnnifeSolverCache.computeKey(sameCnf));
+        assertNotEquals(key, DdnnifeSolverCache.computeKey(otherClauses));
+        assertNotEquals(key, DdnnifeSolverCache.computeKey(otherNames));
+    }
+
+    @Test
+    void testOnlyKeptLeasesAreReused() throws Exception {
+        SolverPool<FakeSolver> pool = new SolverPool<>(2);
+
+        SolverPool.Lease<FakeSolver> failed = pool.acquire("a", 10, FakeSolver::new);
+        failed.close();
+        assertTrue(failed.getSolver().closed);
+        assertEquals(0, pool.getIdleCount());
+
+        SolverPool.Lease<FakeSolver> kept = pool.acquire("a", 10, FakeSolver::new);
+        assertNotSame(failed.getSolver(), kept.getSolver());
+        kept.keep();
+        kept.close();
+        // closing twice must not release the solver twice
+        kept.close();
+        assertFalse(kept.getSolver().closed);
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(10, pool.getIdleBytes());
+
+        SolverPool.Lease<FakeSolver> reused = pool.acquire("a", 10, FakeSolver::new);
+        assertSame(kept.getSolver(), reused.getSolver());
+        assertEquals(0, pool.getIdleBytes());
+        // a reused lease must be kept again to return to the pool
+        reused.close();
+        assertTrue(reused.getSolver().closed);
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedSolverIsClosedFirst() throws Exception {
+        SolverPool<FakeSolver> pool = new SolverPool<>(2);
+        FakeSolver a = release(pool, "a", 10);
+        FakeSolver b = release(pool, "b", 20);
+        // using a makes b the least recently used solver
+        assertSame(a, release(pool, "a", 10));
+        FakeSolver c = release(pool, "c", 30);
+
+        assertTrue(b.closed);
+        assertFalse(a.closed);
+        assertFalse(c.closed);
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(40, pool.getIdleBytes());
+
+        assertEquals(10, pool.closeLeastRecentlyUsed());
+        assertTrue(a.closed);
+        assertEquals(30, pool.getIdleBytes());
+    }
+
+    @Test
+    void testCloseIdleOfKeyUpdatesIdleBytes() throws Exception {
+        SolverPool<FakeSolver> pool = new SolverPool<>(4);
+        SolverPool.Lease<FakeSolver> first = pool.acquire("a", 10, FakeSolver::new);
+        SolverPool.Lease<FakeSolver> second = pool.acquire("a", 10, FakeSolver::new);
+        first.keep();
+        first.close();
+        second.keep();
+        second.close();
+        FakeSolver b = release(pool, "b", 25);
+        assertEquals(45, pool.getIdleBytes());
+
+        pool.closeIdle("a");
+        assertTrue(first.getSolver().closed);
+        assertTrue(second.getSolver().closed);
+        assertFalse(b.closed);
+        assertEquals(25, pool.getIdleBytes());
+
+        pool.closeIdle("b");
+        assertTrue(b.closed);
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(0, pool.getIdleBytes());
+        assertEquals(0, pool.closeLeastRecentlyUsed());
+    }
+
+    @Test
+    void testClosedPoolClosesReleasedSolvers() throws Exception {
+        SolverPool<FakeSolver> pool = new SolverPool<>(2);
+        FakeSolver idle = release(pool, "a", 10);
+        SolverPool.Lease<FakeSolver> inUse = pool.acquire("b", 20, FakeSolver::new);
+
+        pool.close();
+        assertTrue(idle.closed);
+        inUse.keep();
+        inUse.close();
+        assertTrue(inUse.getSolver().closed);
+        assertEquals(0, pool.getIdleBytes());
+    }
+
+    // Acquires a solver, uses it successfully and returns it to the pool
+    private static FakeSolver release(SolverPool<FakeSolver> pool, String key, long bytes) throws Exception {
+        SolverPool.Lease<FakeSolver> lease = pool.acquire(key, bytes, FakeSolver::new);
+        lease.keep();
+        lease.close();
+        return lease.getSolver();
+    }
+
+    private static class FakeSolver implements AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
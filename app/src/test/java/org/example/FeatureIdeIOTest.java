@@ -0,0 +1,33 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.out.FeatureIdeIO;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.stream.JsonReader;
+
+public class FeatureIdeIOTest {
+
+    @Test
+    void testReadAssignmentsStreamsLiterals() throws IOException {
+        String json = "[{\"id\": 0, \"literals\": [1, -2, 3.0]},"
+                + " {\"literals\": [-1, 2, -3, 4, -5], \"extra\": {\"nested\": [1, 2]}},"
+                + " {\"literals\": []}]";
+
+        List<int[]> configurations = new ArrayList<>();
+        // a sizing hint smaller than the configurations forces the buffer to grow
+        FeatureIdeIO.readAssignments(new JsonReader(new StringReader(json)), 2, configurations::add);
+
+        assertEquals(3, configurations.size());
+        assertArrayEquals(new int[] { 1, -2, 3 }, configurations.get(0));
+        assertArrayEquals(new int[] { -1, 2, -3, 4, -5 }, configurations.get(1));
+        assertArrayEquals(new int[0], configurations.get(2));
+    }
+}
@@ -0,0 +1,133 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+
+import org.example.common.FeatureModelGenerator;
+import org.example.parsing.FeatureModelParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class FeatureModelGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void initializeFeatJAR() {
+        if (!FeatJAR.isInitialized()) {
+            FeatureModelParser.initializeFeatJAR();
+        }
+    }
+
+    @Test
+    void testSameSeedGeneratesSameModel() throws IOException {
+        FeatureModelGenerator generator = createGenerator(200, 7);
+        String first = toXml(generator);
+        assertEquals(first, toXml(generator));
+
+        generator.setSeed(8);
+        assertNotEquals(first, toXml(generator));
+    }
+
+    @Test
+    void testGeneratedModelLoadsWithParser() throws IOException {
+        FeatureModelGenerator generator = createGenerator(300, 1);
+        Path file = tempDir.resolve("model.xml");
+        generator.writeXml(file);
+
+        BooleanAssignmentList cnf = FeatureModelParser.computeCNF(file.toString());
+        assertEquals(300, cnf.getVariableMap().getVariableCount());
+        assertEquals(new HashSet<>(generator.generateCNF().getVariableMap().getVariableNames()),
+                new HashSet<>(cnf.getVariableMap().getVariableNames()));
+    }
+
+    @Test
+    void testGeneratedClausesAreEquivalentToParsedModel() throws IOException {
+        for (long seed = 1; seed <= 5; seed++) {
+            FeatureModelGenerator generator = createGenerator(14, seed);
+            generator.setConstraintDensity(0.5);
+            Path file = tempDir.resolve("small" + seed + ".xml");
+            generator.writeXml(file);
+
+            BooleanAssignmentList parsed = FeatureModelParser.computeCNF(file.toString());
+            BooleanAssignmentList generated = generator.generateCNF();
+            // variable i of the parsed CNF is variable mapping[i] of the generated CNF
+            int[] mapping = new int[15];
+            for (int i = 1; i <= 14; i++) {
+                mapping[i] = generated.getVariableMap().get(parsed.getVariableMap().get(i).get()).get();
+            }
+
+            int validConfigurations = 0;
+            for (int bits = 0; bits < 1 << 14; bits++) {
+                boolean valid = satisfies(generated.getAll(), bits, null);
+                assertEquals(valid, satisfies(parsed.getAll(), bits, mapping));
+                if (valid) {
+                    validConfigurations++;
+                }
+            }
+            assertTrue(validConfigurations > 0);
+        }
+    }
+
+    @Test
+    void testMaxDepthIsRespected() throws IOException {
+        FeatureModelGenerator generator = createGenerator(500, 3);
+        generator.setMaxDepth(2);
+        // the root element is indented by one tab, every level by one more
+        int maxIndent = toXml(generator).lines()
+                .filter(line -> line.startsWith("\t"))
+                .mapToInt(line -> line.length() - line.stripLeading().length())
+                .max()
+                .getAsInt();
+        assertEquals(3, maxIndent);
+    }
+
+    private static FeatureModelGenerator createGenerator(int featureCount, long seed) {
+        FeatureModelGenerator generator = new FeatureModelGenerator();
+        generator.setFeatureCount(featureCount);
+        generator.setSeed(seed);
+        return generator;
+    }
+
+    private static String toXml(FeatureModelGenerator generator) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.writeXml(writer);
+        return writer.toString();
+    }
+
+    /**
+     * Checks whether the configuration that selects variable {@code v} iff bit
+     * {@code v - 1} is set satisfies all clauses, after translating the variables
+     * of the clauses with the given mapping.
+     */
+    private static boolean satisfies(List<BooleanAssignment> clauses, int bits, int[] mapping) {
+        for (BooleanAssignment clause : clauses) {
+            boolean satisfied = false;
+            for (int literal : clause.get()) {
+                int variable = mapping == null ? Math.abs(literal) : mapping[Math.abs(literal)];
+                boolean selected = (bits & (1 << (variable - 1))) != 0;
+                if (selected == literal > 0) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.example.common.InitialSampleLoader;
+import org.example.common.PhaseMetrics;
+import org.example.common.SamplingAlgorithm;
+import org.example.common.SamplingConfig;
+import org.example.common.SamplingProcessor;
+import org.example.parsing.FeatureModelParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class InitialSampleLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testKeepsValidConfigurationsByFeatureName() throws IOException {
+        // A implies B
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C")),
+                new BooleanAssignment(-1, 2));
+        Path file = tempDir.resolve("sample.csv");
+        Files.writeString(file, "Configuration;C;B;A;Removed\n"
+                + "conf1;1;1;1;0\n"
+                + "conf2;0;1;0;1\n"
+                + "conf3;1;1;1;1\n");
+
+        BooleanAssignmentList sample = InitialSampleLoader.load(file, cnf);
+
+        assertEquals(2, sample.size());
+        assertArrayEquals(new int[] { 1, 2, 3 }, sample.get(0).get());
+        assertArrayEquals(new int[] { -1, 2, -3 }, sample.get(1).get());
+    }
+
+    @Test
+    void testCompletesConfigurationsOfAddedFeature() throws IOException {
+        // the new feature C is selected exactly when A is
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C")),
+                new BooleanAssignment(-1, 3), new BooleanAssignment(1, -3));
+        Path file = tempDir.resolve("sample.csv");
+        Files.writeString(file, "A;B\n"
+                + "1;0\n"
+                + "0;1\n");
+
+        BooleanAssignmentList sample = InitialSampleLoader.load(file, cnf);
+
+        assertEquals(2, sample.size());
+        assertArrayEquals(new int[] { 1, -2, 3 }, sample.get(0).get());
+        assertArrayEquals(new int[] { -1, 2, -3 }, sample.get(1).get());
+    }
+
+    @Test
+    void testDropsConfigurationsViolatingNewClause() throws IOException {
+        // the new clause: A excludes B
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C")),
+                new BooleanAssignment(-1, -2));
+        Path file = tempDir.resolve("sample.csv");
+        Files.writeString(file, "A;B;C\n"
+                + "1;1;0\n"
+                + "1;0;1\n"
+                + "1;1;1\n"
+                + "0;1;1\n");
+
+        BooleanAssignmentList sample = InitialSampleLoader.load(file, cnf);
+
+        assertEquals(2, sample.size());
+        assertArrayEquals(new int[] { 1, -2, 3 }, sample.get(0).get());
+        assertArrayEquals(new int[] { -1, 2, 3 }, sample.get(1).get());
+    }
+
+    @Test
+    void testYasaExtendsInitialSample() throws IOException {
+        if (!FeatJAR.isInitialized()) {
+            FeatureModelParser.initializeFeatJAR();
+        }
+        // A implies B, C excludes D
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C", "D", "E")),
+                new BooleanAssignment(-1, 2), new BooleanAssignment(-3, -4));
+        Path file = tempDir.resolve("sample.csv");
+        Files.writeString(file, "A;B;C;D;E\n"
+                + "1;1;1;0;1\n"
+                + "0;0;0;1;0\n");
+        SamplingConfig config = new SamplingConfig(SamplingAlgorithm.YASA, 2);
+        config.setSeed(42L);
+        config.setNumberOfConfigurations(100);
+        config.setInitialSample(file);
+
+        PhaseMetrics metrics = new PhaseMetrics();
+        BooleanAssignmentList sample = metrics.measure("sampling",
+                () -> SamplingProcessor.process(config, cnf, cnf.getVariableMap()));
+
+        // two configurations cannot cover all valid pairwise interactions
+        assertTrue(sample.size() > 2);
+        assertArrayEquals(new int[] { 1, 2, 3, -4, 5 }, sample.get(0).get());
+        assertArrayEquals(new int[] { -1, -2, -3, 4, -5 }, sample.get(1).get());
+        long added = metrics.getPhases().get(0).getCounters().get("newConfigurations");
+        assertEquals(sample.size() - 2, added);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SortedMap;
+
+import org.example.common.PairwiseInteractionCounter;
+import org.example.common.SampleMatrix;
+import org.junit.jupiter.api.Test;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class PairwiseInteractionCounterTest {
+
+    @Test
+    void testCountsMatchBruteForce() {
+        Random random = new Random(42);
+        int numberOfFeatures = 12;
+        BooleanAssignment[] configurations = new BooleanAssignment[30];
+        for (int c = 0; c < configurations.length; c++) {
+            int[] literals = new int[numberOfFeatures];
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            configurations[c] = new BooleanAssignment(literals);
+        }
+        String[] names = new String[numberOfFeatures];
+        for (int i = 0; i < numberOfFeatures; i++) {
+            names[i] = "F" + (i + 1);
+        }
+        BooleanAssignmentList sample = new BooleanAssignmentList(VariableMap.of(Arrays.asList(names)),
+                Arrays.asList(configurations));
+
+        PairwiseInteractionCounter counter = PairwiseInteractionCounter.of(sample);
+        assertEquals(4 * numberOfFeatures * (numberOfFeatures - 1) / 2, counter.size());
+
+        int[] exactlyOnce = new int[1];
+        counter.forEach((first, second, count) -> {
+            int expected = 0;
+            for (BooleanAssignment configuration : configurations) {
+                if (configuration.contains(first) && configuration.contains(second)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, count);
+            if (count == 1) {
+                exactlyOnce[0]++;
+            }
+        });
+        assertEquals(exactlyOnce[0], counter.countExactlyOnce());
+
+        SortedMap<Integer, Long> histogram = counter.getFrequencyHistogram();
+        assertEquals((long) counter.size(), histogram.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testChunksAddUp() {
+        Random random = new Random(7);
+        int[] features = { 1, 2, 3, 4, 5 };
+        PairwiseInteractionCounter whole = new PairwiseInteractionCounter(features);
+        PairwiseInteractionCounter chunked = new PairwiseInteractionCounter(features);
+        SampleMatrix chunk = new SampleMatrix(features.length);
+        for (int c = 0; c < 50; c++) {
+            int[] literals = new int[features.length];
+            for (int v = 1; v <= features.length; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            whole.addConfiguration(literals);
+            chunk.addConfiguration(literals);
+            if (chunk.size() == 16) {
+                chunked.addConfigurations(chunk);
+                chunk = new SampleMatrix(features.length);
+            }
+        }
+        chunked.addConfigurations(chunk);
+
+        for (int i = 0; i < whole.size(); i++) {
+            assertEquals(whole.getCount(i), chunked.getCount(i));
+        }
+    }
+
+    @Test
+    void testUnorderedLiterals() {
+        PairwiseInteractionCounter counter = new PairwiseInteractionCounter(new int[] { 1, 2, 3 });
+        counter.addConfiguration(new int[] { -3, 1, 2 });
+
+        // (1, 2), (1, -3) and (2, -3) are the only covered interactions
+        assertEquals(1, counter.getCount(0));
+        assertEquals(1, counter.getCount(5));
+        assertEquals(1, counter.getCount(9));
+        assertEquals(3, counter.countExactlyOnce());
+    }
+}
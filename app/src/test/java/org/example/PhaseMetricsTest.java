@@ -0,0 +1,78 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.example.common.PhaseMetrics;
+import org.example.out.ResultWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class PhaseMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPhasesAreRecordedWithCounters() {
+        PhaseMetrics metrics = new PhaseMetrics();
+        long[] data = metrics.measure("allocate", () -> {
+            PhaseMetrics.addCounter("arrays", 1);
+            PhaseMetrics.addCounter("arrays", 2);
+            return new long[1_000_000];
+        });
+        metrics.measure("inner", () -> metrics.measure("nested", () -> PhaseMetrics.addCounter("nested", 5)));
+        PhaseMetrics.addCounter("ignored", 1);
+
+        List<PhaseMetrics.Phase> phases = metrics.getPhases();
+        assertEquals(3, phases.size());
+        PhaseMetrics.Phase allocate = phases.get(0);
+        assertEquals("allocate", allocate.getName());
+        assertEquals(3L, allocate.getCounters().get("arrays").longValue());
+        assertTrue(allocate.getWallTimeNanos() > 0);
+        assertTrue(allocate.getAllocatedBytes() >= 8L * data.length);
+        assertTrue(allocate.getPeakHeapBytes() > 0);
+
+        // counters belong to the innermost phase
+        assertEquals("nested", phases.get(1).getName());
+        assertEquals(5L, phases.get(1).getCounters().get("nested").longValue());
+        assertEquals("inner", phases.get(2).getName());
+        assertTrue(phases.get(2).getCounters().isEmpty());
+    }
+
+    @Test
+    void testWriteMetricsAsJsonAndCsv() throws IOException {
+        PhaseMetrics metrics = new PhaseMetrics();
+        metrics.measure("sampling", () -> PhaseMetrics.addCounter("configurations", 42));
+        metrics.measure("coverage", () -> {
+        });
+
+        Path json = tempDir.resolve("metrics.json");
+        ResultWriter.writeMetrics(metrics, json.toFile());
+        JsonArray phases = JsonParser.parseString(Files.readString(json)).getAsJsonObject().getAsJsonArray("phases");
+        assertEquals(2, phases.size());
+        JsonObject sampling = phases.get(0).getAsJsonObject();
+        assertEquals("sampling", sampling.get("phase").getAsString());
+        assertEquals(42, sampling.getAsJsonObject("counters").get("configurations").getAsInt());
+        assertTrue(sampling.has("wallTimeMs") && sampling.has("cpuTimeMs") && sampling.has("allocatedBytes")
+                && sampling.has("peakHeapBytes"));
+
+        Path csv = tempDir.resolve("metrics.csv");
+        ResultWriter.writeMetrics(metrics, csv.toFile());
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(3, lines.size());
+        assertEquals("Phase,Wall_Time_ms,CPU_Time_ms,Allocated_Bytes,Peak_Heap_Bytes,Counters", lines.get(0));
+        assertTrue(lines.get(1).startsWith("sampling,"));
+        assertTrue(lines.get(1).endsWith(",configurations=42"));
+        assertTrue(lines.get(2).startsWith("coverage,"));
+    }
+}
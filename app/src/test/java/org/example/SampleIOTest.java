@@ -0,0 +1,95 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.example.out.SampleIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class SampleIOTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripCompleteConfigurations() throws IOException {
+        BooleanAssignmentList sample = createSample(70, 30, false);
+        for (boolean compress : new boolean[] { false, true }) {
+            Path file = tempDir.resolve("sample" + compress + ".bin");
+            SampleIO.write(sample, file, compress);
+
+            assertTrue(SampleIO.isSampleFile(file));
+            assertEquals(sample, SampleIO.read(file));
+        }
+    }
+
+    @Test
+    void testRoundTripPartialConfigurations() throws IOException {
+        BooleanAssignmentList sample = createSample(130, 10, true);
+        for (boolean compress : new boolean[] { false, true }) {
+            Path file = tempDir.resolve("partial" + compress + ".bin");
+            SampleIO.write(sample, file, compress);
+
+            BooleanAssignmentList loaded = SampleIO.read(file);
+            assertEquals(sample.getVariableMap().getVariableNames(), loaded.getVariableMap().getVariableNames());
+            for (int i = 0; i < sample.size(); i++) {
+                assertArrayEquals(sample.get(i).get(), loaded.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    void testNamesWithNullCharacters() throws IOException {
+        BooleanAssignmentList sample = new BooleanAssignmentList(VariableMap.of(List.of("A\0", "\0B\0")),
+                List.of(new BooleanAssignment(1, -2), new BooleanAssignment(-1, 2)));
+        for (boolean compress : new boolean[] { false, true }) {
+            Path file = tempDir.resolve("null" + compress + ".bin");
+            SampleIO.write(sample, file, compress);
+
+            assertEquals(sample, SampleIO.read(file));
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("other.txt");
+        Files.writeString(file, "BooleanAssignmentList[]");
+        assertFalse(SampleIO.isSampleFile(file));
+    }
+
+    private static BooleanAssignmentList createSample(int numberOfFeatures, int numberOfConfigurations,
+            boolean partial) {
+        Random random = new Random(11);
+        List<String> names = new ArrayList<>();
+        for (int v = 1; v <= numberOfFeatures; v++) {
+            names.add("Feature ä" + v);
+        }
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < numberOfConfigurations; c++) {
+            int[] literals = new int[numberOfFeatures];
+            int size = 0;
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                if (!partial || random.nextInt(3) > 0) {
+                    literals[size++] = random.nextBoolean() ? v : -v;
+                }
+            }
+            configurations.add(new BooleanAssignment(Arrays.copyOf(literals, size)));
+        }
+        return new BooleanAssignmentList(VariableMap.of(names), configurations);
+    }
+}
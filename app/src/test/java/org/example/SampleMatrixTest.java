@@ -0,0 +1,58 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.example.common.SampleMatrix;
+import org.junit.jupiter.api.Test;
+
+public class SampleMatrixTest {
+
+    @Test
+    void testFrequencyAcrossWordBoundaries() {
+        Random random = new Random(7);
+        int numberOfFeatures = 6;
+        int[][] configurations = new int[200][numberOfFeatures];
+        SampleMatrix matrix = new SampleMatrix(numberOfFeatures);
+        for (int[] configuration : configurations) {
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                configuration[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            matrix.addConfiguration(configuration);
+        }
+        assertEquals(configurations.length, matrix.size());
+
+        int[] interaction = { 2, -5, 6 };
+        int expected = 0;
+        int first = -1;
+        for (int c = 0; c < configurations.length; c++) {
+            boolean covered = true;
+            for (int literal : interaction) {
+                covered &= configurations[c][Math.abs(literal) - 1] == literal;
+            }
+            if (covered) {
+                expected++;
+                first = first < 0 ? c : first;
+            }
+        }
+        assertEquals(expected, matrix.frequency(interaction));
+        assertEquals(first, matrix.firstCovering(interaction));
+        assertEquals(configurations.length, matrix.frequency());
+    }
+
+    @Test
+    void testCovers() {
+        SampleMatrix matrix = new SampleMatrix(3);
+        matrix.addConfiguration(new int[] { 1, -2, 3 });
+        matrix.addConfiguration(new int[] { -1, -2, -3 });
+
+        assertTrue(matrix.covers(1, -2));
+        assertTrue(matrix.covers(-1, -3));
+        assertFalse(matrix.covers(1, 2));
+        assertEquals(1, matrix.nextCovering(1, -2));
+        assertEquals(-1, matrix.nextCovering(2, -2));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.out.SampleIO;
+import org.example.parsing.SampleReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class SampleReaderTest {
+
+    private static final VariableMap MODEL = VariableMap.of(Arrays.asList("A", "B", "C", "D"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadCsvByFeatureName() throws IOException {
+        Path file = tempDir.resolve("sample.csv");
+        Files.writeString(file, "Configuration;C;A;Unknown;B\n"
+                + "conf1;1;0;1;x\n"
+                + "\n"
+                + "conf2;-;+;0;\n");
+
+        SampleReader reader = new SampleReader(MODEL);
+        List<int[]> configurations = new ArrayList<>();
+        assertEquals(2, reader.read(file, configurations::add));
+
+        assertArrayEquals(new int[] { 3, -1, 2 }, configurations.get(0));
+        assertArrayEquals(new int[] { -3, 1 }, configurations.get(1));
+        assertEquals(2, reader.getIgnoredVariables());
+    }
+
+    @Test
+    void testReadBinaryWithDifferentVariableOrder() throws IOException {
+        Path file = tempDir.resolve("sample.bin");
+        BooleanAssignmentList sample = new BooleanAssignmentList(VariableMap.of(Arrays.asList("D", "X", "B")),
+                Arrays.asList(new BooleanAssignment(1, -2, 3), new BooleanAssignment(-1, 2, -3)));
+        SampleIO.write(sample, file, true);
+
+        List<int[]> configurations = new ArrayList<>();
+        new SampleReader(MODEL).read(file, configurations::add);
+
+        assertArrayEquals(new int[] { 4, 2 }, configurations.get(0));
+        assertArrayEquals(new int[] { -4, -2 }, configurations.get(1));
+    }
+
+    @Test
+    void testReadFeatureIdeJson() throws IOException {
+        Path file = tempDir.resolve("results.json");
+        Files.writeString(file, "[{\"literals\": [1, -2, 3, -4]}]");
+
+        List<int[]> configurations = new ArrayList<>();
+        new SampleReader(MODEL).read(file, configurations::add);
+
+        assertArrayEquals(new int[] { 1, -2, 3, -4 }, configurations.get(0));
+    }
+}
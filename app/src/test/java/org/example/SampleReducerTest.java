@@ -0,0 +1,65 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.example.common.SampleReducer;
+import org.example.common.TWiseCalculator;
+import org.junit.jupiter.api.Test;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class SampleReducerTest {
+
+    @Test
+    void testReductionKeepsCoveredInteractions() {
+        Random random = new Random(5);
+        int numberOfFeatures = 12;
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= numberOfFeatures; i++) {
+            names.add("F" + i);
+        }
+        VariableMap variableMap = VariableMap.of(names);
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < 300; c++) {
+            int[] literals = new int[numberOfFeatures];
+            for (int v = 1; v <= numberOfFeatures; v++) {
+                literals[v - 1] = random.nextInt(4) == 0 ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        // a duplicate never adds coverage
+        configurations.add(configurations.get(0));
+        BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, configurations);
+        // some configurations violate the clauses and some interactions are invalid
+        BooleanAssignmentList cnf = new BooleanAssignmentList(variableMap, new BooleanAssignment(-1, 2),
+                new BooleanAssignment(-3, -4), new BooleanAssignment(5, 6, -7), new BooleanAssignment(8));
+
+        for (int t = 1; t <= 3; t++) {
+            BooleanAssignmentList reduced = SampleReducer.reduce(sample, cnf, t);
+            assertTrue(reduced.size() < sample.size());
+            // checked independently of the reducer's own coverage counting
+            CoverageStatistic expected = TWiseCalculator.computeFeatJARStatistics(sample, cnf, t);
+            CoverageStatistic actual = TWiseCalculator.computeFeatJARStatistics(reduced, cnf, t);
+            assertTrue(expected.invalid() > 0);
+            assertEquals(expected.covered(), actual.covered());
+            assertEquals(expected.uncovered(), actual.uncovered());
+            assertEquals(expected.invalid(), actual.invalid());
+
+            // the reduced sample keeps the original order
+            int previous = -1;
+            for (BooleanAssignment configuration : reduced) {
+                int index = configurations.indexOf(configuration);
+                assertTrue(index > previous);
+                previous = index;
+            }
+        }
+    }
+}
@@ -6,9 +6,104 @@ package org.example;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.common.CoverageCurve;
+import org.example.common.SamplingAlgorithm;
+import org.example.common.SamplingConfig;
+import org.example.common.SamplingProcessor;
+import org.example.parsing.FeatureModelParser;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
 class SamplerTest {
     @Test
     void samplingTest() {
         assertTrue(true);
     }
+
+    @Test
+    void testBestOfYasaRunsAreReproducible() {
+        if (!FeatJAR.isInitialized()) {
+            FeatureModelParser.initializeFeatJAR();
+        }
+        // A implies B, C excludes D
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C", "D", "E")),
+                new BooleanAssignment(-1, 2), new BooleanAssignment(-3, -4));
+        SamplingConfig config = new SamplingConfig(SamplingAlgorithm.YASA, 2);
+        config.setSeed(42L);
+        config.setNumberOfConfigurations(100);
+        config.setYasaRuns(4);
+
+        BooleanAssignmentList first = SamplingProcessor.process(config, cnf, cnf.getVariableMap());
+        BooleanAssignmentList second = SamplingProcessor.process(config, cnf, cnf.getVariableMap());
+
+        assertEquals(first.getAll(), second.getAll());
+    }
+
+    @Test
+    void testChunkedSamplingStopsAtTargetCoverage() {
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C", "D")));
+        SamplingConfig config = new SamplingConfig(SamplingAlgorithm.UNIFORM, 2);
+        config.setNumberOfConfigurations(1000);
+        config.setChunkSize(4);
+        config.setTargetCoverage(1.0);
+        Random random = new Random(3);
+
+        BooleanAssignmentList sample = SamplingProcessor.sampleChunks(
+                (size, seed) -> randomConfigurations(cnf, size, random), cnf, config, 1, new ArrayList<>(),
+                new AtomicInteger());
+
+        // all 24 pairwise interactions are covered, and the last configuration is needed for it
+        long[] firstCovered = CoverageCurve.countFirstCovered(sample, cnf, 2);
+        assertEquals(24, Arrays.stream(firstCovered).sum());
+        assertTrue(firstCovered[sample.size() - 1] > 0);
+        assertTrue(sample.size() < 1000);
+    }
+
+    @Test
+    void testChunkedSamplingStopsAtPlateau() {
+        BooleanAssignmentList cnf = new BooleanAssignmentList(VariableMap.of(Arrays.asList("A", "B", "C", "D")));
+        SamplingConfig config = new SamplingConfig(SamplingAlgorithm.UNIFORM, 2);
+        config.setNumberOfConfigurations(1000);
+        config.setChunkSize(4);
+        config.setCoveragePlateau(1e-9);
+        Random random = new Random(3);
+        AtomicInteger chunks = new AtomicInteger();
+
+        // after two chunks, only the first configuration is drawn again
+        List<BooleanAssignment> drawn = new ArrayList<>();
+        BooleanAssignmentList sample = SamplingProcessor.sampleChunks((size, seed) -> {
+            if (chunks.get() < 2) {
+                BooleanAssignmentList next = randomConfigurations(cnf, size, random);
+                drawn.addAll(next.getAll());
+                return next;
+            }
+            return new BooleanAssignmentList(cnf.getVariableMap(), Collections.nCopies(size, drawn.get(0)));
+        }, cnf, config, 1, new ArrayList<>(), chunks);
+
+        assertEquals(3, chunks.get());
+        assertEquals(12, sample.size());
+    }
+
+    private static BooleanAssignmentList randomConfigurations(BooleanAssignmentList cnf, int size, Random random) {
+        int variableCount = cnf.getVariableMap().getVariableCount();
+        List<BooleanAssignment> configurations = new ArrayList<>();
+        for (int c = 0; c < size; c++) {
+            int[] literals = new int[variableCount];
+            for (int v = 1; v <= variableCount; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            configurations.add(new BooleanAssignment(literals));
+        }
+        return new BooleanAssignmentList(cnf.getVariableMap(), configurations);
+    }
 }
@@ -0,0 +1,36 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.example.common.BudgetExceededException;
+import org.junit.jupiter.api.Test;
+
+import net.tascalate.concurrent.CompletableTask;
+import net.tascalate.concurrent.Promise;
+
+public class SamplingAnalyzerTest {
+
+    @Test
+    void testFailedStageRethrowsOriginalException() {
+        BudgetExceededException failure = new BudgetExceededException("coverage", Duration.ofSeconds(1), null);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Promise<Integer> succeeded = CompletableTask.supplyAsync(() -> 1, executor);
+            Promise<Integer> failed = CompletableTask.<Integer>supplyAsync(() -> {
+                throw failure;
+            }, executor);
+            // the failure reaches the awaited stage through a dependent stage
+            Promise<Integer> dependent = failed.thenApplyAsync(value -> value + 1, executor);
+
+            assertSame(failure, assertThrows(BudgetExceededException.class,
+                    () -> SamplingAnalyzer.awaitStages(succeeded, dependent)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.Arrays;
 
+import org.example.common.ParallelCoverageCalculator;
 import org.example.common.TWiseCalculator;
 import org.junit.jupiter.api.Test;
 
@@ -59,4 +60,54 @@ public class TWiseCalculatorTest {
                 // assertEquals(1.0, coverageStatistic.coverage());
 
         }
+
+        @Test
+        void testParallelEngineMatchesFeatJAR() {
+                VariableMap variableMap = VariableMap
+                                .of(Arrays.asList("Email", "Functions", "Forward", "Reply", "Addressbook",
+                                                "Encryption", "Sign", "Verify", "Encryp", "Decrypt"));
+
+                BooleanAssignmentList sample = new BooleanAssignmentList(variableMap, Arrays.asList(
+                                new BooleanAssignment(+1, -2, -3, -4, +5, +6, -7, +8, -9, -10),
+                                new BooleanAssignment(+1, +2, +3, -4, -5, -6, -7, -8, -9, -10),
+                                new BooleanAssignment(+1, +2, -3, +4, -5, +6, -7, +8, +9, +10)));
+
+                BooleanAssignmentList computedCNF = new BooleanAssignmentList(variableMap, Arrays.asList(
+                                new BooleanAssignment(+1),
+                                new BooleanAssignment(-2, +1),
+                                new BooleanAssignment(-3, +2),
+                                new BooleanAssignment(-4, +2),
+                                new BooleanAssignment(-2, +3, +4),
+                                new BooleanAssignment(-6, +1),
+                                new BooleanAssignment(-7, +6),
+                                new BooleanAssignment(-8, +6),
+                                new BooleanAssignment(-6, +7, +8, +9, +10)));
+
+                // with the default, the model fits into a single range; small minimum
+                // sizes split it into many ranges, including ones of a single
+                // combination
+                String[] minRangeSizes = { null, "1", "7" };
+                try {
+                        for (String minRangeSize : minRangeSizes) {
+                                if (minRangeSize == null) {
+                                        System.clearProperty(ParallelCoverageCalculator.MIN_RANGE_SIZE_PROPERTY);
+                                } else {
+                                        System.setProperty(ParallelCoverageCalculator.MIN_RANGE_SIZE_PROPERTY,
+                                                        minRangeSize);
+                                }
+                                for (int t = 1; t <= 3; t++) {
+                                        CoverageStatistic expected = TWiseCalculator.computeFeatJARStatistics(sample,
+                                                        computedCNF, t);
+                                        CoverageStatistic actual = ParallelCoverageCalculator.computeTWiseStatistics(
+                                                        sample, computedCNF, t, 4);
+
+                                        assertEquals(expected.covered(), actual.covered());
+                                        assertEquals(expected.uncovered(), actual.uncovered());
+                                        assertEquals(expected.invalid(), actual.invalid());
+                                }
+                        }
+                } finally {
+                        System.clearProperty(ParallelCoverageCalculator.MIN_RANGE_SIZE_PROPERTY);
+                }
+        }
 }
@@ -0,0 +1,44 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.example.common.BudgetExceededException;
+import org.example.common.TimeBudget;
+import org.junit.jupiter.api.Test;
+
+public class TimeBudgetTest {
+
+    @Test
+    void testTaskWithinBudgetReturnsResult() {
+        assertEquals("done", TimeBudget.run(() -> "done", Duration.ofSeconds(10), "sampling", null));
+        assertEquals("done", TimeBudget.run(() -> "done", null, "sampling", null));
+    }
+
+    @Test
+    void testExceededBudgetCancelsTask() throws InterruptedException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BudgetExceededException e = assertThrows(BudgetExceededException.class,
+                () -> TimeBudget.run(() -> {
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException ie) {
+                        interrupted.countDown();
+                    }
+                    return "done";
+                }, Duration.ofMillis(50), "sampling", () -> cancelled.set(true)));
+
+        assertEquals("sampling", e.getPhase());
+        assertNull(e.getPartialResult());
+        assertTrue(cancelled.get());
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+}
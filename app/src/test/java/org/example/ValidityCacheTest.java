@@ -0,0 +1,96 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.common.ModelDiff;
+import org.example.common.ParallelCoverageCalculator;
+import org.example.common.SampleMatrix;
+import org.example.common.ValidityCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.featjar.analysis.sat4j.twise.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+
+public class ValidityCacheTest {
+
+    // A implies B
+    private static final BooleanAssignmentList OLD_CNF = new BooleanAssignmentList(
+            VariableMap.of(Arrays.asList("A", "B", "C")), new BooleanAssignment(-1, 2));
+    // C implies B is added, and the variables are in a different order
+    private static final BooleanAssignmentList NEW_CNF = new BooleanAssignmentList(
+            VariableMap.of(Arrays.asList("B", "A", "C")), new BooleanAssignment(1, -2), new BooleanAssignment(1, -3));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDiffByFeatureNames() {
+        ModelDiff diff = ModelDiff.of(OLD_CNF, NEW_CNF);
+
+        assertEquals(List.of(), diff.getAddedVariables());
+        assertEquals(List.of(), diff.getRemovedVariables());
+        assertEquals(List.of("B | -C"), diff.getAddedClauses());
+        assertEquals(List.of(), diff.getRemovedClauses());
+        assertTrue(diff.isRestriction());
+        assertTrue(ModelDiff.of(NEW_CNF, NEW_CNF).isEmpty());
+        assertFalse(ModelDiff.of(NEW_CNF, OLD_CNF).isRestriction());
+    }
+
+    @Test
+    void testAdaptToNewVersion() {
+        ValidityCache cache = new ValidityCache(OLD_CNF.getVariableMap());
+        cache.addSolution(new int[] { 1, 2, 3 });
+        cache.addSolution(new int[] { -1, 2, -3 });
+        cache.addInvalid(new int[] { 1, -2 });
+        Path file = tempDir.resolve("old.validity");
+        cache.save(file);
+
+        ValidityCache adapted = ValidityCache.load(file).adapt(NEW_CNF, ModelDiff.of(OLD_CNF, NEW_CNF));
+
+        assertEquals(2, adapted.getReusedSolutions());
+        assertArrayEquals(new int[] { 1, 2, 3 }, adapted.getSolutions().get(0).get());
+        assertArrayEquals(new int[] { 1, -2, -3 }, adapted.getSolutions().get(1).get());
+        assertEquals(1, adapted.getReusedInvalidInteractions());
+        assertTrue(adapted.isInvalid(new int[] { -1, 2 }));
+
+        // invalid interactions are dropped when a clause is removed
+        ValidityCache relaxed = adapted.adapt(OLD_CNF, ModelDiff.of(NEW_CNF, OLD_CNF));
+        assertEquals(0, relaxed.getReusedInvalidInteractions());
+        assertEquals(2, relaxed.getReusedSolutions());
+    }
+
+    @Test
+    void testAdaptedCacheMatchesComputationFromScratch() {
+        // A, B and not C in both variable orders
+        SampleMatrix sample = new SampleMatrix(3);
+        sample.addConfiguration(new int[] { 1, 2, -3 });
+        ValidityCache cache = new ValidityCache(OLD_CNF.getVariableMap());
+        ParallelCoverageCalculator.computeTWiseStatistics(sample, OLD_CNF, 2, 2, null, cache);
+
+        // restricting diff: C implies B is added
+        ValidityCache restricted = cache.adapt(NEW_CNF, ModelDiff.of(OLD_CNF, NEW_CNF));
+        assertSameStatistic(ParallelCoverageCalculator.computeTWiseStatistics(sample, NEW_CNF, 2, 2),
+                ParallelCoverageCalculator.computeTWiseStatistics(sample, NEW_CNF, 2, 2, null, restricted));
+
+        // relaxing diff: the clause is removed again
+        ValidityCache relaxed = restricted.adapt(OLD_CNF, ModelDiff.of(NEW_CNF, OLD_CNF));
+        assertSameStatistic(ParallelCoverageCalculator.computeTWiseStatistics(sample, OLD_CNF, 2, 2),
+                ParallelCoverageCalculator.computeTWiseStatistics(sample, OLD_CNF, 2, 2, null, relaxed));
+    }
+
+    private static void assertSameStatistic(CoverageStatistic expected, CoverageStatistic actual) {
+        assertEquals(expected.covered(), actual.covered());
+        assertEquals(expected.uncovered(), actual.uncovered());
+        assertEquals(expected.invalid(), actual.invalid());
+    }
+}